@@ -22,8 +22,10 @@ import freemarker.template.Template;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.common.template.CachingTemplateEngine;
 import io.vertx.ext.web.common.template.impl.TemplateHolder;
+import io.vertx.ext.web.common.template.impl.WriteStreamWriter;
 import io.vertx.ext.web.templ.freemarker.FreeMarkerTemplateEngine;
 
 import java.io.ByteArrayOutputStream;
@@ -54,30 +56,50 @@ public class FreeMarkerTemplateEngineImpl extends CachingTemplateEngine<Template
 
   @Override
   public Future<Buffer> render(Map<String, Object> context, String templateFile) {
-    try {
-      // respect the locale if present
-      Locale locale = context.containsKey("lang") ?
-        Locale.forLanguageTag((String) context.get("lang")) :
-        Locale.getDefault();
-      String src = adjustLocation(templateFile);
-      String key = src + "_" + locale.toLanguageTag();
-      TemplateHolder<Template> template = getTemplate(key);
-      if (template == null) {
-        // real compile
-        synchronized (this) {
-          // Compile
-          template = new TemplateHolder<>(config.getTemplate(src, locale));
-        }
-        putTemplate(key, template);
-      }
-
+    return loadTemplate(templateFile, locale(context)).compose(template -> {
       try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
         template.template().process(context, new OutputStreamWriter(baos));
         return Future.succeededFuture(Buffer.buffer(baos.toByteArray()));
+      } catch (Exception ex) {
+        return Future.failedFuture(ex);
       }
+    });
+  }
+
+  @Override
+  public Future<Void> render(Map<String, Object> context, String templateFile, WriteStream<Buffer> stream) {
+    return loadTemplate(templateFile, locale(context)).compose(template -> {
+      try {
+        WriteStreamWriter writer = new WriteStreamWriter(stream);
+        template.template().process(context, writer);
+        return writer.end();
+      } catch (Exception ex) {
+        return Future.failedFuture(ex);
+      }
+    });
+  }
+
+  @Override
+  protected Future<TemplateHolder<Template>> loadTemplate(String templateFile) {
+    return loadTemplate(templateFile, Locale.getDefault());
+  }
+
+  private Future<TemplateHolder<Template>> loadTemplate(String templateFile, Locale locale) {
+    String src = adjustLocation(templateFile);
+    String key = src + "_" + locale.toLanguageTag();
+    return loadTemplate(key, src, () -> {
+      // real compile
+      synchronized (this) {
+        // Compile
+        return new TemplateHolder<>(config.getTemplate(src, locale));
+      }
+    });
+  }
 
-    } catch (Exception ex) {
-      return Future.failedFuture(ex);
-    }
+  private static Locale locale(Map<String, Object> context) {
+    // respect the locale if present
+    return context.containsKey("lang") ?
+      Locale.forLanguageTag((String) context.get("lang")) :
+      Locale.getDefault();
   }
 }
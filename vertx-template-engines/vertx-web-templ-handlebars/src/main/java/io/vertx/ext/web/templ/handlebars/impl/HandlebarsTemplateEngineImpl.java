@@ -32,7 +32,9 @@ import com.github.jknack.handlebars.io.TemplateLoader;
 import com.github.jknack.handlebars.io.TemplateSource;
 import io.vertx.core.*;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.common.template.impl.TemplateHolder;
+import io.vertx.ext.web.common.template.impl.WriteStreamWriter;
 import io.vertx.ext.web.templ.handlebars.HandlebarsTemplateEngine;
 
 /**
@@ -65,31 +67,47 @@ public class HandlebarsTemplateEngineImpl extends CachingTemplateEngine<Template
 
   @Override
   public Future<Buffer> render(Map<String, Object> context, String templateFile) {
-    try {
-      String src = adjustLocation(templateFile);
-      TemplateHolder<Template> template = getTemplate(src);
-
-      if (template == null) {
-        // either it's not cache or cache is disabled
-        int idx = src.lastIndexOf('/');
-        String prefix = "";
-        String basename = src;
-        if (idx != -1) {
-          prefix = src.substring(0, idx);
-          basename = src.substring(idx + 1);
-        }
-        synchronized (this) {
-          loader.setPrefix(prefix);
-          template = new TemplateHolder<>(handlebars.compile(basename), prefix);
-        }
-        putTemplate(src, template);
+    return loadTemplate(templateFile).compose(template -> {
+      try {
+        Context engineContext = Context.newBuilder(context).resolver(resolvers).build();
+        return Future.succeededFuture(Buffer.buffer(template.template().apply(engineContext)));
+      } catch (Exception ex) {
+        return Future.failedFuture(ex);
       }
+    });
+  }
 
-      Context engineContext = Context.newBuilder(context).resolver(resolvers).build();
-      return Future.succeededFuture(Buffer.buffer(template.template().apply(engineContext)));
-    } catch (Exception ex) {
-      return Future.failedFuture(ex);
-    }
+  @Override
+  public Future<Void> render(Map<String, Object> context, String templateFile, WriteStream<Buffer> stream) {
+    return loadTemplate(templateFile).compose(template -> {
+      try {
+        Context engineContext = Context.newBuilder(context).resolver(resolvers).build();
+        WriteStreamWriter writer = new WriteStreamWriter(stream);
+        template.template().apply(engineContext, writer);
+        return writer.end();
+      } catch (Exception ex) {
+        return Future.failedFuture(ex);
+      }
+    });
+  }
+
+  @Override
+  protected Future<TemplateHolder<Template>> loadTemplate(String templateFile) {
+    String src = adjustLocation(templateFile);
+    return loadTemplate(src, src, () -> {
+      // either it's not cache or cache is disabled
+      int idx = src.lastIndexOf('/');
+      String prefix = "";
+      String basename = src;
+      if (idx != -1) {
+        prefix = src.substring(0, idx);
+        basename = src.substring(idx + 1);
+      }
+      synchronized (this) {
+        loader.setPrefix(prefix);
+        return new TemplateHolder<>(handlebars.compile(basename), prefix);
+      }
+    });
   }
 
   @Override
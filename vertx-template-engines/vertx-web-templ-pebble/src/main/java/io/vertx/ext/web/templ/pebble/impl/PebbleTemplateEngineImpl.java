@@ -21,11 +21,15 @@ import io.pebbletemplates.pebble.template.PebbleTemplate;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.common.template.CachingTemplateEngine;
 import io.vertx.ext.web.common.template.impl.TemplateHolder;
+import io.vertx.ext.web.common.template.impl.WriteStreamWriter;
 import io.vertx.ext.web.templ.pebble.PebbleTemplateEngine;
 
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Locale;
 import java.util.Map;
 
@@ -58,26 +62,46 @@ public class PebbleTemplateEngineImpl extends CachingTemplateEngine<PebbleTempla
 
   @Override
   public Future<Buffer> render(Map<String, Object> context, String templateFile) {
-    try {
-      String src = adjustLocation(templateFile);
-      TemplateHolder<PebbleTemplate> template = getTemplate(src);
-      if (template == null) {
-        // real compile
-        synchronized (this) {
-          template = new TemplateHolder<>(pebbleEngine.getTemplate(adjustLocation(src)));
-        }
-        putTemplate(src, template);
+    return loadTemplate(templateFile).compose(template -> {
+      try {
+        // rendering
+        final StringWriter stringWriter = new StringWriter();
+        evaluate(template.template(), context, stringWriter);
+        return Future.succeededFuture(Buffer.buffer(stringWriter.toString()));
+      } catch (final Exception ex) {
+        return Future.failedFuture(ex);
       }
+    });
+  }
+
+  @Override
+  public Future<Void> render(Map<String, Object> context, String templateFile, WriteStream<Buffer> stream) {
+    return loadTemplate(templateFile).compose(template -> {
+      try {
+        final WriteStreamWriter writer = new WriteStreamWriter(stream);
+        evaluate(template.template(), context, writer);
+        return writer.end();
+      } catch (final Exception ex) {
+        return Future.failedFuture(ex);
+      }
+    });
+  }
+
+  @Override
+  protected Future<TemplateHolder<PebbleTemplate>> loadTemplate(String templateFile) {
+    final String src = adjustLocation(templateFile);
+    return loadTemplate(src, src, () -> {
+      // real compile
+      synchronized (this) {
+        return new TemplateHolder<>(pebbleEngine.getTemplate(src));
+      }
+    });
+  }
 
-      // special key for lang selection
-      final String lang = (String) context.get("lang");
-      // rendering
-      final StringWriter stringWriter = new StringWriter();
-      template.template().evaluate(stringWriter, context, lang == null ? Locale.getDefault() : Locale.forLanguageTag(lang));
-      return Future.succeededFuture(Buffer.buffer(stringWriter.toString()));
-    } catch (final Exception ex) {
-      return Future.failedFuture(ex);
-    }
+  private void evaluate(PebbleTemplate template, Map<String, Object> context, Writer writer) throws IOException {
+    // special key for lang selection
+    final String lang = (String) context.get("lang");
+    template.evaluate(writer, context, lang == null ? Locale.getDefault() : Locale.forLanguageTag(lang));
   }
 
 }
@@ -17,13 +17,18 @@
 package io.vertx.ext.web.templ;
 
 import io.pebbletemplates.pebble.PebbleEngine;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.FileSystemOptions;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.common.template.CachingTemplateEngine;
 import io.vertx.ext.web.common.template.TemplateEngine;
 import io.vertx.ext.web.templ.extension.TestExtension;
 import io.vertx.ext.web.templ.pebble.impl.PebbleVertxLoader;
@@ -36,6 +41,7 @@ import org.junit.runner.RunWith;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
@@ -487,6 +493,123 @@ public class PebbleTemplateTest {
     }));
   }
 
+  @Test
+  public void testRenderToStream(TestContext should) {
+    TemplateEngine engine = PebbleTemplateEngine.create(vertx);
+
+    final JsonObject context = new JsonObject()
+      .put("foo", "badger")
+      .put("bar", "fox");
+
+    BufferStream stream = new BufferStream();
+    engine.render(context, "src/test/filesystemtemplates/test-pebble-complex.peb", stream).onComplete(should.asyncAssertSuccess(v -> {
+      should.assertTrue(stream.ended);
+      should.assertEquals("Hello.Hi fox.\nHi badger!\nFooter - badger", normalizeCRLF(stream.buffer.toString()));
+    }));
+  }
+
+  @Test
+  public void testRenderToStreamNoSuchTemplate(TestContext should) {
+    TemplateEngine engine = PebbleTemplateEngine.create(vertx);
+    BufferStream stream = new BufferStream();
+    engine.render(new JsonObject(), "non-existing", stream).onComplete(should.asyncAssertFailure(err -> {
+      should.assertFalse(stream.ended);
+    }));
+  }
+
+  @Test
+  public void testPrecompile(TestContext should) throws IOException {
+    PebbleTemplateEngine engine = PebbleTemplateEngine.create(vertx);
+    File dir = Files.createTempDirectory(new File("target").toPath(), "precompile").toFile();
+    File sub = new File(dir, "sub");
+    should.assertTrue(sub.mkdir());
+    try (PrintWriter out = new PrintWriter(new File(sub, "page.peb"))) {
+      out.print("Hello {{ foo }}");
+    }
+    try (PrintWriter out = new PrintWriter(new File(dir, "ignored.txt"))) {
+      out.print("{{ not a template");
+    }
+
+    String directory = "target/" + dir.getName();
+    engine.precompile(directory).onComplete(should.asyncAssertSuccess(v -> {
+      should.assertNotNull(((CachingTemplateEngine<?>) engine).getTemplate(directory + "/sub/page.peb"));
+      engine.render(new JsonObject().put("foo", "badger"), directory + "/sub/page").onComplete(should.asyncAssertSuccess(render -> {
+        should.assertEquals("Hello badger", render.toString());
+      }));
+    }));
+  }
+
+  @Test
+  public void testRevalidateModifiedTemplate(TestContext should) throws IOException {
+    PebbleTemplateEngine engine = PebbleTemplateEngine.create(vertx);
+    ((CachingTemplateEngine<?>) engine).setCacheRevalidateInterval(1);
+    File temp = File.createTempFile("template", ".peb", new File("target"));
+    temp.deleteOnExit();
+    try (PrintWriter out = new PrintWriter(temp)) {
+      out.print("before");
+    }
+    String name = "target/" + temp.getName();
+
+    engine.render(new JsonObject(), name).onComplete(should.asyncAssertSuccess(render -> {
+      should.assertEquals("before", render.toString());
+      try (PrintWriter out = new PrintWriter(temp)) {
+        out.print("after");
+      } catch (IOException e) {
+        should.fail(e);
+      }
+      should.assertTrue(temp.setLastModified(temp.lastModified() + 2000));
+      vertx.setTimer(10, id -> {
+        // the modification is detected, the cached template is still used
+        engine.render(new JsonObject(), name).onComplete(should.asyncAssertSuccess(render2 -> {
+          should.assertEquals("before", render2.toString());
+          vertx.setTimer(100, id2 -> {
+            engine.render(new JsonObject(), name).onComplete(should.asyncAssertSuccess(render3 -> {
+              should.assertEquals("after", render3.toString());
+            }));
+          });
+        }));
+      });
+    }));
+  }
+
+  private static class BufferStream implements WriteStream<Buffer> {
+
+    final Buffer buffer = Buffer.buffer();
+    boolean ended;
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      buffer.appendBuffer(data);
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> end() {
+      ended = true;
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return false;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      return this;
+    }
+  }
+
   // For windows testing
   static String normalizeCRLF(String s) {
     return s.replace("\r\n", "\n");
@@ -19,7 +19,9 @@ package io.vertx.ext.web.templ.thymeleaf.impl;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.common.WebEnvironment;
+import io.vertx.ext.web.common.template.impl.WriteStreamWriter;
 import org.thymeleaf.IEngineConfiguration;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.IContext;
@@ -103,6 +105,18 @@ public class ThymeleafTemplateEngineImpl implements ThymeleafTemplateEngine {
     }
   }
 
+  @Override
+  public Future<Void> render(Map<String, Object> context, String templateFile, WriteStream<Buffer> stream) {
+    try {
+      WriteStreamWriter writer = new WriteStreamWriter(stream);
+      // the resolver is locked while resolving the template only, not while the page is written to the stream
+      templateEngine.process(templateFile, new WebIContext(context, (String) context.get("lang")), writer);
+      return writer.end();
+    } catch (Exception ex) {
+      return Future.failedFuture(ex);
+    }
+  }
+
   private static class WebIContext implements IContext {
     private final Map<String, Object> data;
     private final Locale locale;
@@ -147,7 +161,7 @@ public class ThymeleafTemplateEngineImpl implements ThymeleafTemplateEngine {
     }
 
     @Override
-    protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate, String template, Map<String, Object> templateResolutionAttributes) {
+    protected synchronized ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate, String template, Map<String, Object> templateResolutionAttributes) {
       return new StringTemplateResource(
         vertx.fileSystem()
           .readFileBlocking(template)
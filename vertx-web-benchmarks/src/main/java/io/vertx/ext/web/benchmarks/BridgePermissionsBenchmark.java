@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.bridge.PermittedOptions;
+import io.vertx.ext.web.handler.sockjs.impl.BridgePermissions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the permission check of the SockJS event bus bridge for a bridge with a few hundred permitted addresses,
+ * comparing a linear scan of the options, as the bridge used to do, with the compiled {@link BridgePermissions}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BridgePermissionsBenchmark {
+
+  @Param({"300"})
+  public int addresses;
+
+  private List<PermittedOptions> permitted;
+  private BridgePermissions compiled;
+  private final Map<String, Pattern> patterns = new HashMap<>();
+  private String[] targets;
+  private JsonObject body;
+
+  @Setup
+  public void setup() {
+    permitted = new ArrayList<>();
+    for (int i = 0; i < addresses; i++) {
+      permitted.add(new PermittedOptions().setAddress("service." + i));
+    }
+    for (int i = 0; i < addresses / 10; i++) {
+      permitted.add(new PermittedOptions()
+        .setAddressRegex("feed\\." + i + "\\..+")
+        .setMatch(new JsonObject().put("type", "news")));
+    }
+    compiled = new BridgePermissions(permitted);
+    targets = new String[]{"service." + (addresses - 1), "feed." + (addresses / 10 - 1) + ".sport", "unknown"};
+    body = new JsonObject().put("type", "news").put("text", "hello");
+  }
+
+  @Benchmark
+  public int linear() {
+    int matches = 0;
+    for (String target : targets) {
+      if (linearMatch(target, body)) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public int compiled() {
+    int matches = 0;
+    for (String target : targets) {
+      if (compiled.match(target, body).doesMatch) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  private boolean linearMatch(String address, JsonObject body) {
+    for (PermittedOptions options : permitted) {
+      boolean addressOK;
+      if (options.getAddress() != null) {
+        addressOK = options.getAddress().equals(address);
+      } else {
+        addressOK = options.getAddressRegex() == null || patterns.computeIfAbsent(options.getAddressRegex(), Pattern::compile).matcher(address).matches();
+      }
+      if (addressOK && structureMatches(options.getMatch(), body)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean structureMatches(JsonObject match, JsonObject body) {
+    if (match == null) {
+      return true;
+    }
+    for (String fieldName : match.fieldNames()) {
+      if (!match.getValue(fieldName).equals(body.getValue(fieldName))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
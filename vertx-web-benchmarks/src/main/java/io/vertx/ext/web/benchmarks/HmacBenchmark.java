@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.ext.web.impl.ThreadLocalMac;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the signatures per second of the HMAC used by the CSRF handler and the cookie session store, comparing
+ * a single {@link Mac} shared by all threads with the per thread instances of {@link ThreadLocalMac}.
+ * <p>
+ * Run with {@code -t} set to the number of cores to see the contention of the shared instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class HmacBenchmark {
+
+  private static final byte[] SECRET = "a very secret key for the benchmark".getBytes(StandardCharsets.UTF_8);
+
+  private byte[] payload;
+  private Mac shared;
+  private ThreadLocalMac threadLocal;
+
+  @Setup
+  public void setup() throws Exception {
+    // the size of a CSRF token without its signature
+    payload = "c2FsdHNhbHRzYWx0c2FsdHNhbHRzYWx0c2FsdHNhbHRzYQ.1700000000000".getBytes(StandardCharsets.US_ASCII);
+    shared = Mac.getInstance("HmacSHA256");
+    shared.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+    threadLocal = new ThreadLocalMac("HmacSHA256", SECRET);
+  }
+
+  @Benchmark
+  public byte[] shared() {
+    synchronized (shared) {
+      return shared.doFinal(payload);
+    }
+  }
+
+  @Benchmark
+  public byte[] threadLocal() {
+    return threadLocal.doFinal(payload);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Creates in-process requests, so the router can be measured without any network I/O.
+ */
+public final class MockedRequests {
+
+  private MockedRequests() {
+  }
+
+  public static HttpServerRequest request(HttpMethod method, String path) {
+    return request(method, path, MultiMap.caseInsensitiveMultiMap());
+  }
+
+  public static HttpServerRequest request(HttpMethod method, String path, MultiMap headers) {
+    // the invocations are not recorded, a benchmark would keep all of them in memory
+    HttpServerRequest request = mock(HttpServerRequestInternal.class, withSettings().stubOnly());
+    HttpServerResponse response = mock(HttpServerResponse.class, withSettings().stubOnly());
+    MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap();
+    // the router adds the path params to the request params
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+
+    when(request.method()).thenReturn(method);
+    when(request.scheme()).thenReturn("http");
+    when(request.uri()).thenReturn(path);
+    when(request.absoluteURI()).thenReturn("http://localhost" + path);
+    when(request.host()).thenReturn("localhost");
+    when(request.path()).thenReturn(path);
+    when(request.headers()).thenReturn(headers);
+    when(request.params()).thenReturn(params);
+    when(request.getParamsCharset()).thenReturn("UTF-8");
+    when(request.getHeader(HttpHeaders.ACCEPT)).thenReturn(headers.get(HttpHeaders.ACCEPT));
+    when(request.getHeader(HttpHeaders.ACCEPT_CHARSET)).thenReturn(headers.get(HttpHeaders.ACCEPT_CHARSET));
+    when(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn(headers.get(HttpHeaders.ACCEPT_ENCODING));
+    when(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE)).thenReturn(headers.get(HttpHeaders.ACCEPT_LANGUAGE));
+    when(request.getHeader(HttpHeaders.CONTENT_TYPE)).thenReturn(headers.get(HttpHeaders.CONTENT_TYPE));
+    when(request.response()).thenReturn(response);
+    when(response.headers()).thenReturn(responseHeaders);
+    when(response.setStatusCode(anyInt())).thenReturn(response);
+
+    return request;
+  }
+}
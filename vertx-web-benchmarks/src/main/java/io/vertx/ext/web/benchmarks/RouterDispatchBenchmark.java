@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end dispatch of a request through a router, the matching route is always the last one, which is the worst
+ * case for the linear dispatch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dvertx.disableContextTimings=true"})
+public class RouterDispatchBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int routes;
+
+  @Param({"false", "true"})
+  public boolean compiled;
+
+  private Vertx vertx;
+  private Router router;
+  private HttpServerRequest staticRequest;
+  private HttpServerRequest paramRequest;
+  private int handled;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    router = Router.router(vertx).compiledDispatch(compiled);
+
+    for (int i = 0; i < routes; i++) {
+      router.get("/api/v1/resource" + i + "/:id").handler(this::handle);
+      router.get("/api/v1/resource" + i).handler(this::handle);
+    }
+
+    staticRequest = MockedRequests.request(HttpMethod.GET, "/api/v1/resource" + (routes - 1));
+    paramRequest = MockedRequests.request(HttpMethod.GET, "/api/v1/resource" + (routes - 1) + "/42");
+
+    // a request failing before its route handler would measure the error handling instead
+    router.handle(staticRequest);
+    router.handle(paramRequest);
+    if (handled != 2 || !"42".equals(paramRequest.params().get("id"))) {
+      throw new IllegalStateException("The requests don't reach their route handler");
+    }
+  }
+
+  private void handle(RoutingContext rc) {
+    handled++;
+    rc.response().end();
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public void dispatchStatic() {
+    router.handle(staticRequest);
+  }
+
+  @Benchmark
+  public void dispatchParam() {
+    router.handle(paramRequest);
+  }
+}
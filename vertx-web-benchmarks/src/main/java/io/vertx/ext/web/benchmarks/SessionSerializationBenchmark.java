@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.VertxContextPRNG;
+import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the session serialization used by the clustered and redis session stores, which is implemented by
+ * {@code AbstractSession#writeDataToBuffer()} and {@code AbstractSession#readDataFromBuffer()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SessionSerializationBenchmark {
+
+  @Param({"4", "32"})
+  public int entries;
+
+  private Vertx vertx;
+  private SharedDataSessionImpl session;
+  private Buffer serialized;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    session = new SharedDataSessionImpl(VertxContextPRNG.current(vertx), 30_000, 16);
+
+    for (int i = 0; i < entries; i++) {
+      switch (i % 4) {
+        case 0:
+          session.put("string" + i, "value of the entry " + i);
+          break;
+        case 1:
+          session.put("long" + i, (long) i);
+          break;
+        case 2:
+          session.put("json" + i, new JsonObject().put("id", i).put("name", "item " + i).put("price", 9.99));
+          break;
+        default:
+          session.put("array" + i, new JsonArray().add(i).add("item " + i).add(true));
+          break;
+      }
+    }
+
+    serialized = Buffer.buffer();
+    session.writeToBuffer(serialized);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public Buffer write() {
+    Buffer buffer = Buffer.buffer();
+    session.writeToBuffer(buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public SharedDataSessionImpl read() {
+    SharedDataSessionImpl copy = new SharedDataSessionImpl();
+    copy.readFromBuffer(0, serialized);
+    return copy;
+  }
+}
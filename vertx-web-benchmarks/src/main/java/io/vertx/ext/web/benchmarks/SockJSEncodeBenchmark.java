@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.ext.web.handler.sockjs.impl.JsonCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the SockJS frame encoding, {@link JsonCodec#encode(String[])}, for ASCII and non ASCII payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SockJSEncodeBenchmark {
+
+  @Param({"1", "16"})
+  public int messages;
+
+  private String[] ascii;
+  private String[] unicode;
+
+  @Setup
+  public void setup() {
+    ascii = new String[messages];
+    unicode = new String[messages];
+    for (int i = 0; i < messages; i++) {
+      ascii[i] = "{\"type\":\"rec\",\"address\":\"news.feed\",\"body\":{\"id\":" + i + ",\"text\":\"hello world\"}}";
+      unicode[i] = "{\"type\":\"rec\",\"address\":\"news.feed\",\"body\":{\"id\":" + i + ",\"text\":\"olá mundo ☃\"}}";
+    }
+  }
+
+  @Benchmark
+  public String encodeAscii() {
+    return JsonCodec.encode(ascii);
+  }
+
+  @Benchmark
+  public String encodeUnicode() {
+    return JsonCodec.encode(unicode);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl.cache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.impl.HttpResponseImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steps {@link CacheInterceptor} performs for each request: selecting the variation, building the
+ * {@link CacheKey}, the store lookup and the rehydration of the cached response on a hit, and parsing the cache
+ * directives when a response is stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CacheInterceptorBenchmark {
+
+  private final Map<CacheVariationsKey, Set<Vary>> variationsRegistry = new ConcurrentHashMap<>();
+  private LocalCacheStore store;
+  private RequestOptions request;
+  private HttpResponse<Buffer> response;
+
+  @Setup
+  public void setup() {
+    store = new LocalCacheStore();
+    request = new RequestOptions()
+      .setMethod(HttpMethod.GET)
+      .setHost("localhost")
+      .setPort(8080)
+      .setURI("/api/v1/products?page=1")
+      .putHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+      .set(HttpHeaders.CACHE_CONTROL, "public, max-age=3600, stale-while-revalidate=60")
+      .set(HttpHeaders.ETAG, "\"abc\"")
+      .set(HttpHeaders.VARY, "Accept-Encoding")
+      .set(HttpHeaders.CONTENT_TYPE, "application/json");
+
+    response = new HttpResponseImpl<>(
+      HttpVersion.HTTP_1_1,
+      200,
+      "OK",
+      headers,
+      MultiMap.caseInsensitiveMultiMap(),
+      Collections.emptyList(),
+      Buffer.buffer(new byte[4096]),
+      Collections.emptyList());
+
+    store();
+  }
+
+  @Benchmark
+  public HttpResponse<Buffer> lookup() {
+    Vary variation = null;
+    for (Vary candidate : variationsRegistry.getOrDefault(new CacheVariationsKey(request), Collections.emptySet())) {
+      if (candidate.matchesRequest(request)) {
+        variation = candidate;
+        break;
+      }
+    }
+    CachedHttpResponse cached = store.get(new CacheKey(request, variation)).result();
+    HttpResponse<Buffer> result = cached.rehydrate();
+    result.headers().set(HttpHeaders.AGE, Long.toString(cached.age()));
+    return cached.isFresh() ? result : null;
+  }
+
+  @Benchmark
+  public CachedHttpResponse store() {
+    CacheControl cacheControl = CacheControl.parse(response.headers());
+    Vary variation = new Vary(request.getHeaders(), response.headers());
+    variationsRegistry.put(new CacheVariationsKey(request), Collections.singleton(variation));
+    CachedHttpResponse cached = CachedHttpResponse.wrap(response, cacheControl);
+    store.set(new CacheKey(request, variation), cached);
+    return cached;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.ParsedHeaderValues;
+import io.vertx.ext.web.benchmarks.MockedRequests;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing and sorting of the content negotiation headers, standalone with {@link HeaderParser#sort(List)}
+ * and as done by the routing context when the parsed headers are first requested.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HeaderParserBenchmark {
+
+  private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8";
+  private static final String ACCEPT_ENCODING = "gzip, deflate, br;q=1.0, identity;q=0.5, *;q=0";
+  private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.9,pt-PT;q=0.8,pt;q=0.7,de;q=0.6";
+
+  private Vertx vertx;
+  private RouterImpl router;
+  private HttpServerRequest request;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    router = new RouterImpl(vertx);
+
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+      .set(HttpHeaders.ACCEPT, ACCEPT)
+      .set(HttpHeaders.ACCEPT_CHARSET, "utf-8, iso-8859-1;q=0.5")
+      .set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING)
+      .set(HttpHeaders.ACCEPT_LANGUAGE, ACCEPT_LANGUAGE)
+      .set(HttpHeaders.CONTENT_TYPE, "application/json; charset=utf-8");
+
+    request = MockedRequests.request(HttpMethod.GET, "/", headers);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public List<ParsableMIMEValue> sortAccept() {
+    return HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(ACCEPT, ParsableMIMEValue::new));
+  }
+
+  @Benchmark
+  public List<ParsableLanguageValue> sortAcceptLanguage() {
+    return HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(ACCEPT_LANGUAGE, ParsableLanguageValue::new));
+  }
+
+  @Benchmark
+  public List<ParsableHeaderValue> sortAcceptEncoding() {
+    return HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(ACCEPT_ENCODING, ParsableHeaderValue::new));
+  }
+
+  @Benchmark
+  public ParsedHeaderValues fillParsedHeaders() {
+    return new RoutingContextImpl(null, router, request, Collections.emptySet()).parsedHeaders();
+  }
+}
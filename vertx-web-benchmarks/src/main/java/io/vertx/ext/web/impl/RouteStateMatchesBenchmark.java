@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.benchmarks.MockedRequests;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RouteState#matches(RoutingContextImplBase, String, boolean)} for the different kinds of routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RouteStateMatchesBenchmark {
+
+  private Vertx vertx;
+  private RoutingContextImpl context;
+  private RouteState exact;
+  private RouteState wildcard;
+  private RouteState param;
+  private RouteState regex;
+  private RouteState produces;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    RouterImpl router = new RouterImpl(vertx);
+
+    exact = state(router.get("/api/v1/users/42"));
+    wildcard = state(router.route("/api/*"));
+    param = state(router.get("/api/:version/users/:id"));
+    regex = state(router.getWithRegex("/api/v1/users/(?<id>[0-9]+)"));
+    produces = state(router.get("/api/v1/users/42").produces("application/json"));
+
+    context = new RoutingContextImpl(
+      null,
+      router,
+      MockedRequests.request(HttpMethod.GET, "/api/v1/users/42"),
+      Collections.emptySet());
+
+    // every route must match, otherwise the benchmark measures a mismatch
+    for (RouteState state : new RouteState[]{exact, wildcard, param, regex, produces}) {
+      if (state.matches(context, null, false) != 0) {
+        throw new IllegalStateException("The route " + state.getPath() + " doesn't match the request");
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  private static RouteState state(Route route) {
+    return ((RouteImpl) route.handler(rc -> rc.response().end())).state();
+  }
+
+  @Benchmark
+  public int exactPath() {
+    return exact.matches(context, null, false);
+  }
+
+  @Benchmark
+  public int wildcardPath() {
+    return wildcard.matches(context, null, false);
+  }
+
+  @Benchmark
+  public int paramPath() {
+    return param.matches(context, null, false);
+  }
+
+  @Benchmark
+  public int regexPath() {
+    return regex.matches(context, null, false);
+  }
+
+  @Benchmark
+  public int producesPath() {
+    return produces.matches(context, null, false);
+  }
+}
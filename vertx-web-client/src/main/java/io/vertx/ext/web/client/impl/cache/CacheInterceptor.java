@@ -15,9 +15,12 @@
  */
 package io.vertx.ext.web.client.impl.cache;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.RequestOptions;
@@ -35,6 +38,9 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An interceptor for caching responses that operates on the {@link HttpContext}.
+ * <p>
+ * Concurrent requests for a response that must be fetched again are coalesced: a single request goes to the server
+ * while the others wait for it and are then answered from the cache.
  *
  * @author <a href="mailto:craigday3@gmail.com">Craig Day</a>
  */
@@ -43,10 +49,13 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
   private static final String IS_CACHE_DISPATCH = "cache.dispatch";
   private static final String RESPONSE_TO_REVALIDATE = "cache.response_to_revalidate";
   private static final String IS_CACHE_REVALIDATION = "cache.revalidation";
+  private static final String CACHE_FLIGHT = "cache.flight";
 
   private final CacheStore publicCacheStore;
   private final CachingWebClientOptions options;
   private final Map<CacheVariationsKey, Set<Vary>> variationsRegistry;
+  // The requests currently fetching a response from the server, concurrent requests for the same key wait for them
+  private final Map<CacheKey, Future<Void>> flights = new ConcurrentHashMap<>();
 
   public CacheInterceptor(CacheStore store, CachingWebClientOptions options) {
     this.publicCacheStore = store;
@@ -61,8 +70,13 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
         case DISPATCH_RESPONSE:
           processResponse((HttpContext<Buffer>) context, null).onComplete(ar -> {
             // Don't go further
+            completeFlight(context);
           });
           break;
+        case FAILURE:
+          // The cached response has already been dispatched, don't go further
+          completeFlight(context);
+          break;
         default:
           context.next();
           break;
@@ -75,6 +89,9 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
         case DISPATCH_RESPONSE:
           handleDispatchResponse((HttpContext<Buffer>) context);
           break;
+        case FAILURE:
+          handleFailure((HttpContext<Buffer>) context);
+          break;
         default:
           context.next();
           break;
@@ -91,36 +108,60 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
       return;
     }
 
-    Promise<CachedHttpResponse> promise = Promise.promise();
-    CacheKey key = new CacheKey(request, variation);
-
-    if (context.privateCacheStore() != null) {
-      // Check the local private store first
-      context.privateCacheStore().get(key).onSuccess(cached -> {
-        if (cached == null) {
-          // If the local private store doesn't have the result, try the public shared store
-          publicCacheStore.get(key).onComplete(promise);
-        } else {
-          promise.complete(cached);
-        }
-      });
-    } else {
-      publicCacheStore.get(key).onComplete(promise);
-    }
+    lookupAndRespond(context, new CacheKey(request, variation), true);
+  }
 
-    promise
-      .future()
-      .map(cached -> respondFromCache(context, cached))
+  private void lookupAndRespond(HttpContext<Buffer> context, CacheKey key, boolean coalesce) {
+    lookup(context, key)
+      .map(cached -> respondFromCache(context, key, cached))
       .onComplete(ar -> {
         if (ar.succeeded() && ar.result().isPresent()) {
           context.set(IS_CACHE_DISPATCH, true);
           context.dispatchResponse(ar.result().get());
-        } else {
-          context.next();
+          return;
         }
+
+        if (coalesce) {
+          Promise<Void> flight = Promise.promise();
+          Future<Void> inflight = flights.putIfAbsent(key, flight.future());
+          if (inflight != null) {
+            // Another request is already fetching this response from the server, wait for it and look up the cache again
+            Context ctx = Vertx.currentContext();
+            inflight.onComplete(v -> {
+              if (ctx != null) {
+                ctx.runOnContext(v2 -> retryLookup(context, key));
+              } else {
+                retryLookup(context, key);
+              }
+            });
+            return;
+          }
+          context.set(CACHE_FLIGHT, new Flight(key, flight));
+        }
+        context.next();
       });
   }
 
+  private void retryLookup(HttpContext<Buffer> context, CacheKey key) {
+    CachedHttpResponse previous = context.get(RESPONSE_TO_REVALIDATE);
+    if (previous != null) {
+      unmarkForRevalidation(context, previous);
+    }
+    // Don't wait a second time, when the response still can't be used the request goes to the server
+    lookupAndRespond(context, key, false);
+  }
+
+  private Future<CachedHttpResponse> lookup(HttpContext<?> context, CacheKey key) {
+    if (context.privateCacheStore() != null) {
+      // Check the local private store first, then the public shared store
+      return context.privateCacheStore()
+        .get(key)
+        .compose(cached -> cached == null ? publicCacheStore.get(key) : Future.succeededFuture(cached));
+    } else {
+      return publicCacheStore.get(key);
+    }
+  }
+
   private void handleDispatchResponse(HttpContext<Buffer> context) {
     if (context.get(IS_CACHE_DISPATCH) == Boolean.TRUE) {
       context.next();
@@ -134,16 +175,41 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
         if (ar.succeeded()) {
           context.response(ar.result());
         }
+        completeFlight(context);
         context.next();
       });
     } else {
       // We're storing a new response in cache
       processResponse(context, null).onComplete(ar -> {
+        completeFlight(context);
         context.next();
       });
     }
   }
 
+  private void handleFailure(HttpContext<Buffer> context) {
+    completeFlight(context);
+
+    CachedHttpResponse responseToValidate = context.get(RESPONSE_TO_REVALIDATE);
+    if (responseToValidate != null && responseToValidate.useStaleIfError()) {
+      // The server can't be reached, use the cached result
+      context.set(RESPONSE_TO_REVALIDATE, null);
+      context.set(IS_CACHE_DISPATCH, true);
+      context.dispatchResponse(responseToValidate.rehydrate());
+    } else {
+      context.next();
+    }
+  }
+
+  private void completeFlight(HttpContext<?> context) {
+    Flight flight = context.get(CACHE_FLIGHT);
+    if (flight != null) {
+      context.set(CACHE_FLIGHT, null);
+      flights.remove(flight.key, flight.promise.future());
+      flight.promise.complete();
+    }
+  }
+
   private Vary selectVariation(RequestOptions request) {
     CacheVariationsKey key = new CacheVariationsKey(request);
     Set<Vary> possibleVariations = variationsRegistry.getOrDefault(key, Collections.emptySet());
@@ -172,7 +238,7 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
     }
   }
 
-  private Optional<HttpResponse<Buffer>> respondFromCache(HttpContext<Buffer> context, CachedHttpResponse response) {
+  private Optional<HttpResponse<Buffer>> respondFromCache(HttpContext<Buffer> context, CacheKey key, CachedHttpResponse response) {
     if (response == null) {
       return Optional.empty();
     }
@@ -188,10 +254,14 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
       // Response is current, reply with it immediately
       return Optional.of(result);
     } else if (response.useStaleWhileRevalidate()) {
-      // Send off a request to revalidate the cache but don't want for a response,
-      HttpContext<Buffer> duplicate = context.duplicate();
-      duplicate.set(IS_CACHE_REVALIDATION, true);
-      duplicate.prepareRequest(context.request(), context.contentType(), context.body());
+      // Send off a request to revalidate the cache but don't want for a response, unless one is already in flight
+      Promise<Void> flight = Promise.promise();
+      if (flights.putIfAbsent(key, flight.future()) == null) {
+        HttpContext<Buffer> duplicate = context.duplicate();
+        duplicate.set(IS_CACHE_REVALIDATION, true);
+        duplicate.set(CACHE_FLIGHT, new Flight(key, flight));
+        duplicate.prepareRequest(context.request(), context.contentType(), context.body());
+      }
       // Just respond immediately with the cached value.
       return Optional.of(result);
     } else {
@@ -209,6 +279,15 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
     context.set(RESPONSE_TO_REVALIDATE, response);
   }
 
+  private void unmarkForRevalidation(HttpContext<?> context, CachedHttpResponse response) {
+    String etag = response.getCacheControl().getEtag();
+    MultiMap headers = context.requestOptions().getHeaders();
+    if (etag != null && headers != null && etag.equals(headers.get(HttpHeaders.IF_NONE_MATCH))) {
+      headers.remove(HttpHeaders.IF_NONE_MATCH);
+    }
+    context.set(RESPONSE_TO_REVALIDATE, null);
+  }
+
   private Future<HttpResponse<Buffer>> processRevalidationResponse(HttpContext<Buffer> context, CachedHttpResponse cachedResponse) {
     if (context.response().statusCode() == 304) {
       // The cache returned a stale result, but server has confirmed still good. Update cache
@@ -255,4 +334,14 @@ public class CacheInterceptor implements Handler<HttpContext<?>> {
     updated.add(variation);
     variationsRegistry.put(variationsKey, updated);
   }
+
+  private static final class Flight {
+    final CacheKey key;
+    final Promise<Void> promise;
+
+    Flight(CacheKey key, Promise<Void> promise) {
+      this.key = key;
+      this.promise = promise;
+    }
+  }
 }
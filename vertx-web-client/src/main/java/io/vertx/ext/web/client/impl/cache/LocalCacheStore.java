@@ -17,37 +17,195 @@ package io.vertx.ext.web.client.impl.cache;
 
 import io.vertx.core.Future;
 import io.vertx.ext.web.client.spi.CacheStore;
-import java.util.HashMap;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A {@link CacheStore} implementation using a local {@link Map}.
+ * <p>
+ * The store is bounded by the total size of the cached bodies, the least recently used responses are evicted first.
+ * Responses are dropped once they can no longer be used: after their max age and the longest of their
+ * {@code stale-while-revalidate} and {@code stale-if-error} windows, unless they have an {@code ETag} and can still
+ * be revalidated with the server.
+ * <p>
+ * This class is thread-safe, the store can be shared across event loops.
  *
  * @author <a href="mailto:craigday3@gmail.com">Craig Day</a>
  */
 public class LocalCacheStore implements CacheStore {
 
-  private final Map<CacheKey, CachedHttpResponse> localMap = new HashMap<>();
+  // 100 years
+  private static final long MAX_TTL_SECONDS = 100L * 365 * 24 * 3600;
+
+  private final Map<CacheKey, Entry> localMap = new LinkedHashMap<>(16, 0.75f, true);
+  private final long maxBytes;
+  private long bytes;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Create a store without size limit.
+   */
+  public LocalCacheStore() {
+    this(Long.MAX_VALUE);
+  }
+
+  /**
+   * Create a store bounded by the total size of the cached bodies.
+   *
+   * @param maxBytes the max total size in bytes of the cached bodies
+   */
+  public LocalCacheStore(long maxBytes) {
+    if (maxBytes < 1) {
+      throw new IllegalArgumentException("maxBytes must be >= 1");
+    }
+    this.maxBytes = maxBytes;
+  }
 
   @Override
   public Future<CachedHttpResponse> get(CacheKey key) {
-    return Future.succeededFuture(localMap.get(key));
+    final Entry entry;
+    synchronized (this) {
+      entry = localMap.get(key);
+      if (entry != null && entry.isExpired(Instant.now())) {
+        removeEntry(key);
+        evictions.increment();
+        misses.increment();
+        return Future.succeededFuture();
+      }
+    }
+
+    if (entry == null) {
+      misses.increment();
+      return Future.succeededFuture();
+    }
+
+    hits.increment();
+    return Future.succeededFuture(entry.response);
   }
 
   @Override
   public Future<CachedHttpResponse> set(CacheKey key, CachedHttpResponse response) {
-    return Future.succeededFuture(localMap.put(key, response));
+    final Entry entry = new Entry(response);
+
+    synchronized (this) {
+      // the previous response is replaced, even when the new one cannot be stored
+      removeEntry(key);
+      if (entry.size <= maxBytes) {
+        localMap.put(key, entry);
+        bytes += entry.size;
+        evict();
+      }
+    }
+
+    return Future.succeededFuture(response);
   }
 
   @Override
   public Future<Void> delete(CacheKey key) {
-    localMap.remove(key);
+    synchronized (this) {
+      removeEntry(key);
+    }
     return Future.succeededFuture();
   }
 
   @Override
   public Future<Void> flush() {
-    localMap.clear();
+    synchronized (this) {
+      localMap.clear();
+      bytes = 0;
+    }
     return Future.succeededFuture();
   }
+
+  /**
+   * @return the number of cached responses, expired responses not yet removed are included.
+   */
+  public synchronized int size() {
+    return localMap.size();
+  }
+
+  /**
+   * @return the total size in bytes of the cached bodies.
+   */
+  public synchronized long bytes() {
+    return bytes;
+  }
+
+  /**
+   * @return the number of lookups that returned a response.
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of lookups that didn't find a usable response.
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of responses removed to respect the size bound or because they expired.
+   */
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  private void removeEntry(CacheKey key) {
+    final Entry previous = localMap.remove(key);
+    if (previous != null) {
+      bytes -= previous.size;
+    }
+  }
+
+  private void evict() {
+    // the iteration goes from the least to the most recently used, the response just added is the last candidate
+    final Iterator<Entry> it = localMap.values().iterator();
+    while (bytes > maxBytes && it.hasNext()) {
+      final Entry entry = it.next();
+      it.remove();
+      bytes -= entry.size;
+      evictions.increment();
+    }
+  }
+
+  private static final class Entry {
+    final CachedHttpResponse response;
+    final long size;
+    // null when the response can always be revalidated
+    final Instant expires;
+
+    Entry(CachedHttpResponse response) {
+      this.response = response;
+      this.size = response.getBody() == null ? 0 : response.getBody().length();
+
+      final CacheControl cacheControl = response.getCacheControl();
+      if (cacheControl.getEtag() != null) {
+        this.expires = null;
+      } else {
+        final long stale = Math.max(0, Math.max(
+          cacheControl.getTimeDirectives().getOrDefault(CacheControlDirective.STALE_WHILE_REVALIDATE, 0L),
+          cacheControl.getTimeDirectives().getOrDefault(CacheControlDirective.STALE_IF_ERROR, 0L)));
+        final long maxAge = Math.max(-MAX_TTL_SECONDS, cacheControl.getMaxAge());
+        // a response without max age never expires, the check also prevents overflows
+        if (maxAge > MAX_TTL_SECONDS || stale > MAX_TTL_SECONDS) {
+          this.expires = null;
+        } else {
+          // the age of a response is truncated to the second, so it is usable until the end of its last second
+          this.expires = response.getTimestamp().plusSeconds(maxAge + stale + 1);
+        }
+      }
+    }
+
+    boolean isExpired(Instant now) {
+      return expires != null && now.isAfter(expires);
+    }
+  }
 }
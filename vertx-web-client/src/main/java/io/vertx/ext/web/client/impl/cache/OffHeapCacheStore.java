@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.client.impl.cache;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.spi.CacheStore;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link LocalCacheStore} keeping the response bodies in direct memory, only the keys and the response metadata
+ * (status, headers, cache control) are kept on the heap.
+ * <p>
+ * The bodies are copied once when stored, the responses returned by the store share the stored memory and their
+ * bodies are read-only. The memory is released by the garbage collector once a response is evicted and no longer
+ * referenced, it counts towards the JVM {@code -XX:MaxDirectMemorySize} limit.
+ * <p>
+ * This class is thread-safe, the store can be shared across event loops.
+ */
+public class OffHeapCacheStore extends LocalCacheStore {
+
+  /**
+   * Create a store bounded by the total size of the cached bodies.
+   *
+   * @param maxBytes the max total size in bytes of the cached bodies
+   */
+  public OffHeapCacheStore(long maxBytes) {
+    super(maxBytes);
+  }
+
+  @Override
+  public Future<CachedHttpResponse> set(CacheKey key, CachedHttpResponse response) {
+    return super.set(key, offHeap(response)).map(response);
+  }
+
+  private static CachedHttpResponse offHeap(CachedHttpResponse response) {
+    final Buffer body = response.getBody();
+    if (body == null) {
+      return response;
+    }
+
+    final ByteBuffer direct = ByteBuffer.allocateDirect(body.length());
+    direct.put(body.getByteBuf().nioBuffer());
+    direct.flip();
+    // read-only, so a response returned by the store cannot alter the cached body
+    return response.withBody(Buffer.buffer(Unpooled.wrappedBuffer(direct.asReadOnlyBuffer())));
+  }
+}
@@ -23,6 +23,7 @@ import io.vertx.ext.web.client.impl.cache.CacheKey;
 import io.vertx.ext.web.client.impl.cache.CachedHttpResponse;
 import io.vertx.ext.web.client.impl.cache.LocalCacheStore;
 import io.vertx.ext.web.client.impl.cache.NoOpCacheStore;
+import io.vertx.ext.web.client.impl.cache.OffHeapCacheStore;
 import io.vertx.ext.web.client.impl.cache.SharedDataCacheStore;
 
 /**
@@ -53,7 +54,7 @@ public interface CacheStore {
   }
 
   /**
-   * Builds a cache store that uses a {@link java.util.concurrent.ConcurrentHashMap}.
+   * Builds a cache store that keeps the responses in memory, without size limit.
    *
    * @return the new cache store
    */
@@ -61,6 +62,28 @@ public interface CacheStore {
     return new LocalCacheStore();
   }
 
+  /**
+   * Builds a cache store that keeps the responses in memory, evicting the least recently used responses when the
+   * total size of the cached bodies exceeds {@code maxBytes}.
+   *
+   * @param maxBytes the max total size in bytes of the cached bodies
+   * @return the new cache store
+   */
+  static CacheStore localStore(long maxBytes) {
+    return new LocalCacheStore(maxBytes);
+  }
+
+  /**
+   * Builds a cache store like {@link #localStore(long)} that keeps the response bodies in direct memory, out of the
+   * heap. The bodies of the responses returned by the store are read-only.
+   *
+   * @param maxBytes the max total size in bytes of the cached bodies
+   * @return the new cache store
+   */
+  static CacheStore offHeapStore(long maxBytes) {
+    return new OffHeapCacheStore(maxBytes);
+  }
+
   /**
    * Retrieve a cached response.
    *
@@ -19,12 +19,14 @@ import io.vertx.ext.web.client.impl.cache.CachedHttpResponse;
 import io.vertx.ext.web.client.spi.CacheStore;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import org.junit.After;
@@ -596,6 +598,63 @@ public class CachingWebClientTest {
     context.assertEquals(response.get().statusCode(), 503);
   }
 
+  @Test
+  public void testStaleIfErrorServerDown(TestContext context) {
+    Async waiter = context.async();
+    Async closed = context.async();
+
+    startMockServer(context, "public, max-age=1, stale-if-error=10");
+
+    String body1 = executeGetBlocking(context);
+    server.close().onComplete(context.asyncAssertSuccess(v -> closed.complete()));
+    closed.await();
+    vertx.setTimer(2000L, l -> waiter.complete());
+    waiter.await();
+    String body2 = executeGetBlocking(context);
+
+    context.assertEquals(body1, body2);
+  }
+
+  @Test
+  public void testConcurrentRequestsCoalesced(TestContext context) {
+    AtomicInteger requests = new AtomicInteger();
+
+    Async listening = context.async();
+    server.requestHandler(req -> {
+      requests.incrementAndGet();
+      req.response().headers().set(HttpHeaders.CACHE_CONTROL, "public, max-age=1");
+      // Keep the request in flight while the others are sent
+      vertx.setTimer(500, l -> req.response().end(UUID.randomUUID().toString()));
+    });
+    server.listen().onComplete(context.asyncAssertSuccess(s -> listening.complete()));
+    listening.awaitSuccess(15000);
+
+    String body1 = executeGetBlocking(context);
+    context.assertEquals(1, requests.get());
+
+    Async waiter = context.async();
+    vertx.setTimer(2000L, l -> waiter.complete());
+    waiter.await();
+
+    int concurrency = 5;
+    Async async = context.async(concurrency);
+    List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+    for (int i = 0; i < concurrency; i++) {
+      defaultClient.get("localhost", "/").send().onComplete(context.asyncAssertSuccess(resp -> {
+        bodies.add(resp.bodyAsString());
+        async.countDown();
+      }));
+    }
+    async.await();
+
+    context.assertEquals(2, requests.get());
+    context.assertEquals(concurrency, bodies.size());
+    for (String body : bodies) {
+      context.assertNotEquals(body1, body);
+      context.assertEquals(bodies.get(0), body);
+    }
+  }
+
   @Test
   public void testMatchingPaths(TestContext context) {
     startMockServer(context, "public, max-age=300");
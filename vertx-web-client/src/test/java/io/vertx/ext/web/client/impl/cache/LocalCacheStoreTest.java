@@ -0,0 +1,112 @@
+package io.vertx.ext.web.client.impl.cache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.http.impl.headers.HeadersMultiMap;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LocalCacheStoreTest {
+
+  @Test
+  public void testGetSet() {
+    LocalCacheStore store = new LocalCacheStore();
+    CacheKey key = key("/a");
+    CachedHttpResponse response = response(10, "max-age=60");
+
+    assertNull(store.get(key).result());
+    assertEquals(response, store.set(key, response).result());
+    assertEquals(response, store.get(key).result());
+    assertEquals(1, store.hitCount());
+    assertEquals(1, store.missCount());
+    assertEquals(10, store.bytes());
+
+    store.delete(key);
+    assertNull(store.get(key).result());
+    assertEquals(0, store.bytes());
+  }
+
+  @Test
+  public void testBoundedBySize() {
+    LocalCacheStore store = new LocalCacheStore(100);
+    for (int i = 0; i < 10; i++) {
+      store.set(key("/" + i), response(30, "max-age=60"));
+    }
+    assertEquals(3, store.size());
+    assertEquals(90, store.bytes());
+    assertEquals(7, store.evictionCount());
+    // the least recently used are evicted first
+    assertNull(store.get(key("/6")).result());
+    assertNotNull(store.get(key("/9")).result());
+  }
+
+  @Test
+  public void testRecentlyUsedIsKept() {
+    LocalCacheStore store = new LocalCacheStore(100);
+    store.set(key("/a"), response(40, "max-age=60"));
+    store.set(key("/b"), response(40, "max-age=60"));
+    store.get(key("/a"));
+    store.set(key("/c"), response(40, "max-age=60"));
+    assertNotNull(store.get(key("/a")).result());
+    assertNull(store.get(key("/b")).result());
+  }
+
+  @Test
+  public void testTooLarge() {
+    LocalCacheStore store = new LocalCacheStore(100);
+    store.set(key("/a"), response(10, "max-age=60"));
+    store.set(key("/a"), response(101, "max-age=60"));
+    assertNull(store.get(key("/a")).result());
+    assertEquals(0, store.bytes());
+  }
+
+  @Test
+  public void testExpired() {
+    LocalCacheStore store = new LocalCacheStore();
+    store.set(key("/a"), response(10, "max-age=-5"));
+    store.set(key("/b"), response(10, "max-age=-5, stale-if-error=60"));
+    assertNull(store.get(key("/a")).result());
+    assertEquals(1, store.evictionCount());
+    // still usable if the server fails
+    assertNotNull(store.get(key("/b")).result());
+  }
+
+  @Test
+  public void testStaleKeptWhenRevalidatable() {
+    LocalCacheStore store = new LocalCacheStore();
+    MultiMap headers = new HeadersMultiMap()
+      .add("Cache-Control", "max-age=-5")
+      .add("ETag", "\"abc\"");
+    store.set(key("/a"), response(10, headers));
+    assertNotNull(store.get(key("/a")).result());
+  }
+
+  @Test
+  public void testFlush() {
+    LocalCacheStore store = new LocalCacheStore();
+    store.set(key("/a"), response(10, "max-age=60"));
+    store.set(key("/b"), response(10, "max-age=60"));
+    store.flush();
+    assertEquals(0, store.size());
+    assertEquals(0, store.bytes());
+    assertTrue(store.get(key("/a")).succeeded());
+  }
+
+  private static CacheKey key(String uri) {
+    RequestOptions options = new RequestOptions().setHost("localhost").setPort(8080).setURI(uri);
+    return new CacheKey(options, new Vary(new HeadersMultiMap(), new HeadersMultiMap()));
+  }
+
+  private static CachedHttpResponse response(int size, String cacheControl) {
+    return response(size, new HeadersMultiMap().add("Cache-Control", cacheControl));
+  }
+
+  private static CachedHttpResponse response(int size, MultiMap headers) {
+    return new CachedHttpResponse("HTTP_1_1", 200, "OK", Buffer.buffer(new byte[size]), headers, CacheControl.parse(headers));
+  }
+}
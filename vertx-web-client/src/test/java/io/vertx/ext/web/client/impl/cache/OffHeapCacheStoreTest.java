@@ -0,0 +1,60 @@
+package io.vertx.ext.web.client.impl.cache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.http.impl.headers.HeadersMultiMap;
+import io.vertx.ext.web.client.HttpResponse;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapCacheStoreTest {
+
+  @Test
+  public void testBodyOffHeap() {
+    OffHeapCacheStore store = new OffHeapCacheStore(1024);
+    CacheKey key = key("/a");
+    MultiMap headers = new HeadersMultiMap().add("Cache-Control", "max-age=60").add("X-Test", "value");
+    CachedHttpResponse response = new CachedHttpResponse("HTTP_1_1", 200, "OK", Buffer.buffer("hello"), headers, CacheControl.parse(headers));
+
+    assertEquals(response, store.set(key, response).result());
+
+    CachedHttpResponse cached = store.get(key).result();
+    assertTrue(cached.getBody().getByteBuf().isDirect());
+    assertEquals("hello", cached.getBody().toString());
+    assertEquals(response.getTimestamp(), cached.getTimestamp());
+    assertEquals(5, store.bytes());
+
+    HttpResponse<Buffer> rehydrated = cached.rehydrate();
+    assertEquals(200, rehydrated.statusCode());
+    assertEquals("value", rehydrated.getHeader("X-Test"));
+    assertEquals("hello", rehydrated.bodyAsString());
+
+    try {
+      rehydrated.body().setByte(0, (byte) 'j');
+      fail();
+    } catch (RuntimeException expected) {
+      // read only
+    }
+    assertEquals("hello", store.get(key).result().getBody().toString());
+  }
+
+  @Test
+  public void testBounded() {
+    OffHeapCacheStore store = new OffHeapCacheStore(10);
+    MultiMap headers = new HeadersMultiMap().add("Cache-Control", "max-age=60");
+    store.set(key("/a"), new CachedHttpResponse("HTTP_1_1", 200, "OK", Buffer.buffer("123456"), headers, CacheControl.parse(headers)));
+    store.set(key("/b"), new CachedHttpResponse("HTTP_1_1", 200, "OK", Buffer.buffer("123456"), headers, CacheControl.parse(headers)));
+    assertNull(store.get(key("/a")).result());
+    assertEquals(6, store.bytes());
+  }
+
+  private static CacheKey key(String uri) {
+    RequestOptions options = new RequestOptions().setHost("localhost").setPort(8080).setURI(uri);
+    return new CacheKey(options, new Vary(new HeadersMultiMap(), new HeadersMultiMap()));
+  }
+}
@@ -16,24 +16,48 @@
 
 package io.vertx.ext.web.common.template;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.web.common.WebEnvironment;
+import io.vertx.ext.web.common.template.impl.TemplateCache;
 import io.vertx.ext.web.common.template.impl.TemplateHolder;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 /**
+ * A template engine caching the compiled templates.
+ * <p>
+ * The cache is shared by the engines of the same type and bounded, see {@link #setMaxCacheSize(int)}. The templates
+ * can be compiled off the event loop with {@link #loadTemplate(String, String, Callable)}, and the files of the cached
+ * templates can be checked for modifications, see {@link #setCacheRevalidateInterval(long)}. The cache is disabled in
+ * development mode, see {@link WebEnvironment}.
+ *
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
 public abstract class CachingTemplateEngine<T> implements TemplateEngine {
 
-  private final LocalMap<String, TemplateHolder<T>> cache;
+  private final Vertx vertx;
+  private final TemplateCache<T> cache;
   protected String extension;
 
+  @SuppressWarnings("unchecked")
   protected CachingTemplateEngine(Vertx vertx, String ext) {
+    this.vertx = vertx;
     if (!WebEnvironment.development()) {
-      cache = vertx.sharedData().getLocalMap("__vertx.web.template.cache");
+      LocalMap<String, TemplateCache<?>> caches = vertx.sharedData().getLocalMap("__vertx.web.template.cache");
+      TemplateCache<?> candidate = new TemplateCache<>();
+      TemplateCache<?> existing = caches.putIfAbsent(getClass().getName(), candidate);
+      cache = (TemplateCache<T>) (existing == null ? candidate : existing);
     } else {
       cache = null;
     }
@@ -42,9 +66,39 @@ public abstract class CachingTemplateEngine<T> implements TemplateEngine {
     this.extension = ext.charAt(0) == '.' ? ext : "." + ext;
   }
 
+  /**
+   * Set the max number of templates cached by the engines of this type, the least recently used template is evicted
+   * once the cache is full.
+   *
+   * @param maxSize the max number of templates
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CachingTemplateEngine<T> setMaxCacheSize(int maxSize) {
+    if (cache != null) {
+      cache.setMaxSize(maxSize);
+    }
+    return this;
+  }
+
+  /**
+   * Set the interval after which the file of a cached template is checked for modifications when the template is used.
+   * The check does not delay the rendering, a modified template is compiled again for the next rendering. Only the
+   * templates loaded with {@link #loadTemplate(String, String, Callable)} are checked.
+   *
+   * @param interval the interval in ms, {@code 0} (the default) disables the checks
+   * @return a reference to this, so the API can be used fluently
+   */
+  public CachingTemplateEngine<T> setCacheRevalidateInterval(long interval) {
+    if (cache != null) {
+      cache.setRevalidateInterval(interval);
+    }
+    return this;
+  }
+
   public TemplateHolder<T> getTemplate(String filename) {
     if (cache != null) {
-      return cache.get(filename);
+      TemplateCache.Entry<T> entry = cache.get(filename);
+      return entry == null ? null : entry.holder();
     }
 
     return null;
@@ -52,12 +106,110 @@ public abstract class CachingTemplateEngine<T> implements TemplateEngine {
 
   public TemplateHolder<T> putTemplate(String filename, TemplateHolder<T> templateHolder) {
     if (cache != null) {
-      return cache.put(filename, templateHolder);
+      TemplateCache.Entry<T> previous = cache.put(filename, templateHolder, null, -1);
+      return previous == null ? null : previous.holder();
     }
 
     return null;
   }
 
+  /**
+   * Get a template from the cache, or compile it on a worker thread. Concurrent requests of a template being compiled
+   * share the compilation.
+   *
+   * @param key the cache key of the template
+   * @param path the file of the template, used to check it for modifications
+   * @param compiler the blocking compilation of the template
+   * @return a future notified on the caller context with the template
+   */
+  protected Future<TemplateHolder<T>> loadTemplate(String key, String path, Callable<TemplateHolder<T>> compiler) {
+    if (cache == null) {
+      return vertx.executeBlocking(compiler, false);
+    }
+
+    TemplateCache.Entry<T> entry = cache.get(key);
+    if (entry != null) {
+      if (entry.revalidate(cache.revalidateInterval())) {
+        vertx.fileSystem().props(entry.path()).onComplete(ar -> {
+          if (ar.failed() || ar.result().lastModifiedTime() != entry.lastModified()) {
+            cache.remove(key, entry);
+          }
+        });
+      }
+      return Future.succeededFuture(entry.holder());
+    }
+
+    // publish the compilation before starting it, it may complete before the map is updated
+    Promise<TemplateHolder<T>> started = Promise.promise();
+    Future<TemplateHolder<T>> compilation = cache.compilations().putIfAbsent(key, started.future());
+    if (compilation == null) {
+      compilation = started.future();
+      vertx
+        .executeBlocking(() -> {
+          long lastModified = lastModified(path);
+          TemplateHolder<T> holder = compiler.call();
+          cache.put(key, holder, path, lastModified);
+          return holder;
+        }, false)
+        .onComplete(ar -> {
+          cache.compilations().remove(key, started.future());
+          started.handle(ar);
+        });
+    }
+
+    // the compilation may have been started by another context
+    Promise<TemplateHolder<T>> promise = ((ContextInternal) vertx.getOrCreateContext()).promise();
+    compilation.onComplete(promise);
+    return promise.future();
+  }
+
+  /**
+   * Load a template in the cache, used by {@link #precompile(String)}. Engines supporting precompilation override it
+   * with the same lookup than their rendering.
+   *
+   * @param templateFile the template file name
+   * @return a future notified when the template is loaded
+   */
+  protected Future<?> loadTemplate(String templateFile) {
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> precompile(String directory) {
+    return vertx
+      .executeBlocking(() -> {
+        List<String> templates = new ArrayList<>();
+        listTemplates(vertx.fileSystem(), directory, templates);
+        return templates;
+      }, false)
+      .compose(templates -> Future.all(templates.stream().map(this::loadTemplate).collect(Collectors.toList())))
+      .mapEmpty();
+  }
+
+  private void listTemplates(FileSystem fs, String directory, List<String> templates) {
+    for (String child : fs.readDirBlocking(directory)) {
+      // keep the paths relative to the directory, as they are given to render
+      String path = directory + "/" + new File(child).getName();
+      if (fs.propsBlocking(child).isDirectory()) {
+        listTemplates(fs, path, templates);
+      } else if (extension == null || path.endsWith(extension)) {
+        templates.add(path);
+      }
+    }
+  }
+
+  private long lastModified(String path) {
+    if (path == null || cache.revalidateInterval() == 0) {
+      return -1;
+    }
+    try {
+      FileProps props = vertx.fileSystem().propsBlocking(path);
+      return props.lastModifiedTime();
+    } catch (RuntimeException e) {
+      return -1;
+    }
+  }
+
   protected String adjustLocation(String location) {
     if (extension != null) {
       if (!location.endsWith(extension)) {
@@ -69,6 +221,8 @@ public abstract class CachingTemplateEngine<T> implements TemplateEngine {
 
   @Override
   public void clearCache() {
-    cache.clear();
+    if (cache != null) {
+      cache.clear();
+    }
   }
 }
@@ -21,6 +21,7 @@ import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
 
 import java.util.Map;
 
@@ -63,6 +64,55 @@ public interface TemplateEngine {
   @GenIgnore(GenIgnore.PERMITTED_TYPE)
   Future<Buffer> render(Map<String, Object> context, String templateFileName);
 
+  /**
+   * Render the template into a stream. Engines able to write their output incrementally send it in chunks as it is
+   * produced, so large pages do not need to be fully rendered in memory before the first bytes are sent, others render
+   * the buffer and write it at once.
+   *
+   * The stream is ended when the template has been rendered. When the rendering fails, the stream is not ended and
+   * some chunks may already have been written.
+   *
+   * @param context  the routing context
+   * @param templateFileName  the template file name to use
+   * @param stream  the stream the rendered template is written to
+   * @return a future notified when the stream has been ended or with a failure
+   */
+  default Future<Void> render(JsonObject context, String templateFileName, WriteStream<Buffer> stream) {
+    return render(context.getMap(), templateFileName, stream);
+  }
+
+  /**
+   * Render the template into a stream. Engines able to write their output incrementally send it in chunks as it is
+   * produced, so large pages do not need to be fully rendered in memory before the first bytes are sent, others render
+   * the buffer and write it at once.
+   *
+   * The stream is ended when the template has been rendered. When the rendering fails, the stream is not ended and
+   * some chunks may already have been written.
+   *
+   * @param context  the routing context
+   * @param templateFileName  the template file name to use
+   * @param stream  the stream the rendered template is written to
+   * @return a future notified when the stream has been ended or with a failure
+   */
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  default Future<Void> render(Map<String, Object> context, String templateFileName, WriteStream<Buffer> stream) {
+    return render(context, templateFileName).compose(stream::end);
+  }
+
+  /**
+   * Compile the templates of a directory and its sub directories ahead of their first rendering, so the first requests
+   * do not wait for the compilation. The files are selected by the extension of the engine and cached as if rendered
+   * with the file name prefixed by the directory, e.g. {@code templates/index.hbs}.
+   *
+   * Engines not caching compiled templates ignore this call.
+   *
+   * @param directory  the directory of the templates
+   * @return a future notified when the templates have been compiled or with a failure
+   */
+  default Future<Void> precompile(String directory) {
+    return Future.succeededFuture();
+  }
+
   /**
    * Returns the underlying engine, so further configurations or customizations may be applied.
    * @param <T> the engine object type.
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.common.template.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The compiled templates of an engine type, shared by the engine instances of a Vert.x instance.
+ * <p>
+ * The cache is bounded, once full the least recently used template is evicted. Lookups do not lock, the eviction
+ * scans the entries, which is fine for the number of templates of an application. Compilations in progress are
+ * tracked, so a template is compiled once when requested concurrently.
+ *
+ * @param <T> the compiled template type
+ */
+public class TemplateCache<T> implements Shareable {
+
+  public static final int DEFAULT_MAX_SIZE = 10_000;
+
+  private final ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Future<TemplateHolder<T>>> compilations = new ConcurrentHashMap<>();
+  private volatile int maxSize = DEFAULT_MAX_SIZE;
+  private volatile long revalidateInterval;
+
+  public int maxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be > 0");
+    }
+    this.maxSize = maxSize;
+    evict();
+  }
+
+  /**
+   * @return the interval in ms after which the file of a cached template is checked for modifications, {@code 0} when
+   * the templates are never checked
+   */
+  public long revalidateInterval() {
+    return revalidateInterval;
+  }
+
+  public void setRevalidateInterval(long revalidateInterval) {
+    if (revalidateInterval < 0) {
+      throw new IllegalArgumentException("revalidateInterval must be >= 0");
+    }
+    this.revalidateInterval = revalidateInterval;
+  }
+
+  public Entry<T> get(String key) {
+    Entry<T> entry = entries.get(key);
+    if (entry != null) {
+      entry.lastUsed = System.nanoTime();
+    }
+    return entry;
+  }
+
+  public Entry<T> put(String key, TemplateHolder<T> holder, String path, long lastModified) {
+    Entry<T> entry = new Entry<>(holder, path, lastModified);
+    Entry<T> previous = entries.put(key, entry);
+    if (previous == null && entries.size() > maxSize) {
+      evict();
+    }
+    return previous;
+  }
+
+  public boolean remove(String key, Entry<T> entry) {
+    return entries.remove(key, entry);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @return the map of the compilations in progress by template key
+   */
+  public ConcurrentMap<String, Future<TemplateHolder<T>>> compilations() {
+    return compilations;
+  }
+
+  private void evict() {
+    while (entries.size() > maxSize) {
+      Map.Entry<String, Entry<T>> eldest = null;
+      for (Map.Entry<String, Entry<T>> candidate : entries.entrySet()) {
+        if (eldest == null || candidate.getValue().lastUsed < eldest.getValue().lastUsed) {
+          eldest = candidate;
+        }
+      }
+      if (eldest == null) {
+        return;
+      }
+      entries.remove(eldest.getKey(), eldest.getValue());
+    }
+  }
+
+  public static final class Entry<T> {
+
+    private final TemplateHolder<T> holder;
+    private final String path;
+    private final long lastModified;
+    private volatile long lastUsed = System.nanoTime();
+    private volatile long lastChecked = System.currentTimeMillis();
+
+    private Entry(TemplateHolder<T> holder, String path, long lastModified) {
+      this.holder = holder;
+      this.path = path;
+      this.lastModified = lastModified;
+    }
+
+    public TemplateHolder<T> holder() {
+      return holder;
+    }
+
+    /**
+     * @return the file of the template, or {@code null} when unknown
+     */
+    public String path() {
+      return path;
+    }
+
+    /**
+     * @return the modification time of the file when the template was compiled, or {@code -1} when unknown
+     */
+    public long lastModified() {
+      return lastModified;
+    }
+
+    /**
+     * Claim the revalidation of the template file when due, so the file is checked once per interval.
+     *
+     * @param interval the revalidation interval in ms
+     * @return whether the caller should check the file
+     */
+    public boolean revalidate(long interval) {
+      if (interval <= 0 || path == null || lastModified < 0) {
+        return false;
+      }
+      long now = System.currentTimeMillis();
+      synchronized (this) {
+        if (now - lastChecked < interval) {
+          return false;
+        }
+        lastChecked = now;
+        return true;
+      }
+    }
+  }
+}
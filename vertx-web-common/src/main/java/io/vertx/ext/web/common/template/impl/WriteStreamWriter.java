@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.common.template.impl;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Writer} sending the characters written by a template engine to a {@link WriteStream} as UTF-8 chunks.
+ * <p>
+ * The characters are accumulated until a chunk is full, {@link #flush()} does not send partial chunks, so a page
+ * smaller than a chunk is sent with a single {@link WriteStream#end(Object)}.
+ * <p>
+ * When rendering on a worker thread, the writer waits for the stream to drain when its write queue is full. On an event
+ * loop thread it cannot wait, the chunks are queued by the stream. In both cases the rendering is aborted with an
+ * {@link IOException} once a write failed, e.g. when the connection was closed.
+ */
+public class WriteStreamWriter extends Writer {
+
+  public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+  private final WriteStream<Buffer> stream;
+  private final char[] chunk;
+  private int length;
+  private Future<Void> lastWrite;
+  private boolean ended;
+
+  public WriteStreamWriter(WriteStream<Buffer> stream) {
+    this(stream, DEFAULT_CHUNK_SIZE);
+  }
+
+  public WriteStreamWriter(WriteStream<Buffer> stream, int chunkSize) {
+    this.stream = stream;
+    this.chunk = new char[chunkSize];
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (length == chunk.length) {
+      writeChunk();
+    }
+    chunk[length++] = (char) c;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    while (len > 0) {
+      if (length == chunk.length) {
+        writeChunk();
+      }
+      int n = Math.min(len, chunk.length - length);
+      System.arraycopy(cbuf, off, chunk, length, n);
+      length += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    while (len > 0) {
+      if (length == chunk.length) {
+        writeChunk();
+      }
+      int n = Math.min(len, chunk.length - length);
+      str.getChars(off, off + n, chunk, length);
+      length += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  /**
+   * Does nothing, engines flush their writers while rendering and the chunks are only sent once full.
+   */
+  @Override
+  public void flush() {
+  }
+
+  /**
+   * Does nothing, the stream is ended by {@link #end()} once the template has been rendered.
+   */
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Send the remaining characters and end the stream.
+   *
+   * @return the future of the end of the stream
+   */
+  public Future<Void> end() {
+    if (ended) {
+      throw new IllegalStateException("Already ended");
+    }
+    ended = true;
+    if (lastWrite != null && lastWrite.failed()) {
+      return lastWrite;
+    }
+    return length == 0 ? stream.end() : stream.end(encode(length));
+  }
+
+  private void writeChunk() throws IOException {
+    if (ended) {
+      throw new IOException("Stream already ended");
+    }
+    if (lastWrite != null && lastWrite.failed()) {
+      throw new IOException(lastWrite.cause());
+    }
+    int len = length;
+    // never split a surrogate pair across chunks
+    if (Character.isHighSurrogate(chunk[len - 1])) {
+      len--;
+    }
+    lastWrite = stream.write(encode(len));
+    if (len < length) {
+      chunk[0] = chunk[len];
+      length = 1;
+    } else {
+      length = 0;
+    }
+    if (stream.writeQueueFull() && !Context.isOnEventLoopThread()) {
+      awaitDrain();
+    }
+  }
+
+  private Buffer encode(int len) {
+    return Buffer.buffer(Unpooled.copiedBuffer(chunk, 0, len, StandardCharsets.UTF_8));
+  }
+
+  private void awaitDrain() throws IOException {
+    CountDownLatch drained = new CountDownLatch(1);
+    stream.drainHandler(v -> drained.countDown());
+    try {
+      // the write future fails when the stream is closed, in which case it will never drain
+      while (stream.writeQueueFull() && !lastWrite.failed()) {
+        drained.await(100, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } finally {
+      stream.drainHandler(null);
+    }
+    if (lastWrite.failed()) {
+      throw new IOException(lastWrite.cause());
+    }
+  }
+}
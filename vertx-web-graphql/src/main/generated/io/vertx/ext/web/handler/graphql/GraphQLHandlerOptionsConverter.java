@@ -20,6 +20,16 @@ public class GraphQLHandlerOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, GraphQLHandlerOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "documentCacheMaxSize":
+          if (member.getValue() instanceof Number) {
+            obj.setDocumentCacheMaxSize(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "persistedQueriesEnabled":
+          if (member.getValue() instanceof Boolean) {
+            obj.setPersistedQueriesEnabled((Boolean)member.getValue());
+          }
+          break;
         case "requestBatchingEnabled":
           if (member.getValue() instanceof Boolean) {
             obj.setRequestBatchingEnabled((Boolean)member.getValue());
@@ -39,6 +49,8 @@ public class GraphQLHandlerOptionsConverter {
   }
 
   public static void toJson(GraphQLHandlerOptions obj, java.util.Map<String, Object> json) {
+    json.put("documentCacheMaxSize", obj.getDocumentCacheMaxSize());
+    json.put("persistedQueriesEnabled", obj.isPersistedQueriesEnabled());
     json.put("requestBatchingEnabled", obj.isRequestBatchingEnabled());
     json.put("requestMultipartEnabled", obj.isRequestMultipartEnabled());
   }
@@ -115,4 +115,16 @@ public interface GraphQLHandler extends Handler<RoutingContext> {
    */
   @Fluent
   GraphQLHandler beforeExecute(Handler<ExecutionInputBuilderWithContext<RoutingContext>> config);
+
+  /**
+   * @return the number of queries whose parsed and validated document was found in the cache
+   * @see GraphQLHandlerOptions#setDocumentCacheMaxSize(int)
+   */
+  long documentCacheHitCount();
+
+  /**
+   * @return the number of queries that had to be parsed and validated, or {@code 0} when the cache is not used
+   * @see GraphQLHandlerOptions#setDocumentCacheMaxSize(int)
+   */
+  long documentCacheMissCount();
 }
@@ -37,8 +37,20 @@ public class GraphQLHandlerOptions {
    */
   public static final boolean DEFAULT_REQUEST_MULTIPART_ENABLED = false;
 
+  /**
+   * Default max number of parsed and validated documents cached = 1000.
+   */
+  public static final int DEFAULT_DOCUMENT_CACHE_MAX_SIZE = 1000;
+
+  /**
+   * Whether Automatic Persisted Queries should be enabled by default = false
+   */
+  public static final boolean DEFAULT_PERSISTED_QUERIES_ENABLED = false;
+
   private boolean requestBatchingEnabled = DEFAULT_REQUEST_BATCHING_ENABLED;
   private boolean requestMultipartEnabled = DEFAULT_REQUEST_MULTIPART_ENABLED;
+  private int documentCacheMaxSize = DEFAULT_DOCUMENT_CACHE_MAX_SIZE;
+  private boolean persistedQueriesEnabled = DEFAULT_PERSISTED_QUERIES_ENABLED;
 
   /**
    * Default constructor.
@@ -54,6 +66,8 @@ public class GraphQLHandlerOptions {
   public GraphQLHandlerOptions(GraphQLHandlerOptions other) {
     requestBatchingEnabled = other.requestBatchingEnabled;
     requestMultipartEnabled = other.requestMultipartEnabled;
+    documentCacheMaxSize = other.documentCacheMaxSize;
+    persistedQueriesEnabled = other.persistedQueriesEnabled;
   }
 
   /**
@@ -112,4 +126,52 @@ public class GraphQLHandlerOptions {
     this.requestMultipartEnabled = requestMultipartEnabled;
     return this;
   }
+
+  /**
+   * @return the max number of parsed and validated documents cached
+   */
+  public int getDocumentCacheMaxSize() {
+    return documentCacheMaxSize;
+  }
+
+  /**
+   * Set the max number of parsed and validated documents cached by query text, so repeated queries are neither parsed
+   * nor validated again. Defaults to {@code 1000}, {@code 0} disables the cache.
+   * <p>
+   * The cache is only used when the {@link graphql.GraphQL} object has no {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+   *
+   * @param documentCacheMaxSize the max number of documents
+   *
+   * @return a reference to this, so the API can be used fluently
+   */
+  public GraphQLHandlerOptions setDocumentCacheMaxSize(int documentCacheMaxSize) {
+    if (documentCacheMaxSize < 0) {
+      throw new IllegalArgumentException("documentCacheMaxSize must be >= 0");
+    }
+    this.documentCacheMaxSize = documentCacheMaxSize;
+    return this;
+  }
+
+  /**
+   * @return true if Automatic Persisted Queries should be enabled, false otherwise
+   */
+  public boolean isPersistedQueriesEnabled() {
+    return persistedQueriesEnabled;
+  }
+
+  /**
+   * Whether Automatic Persisted Queries should be enabled. Defaults to {@code false}.
+   * <p>
+   * Clients may then send the SHA-256 hash of a query in the {@code persistedQuery} extension instead of the query. The
+   * queries are kept in a cache bounded by {@link #getDocumentCacheMaxSize()}. As for the document cache, it is only
+   * used when the {@link graphql.GraphQL} object has no {@link graphql.execution.preparsed.PreparsedDocumentProvider}.
+   *
+   * @param persistedQueriesEnabled true to enable Automatic Persisted Queries, false otherwise
+   *
+   * @return a reference to this, so the API can be used fluently
+   */
+  public GraphQLHandlerOptions setPersistedQueriesEnabled(boolean persistedQueriesEnabled) {
+    this.persistedQueriesEnabled = persistedQueriesEnabled;
+    return this;
+  }
 }
@@ -256,7 +256,7 @@ class ApolloWSConnectionHandler {
         if (executionResult.getData() instanceof Publisher) {
           subscribe(opId, executionResult);
         } else {
-          sendMessage(opId, DATA, new JsonObject(executionResult.toSpecification()));
+          sendMessage(opId, DATA, executionResult);
           sendMessage(opId, COMPLETE, null);
         }
       } else {
@@ -282,7 +282,7 @@ class ApolloWSConnectionHandler {
 
       @Override
       public void onNext(ExecutionResult er) {
-        sendMessage(opId, DATA, new JsonObject(er.toSpecification()));
+        sendMessage(opId, DATA, er);
         subscriptionRef.get().request(1);
       }
 
@@ -313,15 +313,7 @@ class ApolloWSConnectionHandler {
 
   private Future<Void> sendMessage(String opId, ApolloWSMessageType type, Object payload) {
     Objects.requireNonNull(type, "type is null");
-    JsonObject message = new JsonObject();
-    if (opId != null) {
-      message.put("id", opId);
-    }
-    message.put("type", type.getText());
-    if (payload != null) {
-      message.put("payload", payload);
-    }
-    return serverWebSocket.writeTextMessage(message.toString());
+    return serverWebSocket.writeTextMessage(ResultEncoder.encodeMessage(opId, type.getText(), payload));
   }
 
   private void close(Void v) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.ext.web.handler.graphql.impl;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.vertx.ext.web.handler.graphql.GraphQLHandlerOptions;
+import io.vertx.ext.web.impl.ConcurrentLRUCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A {@link PreparsedDocumentProvider} caching the parsed and validated documents by query text, so repeated queries
+ * are neither parsed nor validated again.
+ * <p>
+ * When Automatic Persisted Queries are enabled, the documents of the queries having a {@code persistedQuery} extension
+ * are cached by their SHA-256 hash, clients can then send the hash alone. A query is only persisted when its hash
+ * matches the one sent by the client.
+ * <p>
+ * Only valid documents are cached. This class is thread-safe.
+ */
+public class DocumentCache implements PreparsedDocumentProvider {
+
+  private final ConcurrentLRUCache<String, PreparsedDocumentEntry> documents;
+  private final ConcurrentLRUCache<Object, PreparsedDocumentEntry> persisted;
+  private final PersistedQuerySupport persistedQuerySupport;
+
+  public DocumentCache(int maxSize, boolean persistedQueriesEnabled) {
+    documents = maxSize > 0 ? new ConcurrentLRUCache<>(maxSize) : null;
+    if (persistedQueriesEnabled) {
+      persisted = new ConcurrentLRUCache<>(maxSize > 0 ? maxSize : GraphQLHandlerOptions.DEFAULT_DOCUMENT_CACHE_MAX_SIZE);
+      persistedQuerySupport = new ApolloPersistedQuerySupport(new Persisted());
+    } else {
+      persisted = null;
+      persistedQuerySupport = null;
+    }
+  }
+
+  @Override
+  @Deprecated
+  public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+  }
+
+  @Override
+  public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    Map<String, Object> extensions = executionInput.getExtensions();
+    if (persistedQuerySupport != null && extensions != null && extensions.containsKey("persistedQuery")) {
+      return persistedQuerySupport.getDocumentAsync(executionInput, parseAndValidateFunction);
+    }
+    if (documents == null) {
+      return CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+    }
+    String query = executionInput.getQuery();
+    PreparsedDocumentEntry entry = documents.get(query);
+    if (entry == null) {
+      entry = parseAndValidateFunction.apply(executionInput);
+      if (!entry.hasErrors()) {
+        documents.put(query, entry);
+      }
+    }
+    return CompletableFuture.completedFuture(entry);
+  }
+
+  /**
+   * @return the number of documents found in the cache
+   */
+  public long hitCount() {
+    return (documents != null ? documents.hitCount() : 0) + (persisted != null ? persisted.hitCount() : 0);
+  }
+
+  /**
+   * @return the number of documents not found in the cache
+   */
+  public long missCount() {
+    return (documents != null ? documents.missCount() : 0) + (persisted != null ? persisted.missCount() : 0);
+  }
+
+  private class Persisted implements PersistedQueryCache {
+
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+      PreparsedDocumentEntry entry = persisted.get(persistedQueryId);
+      if (entry != null) {
+        return entry;
+      }
+      String query = executionInput.getQuery();
+      if (query == null || query.isEmpty() || query.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER)) {
+        throw new PersistedQueryNotFound(persistedQueryId);
+      }
+      entry = onCacheMiss.apply(query);
+      // the query is executed, but a hash not matching the query must not be used to look it up later
+      if (!entry.hasErrors() && sha256(query).equalsIgnoreCase(String.valueOf(persistedQueryId))) {
+        persisted.put(persistedQueryId, entry);
+      }
+      return entry;
+    }
+  }
+
+  private static String sha256(String query) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    byte[] hash = digest.digest(query.getBytes(StandardCharsets.UTF_8));
+    StringBuilder sb = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+}
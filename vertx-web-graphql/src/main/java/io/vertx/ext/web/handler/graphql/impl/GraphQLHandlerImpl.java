@@ -17,10 +17,11 @@
 package io.vertx.ext.web.handler.graphql.impl;
 
 import graphql.ExecutionInput;
+import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
 import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import io.vertx.core.AsyncResult;
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
@@ -29,7 +30,6 @@ import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.impl.NoStackTraceThrowable;
 import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.RoutingContext;
@@ -63,6 +63,7 @@ public class GraphQLHandlerImpl implements GraphQLHandler {
 
   private final GraphQL graphQL;
   private final GraphQLHandlerOptions options;
+  private final DocumentCache documentCache;
 
   private Function<RoutingContext, Object> queryContextFactory = DEFAULT_QUERY_CONTEXT_FACTORY;
   private Function<RoutingContext, DataLoaderRegistry> dataLoaderRegistryFactory = DEFAULT_DATA_LOADER_REGISTRY_FACTORY;
@@ -72,8 +73,17 @@ public class GraphQLHandlerImpl implements GraphQLHandler {
   public GraphQLHandlerImpl(GraphQL graphQL, GraphQLHandlerOptions options) {
     Objects.requireNonNull(graphQL, "graphQL");
     Objects.requireNonNull(options, "options");
-    this.graphQL = graphQL;
     this.options = options;
+    if ((options.getDocumentCacheMaxSize() > 0 || options.isPersistedQueriesEnabled())
+      && graphQL.getPreparsedDocumentProvider() instanceof NoOpPreparsedDocumentProvider) {
+      DocumentCache cache = new DocumentCache(options.getDocumentCacheMaxSize(), options.isPersistedQueriesEnabled());
+      this.documentCache = cache;
+      this.graphQL = graphQL.transform(builder -> builder.preparsedDocumentProvider(cache));
+    } else {
+      // a document provider is already configured, or the cache is disabled
+      this.documentCache = null;
+      this.graphQL = graphQL;
+    }
   }
 
   @Override
@@ -100,6 +110,16 @@ public class GraphQLHandlerImpl implements GraphQLHandler {
     return this;
   }
 
+  @Override
+  public long documentCacheHitCount() {
+    return documentCache != null ? documentCache.hitCount() : 0;
+  }
+
+  @Override
+  public long documentCacheMissCount() {
+    return documentCache != null ? documentCache.missCount() : 0;
+  }
+
   @Override
   public void handle(RoutingContext rc) {
     HttpMethod method = rc.request().method();
@@ -276,14 +296,13 @@ public class GraphQLHandlerImpl implements GraphQLHandler {
     executeBatch(rc, batch);
   }
 
-  @SuppressWarnings("rawtypes")
   private void executeBatch(RoutingContext rc, GraphQLBatch batch) {
-    List<Future> futures = new ArrayList<>(batch.size());
+    List<Future<ExecutionResult>> futures = new ArrayList<>(batch.size());
     for (GraphQLQuery graphQLQuery : batch) {
       futures.add(execute(rc, graphQLQuery));
     }
-    CompositeFuture.all(futures)
-      .map(cf -> new JsonArray(cf.list()).toBuffer())
+    Future.all(futures)
+      .map(cf -> ResultEncoder.encode(cf.<ExecutionResult>list()))
       .onComplete(ar -> sendResponse(rc, ar));
   }
 
@@ -416,11 +435,11 @@ public class GraphQLHandlerImpl implements GraphQLHandler {
 
   private void executeOne(RoutingContext rc, GraphQLQuery query) {
     execute(rc, query)
-      .map(JsonObject::toBuffer)
+      .map(ResultEncoder::encode)
       .onComplete(ar -> sendResponse(rc, ar));
   }
 
-  private Future<JsonObject> execute(RoutingContext rc, GraphQLQuery query) {
+  private Future<ExecutionResult> execute(RoutingContext rc, GraphQLQuery query) {
     ExecutionInput.Builder builder = ExecutionInput.newExecutionInput();
 
     builder.query(query.getQuery());
@@ -480,8 +499,7 @@ public class GraphQLHandlerImpl implements GraphQLHandler {
       });
     }
 
-    return Future.fromCompletionStage(graphQL.executeAsync(builder.build()), rc.vertx().getOrCreateContext())
-      .map(executionResult -> new JsonObject(executionResult.toSpecification()));
+    return Future.fromCompletionStage(graphQL.executeAsync(builder.build()), rc.vertx().getOrCreateContext());
   }
 
   private String getContentType(RoutingContext rc) {
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.ext.web.handler.graphql.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graphql.ExecutionResult;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes execution results as JSON straight from their specification maps, without wrapping them in
+ * {@link JsonObject} / {@link JsonArray} and going through the generic codec.
+ * <p>
+ * Values other than maps, lists, strings, numbers and booleans (e.g. custom scalars) are encoded with {@link Json},
+ * as they were before.
+ */
+public class ResultEncoder {
+
+  private static final JsonFactory factory = new JsonFactory();
+
+  private ResultEncoder() {
+  }
+
+  /**
+   * Encode a result.
+   */
+  public static Buffer encode(ExecutionResult result) {
+    ByteBuf buf = Unpooled.buffer();
+    try (JsonGenerator gen = factory.createGenerator(new ByteBufOutputStream(buf), JsonEncoding.UTF8)) {
+      writeValue(gen, result.toSpecification());
+    } catch (IOException e) {
+      throw new EncodeException("Failed to encode as JSON", e);
+    }
+    return Buffer.buffer(buf);
+  }
+
+  /**
+   * Encode the results of a batch as a JSON array.
+   */
+  public static Buffer encode(List<ExecutionResult> results) {
+    ByteBuf buf = Unpooled.buffer();
+    try (JsonGenerator gen = factory.createGenerator(new ByteBufOutputStream(buf), JsonEncoding.UTF8)) {
+      gen.writeStartArray();
+      for (ExecutionResult result : results) {
+        writeValue(gen, result.toSpecification());
+      }
+      gen.writeEndArray();
+    } catch (IOException e) {
+      throw new EncodeException("Failed to encode as JSON", e);
+    }
+    return Buffer.buffer(buf);
+  }
+
+  /**
+   * Encode a WebSocket protocol message.
+   *
+   * @param id the operation id, or {@code null}
+   * @param type the message type
+   * @param payload the payload, an {@link ExecutionResult} or any value supported by {@link Json}, or {@code null}
+   * @return the message text
+   */
+  public static String encodeMessage(String id, String type, Object payload) {
+    StringWriter sw = new StringWriter();
+    try (JsonGenerator gen = factory.createGenerator(sw)) {
+      gen.writeStartObject();
+      if (id != null) {
+        gen.writeStringField("id", id);
+      }
+      gen.writeStringField("type", type);
+      if (payload != null) {
+        gen.writeFieldName("payload");
+        writeValue(gen, payload instanceof ExecutionResult ? ((ExecutionResult) payload).toSpecification() : payload);
+      }
+      gen.writeEndObject();
+    } catch (IOException e) {
+      throw new EncodeException("Failed to encode as JSON", e);
+    }
+    return sw.toString();
+  }
+
+  private static void writeValue(JsonGenerator gen, Object value) throws IOException {
+    if (value == null) {
+      gen.writeNull();
+    } else if (value instanceof String) {
+      gen.writeString((String) value);
+    } else if (value instanceof Map) {
+      gen.writeStartObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        gen.writeFieldName(String.valueOf(entry.getKey()));
+        writeValue(gen, entry.getValue());
+      }
+      gen.writeEndObject();
+    } else if (value instanceof List) {
+      gen.writeStartArray();
+      for (Object item : (List<?>) value) {
+        writeValue(gen, item);
+      }
+      gen.writeEndArray();
+    } else if (value instanceof Boolean) {
+      gen.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      gen.writeNumber(((Number) value).intValue());
+    } else if (value instanceof Long) {
+      gen.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      gen.writeNumber((Double) value);
+    } else if (value instanceof Float) {
+      gen.writeNumber((Float) value);
+    } else if (value instanceof BigDecimal) {
+      gen.writeNumber((BigDecimal) value);
+    } else if (value instanceof BigInteger) {
+      gen.writeNumber((BigInteger) value);
+    } else if (value instanceof JsonObject) {
+      writeValue(gen, ((JsonObject) value).getMap());
+    } else if (value instanceof JsonArray) {
+      writeValue(gen, ((JsonArray) value).getList());
+    } else {
+      gen.writeRawValue(Json.encode(value));
+    }
+  }
+}
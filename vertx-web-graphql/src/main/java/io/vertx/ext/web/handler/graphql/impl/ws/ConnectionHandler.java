@@ -31,6 +31,7 @@ import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.handler.graphql.ExecutionInputBuilderWithContext;
 import io.vertx.ext.web.handler.graphql.impl.GraphQLQuery;
+import io.vertx.ext.web.handler.graphql.impl.ResultEncoder;
 import io.vertx.ext.web.handler.graphql.ws.ConnectionInitEvent;
 import io.vertx.ext.web.handler.graphql.ws.Message;
 import io.vertx.ext.web.handler.graphql.ws.MessageType;
@@ -92,15 +93,7 @@ public class ConnectionHandler {
   }
 
   private void sendMessage(String id, MessageType type, Object payload) {
-    JsonObject message = new JsonObject();
-    if (id != null) {
-      message.put("id", id);
-    }
-    message.put("type", type.getText());
-    if (payload != null) {
-      message.put("payload", payload);
-    }
-    socket.writeTextMessage(message.toString());
+    socket.writeTextMessage(ResultEncoder.encodeMessage(id, type.getText(), payload));
   }
 
   private void close(Void unused) {
@@ -258,7 +251,7 @@ public class ConnectionHandler {
 
       @Override
       public void onNext(ExecutionResult er) {
-        sendMessage(id, NEXT, new JsonObject(er.toSpecification()));
+        sendMessage(id, NEXT, er);
         subscription.request(1);
       }
 
@@ -367,7 +360,7 @@ public class ConnectionHandler {
 
           } else {
             subscriptions.remove(id);
-            sendMessage(id, NEXT, new JsonObject(executionResult.toSpecification()));
+            sendMessage(id, NEXT, executionResult);
             sendMessage(id, COMPLETE, null);
           }
         } else {
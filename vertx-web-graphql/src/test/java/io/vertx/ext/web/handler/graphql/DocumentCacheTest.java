@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.ext.web.handler.graphql;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+
+public class DocumentCacheTest extends GraphQLTestBase {
+
+  private static final String QUERY = "query { allLinks { url } }";
+
+  @Override
+  protected GraphQLHandlerOptions createOptions() {
+    return new GraphQLHandlerOptions().setPersistedQueriesEnabled(true);
+  }
+
+  @Test
+  public void testRepeatedQuery() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      JsonObject body = send(new GraphQLRequest().setGraphQLQuery(QUERY));
+      assertTrue(body.toString(), testData.checkLinkUrls(testData.urls(), body));
+    }
+    assertEquals(1, graphQLHandler.documentCacheMissCount());
+    assertEquals(2, graphQLHandler.documentCacheHitCount());
+  }
+
+  @Test
+  public void testInvalidQueryNotCached() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      JsonObject body = send(new GraphQLRequest().setGraphQLQuery("query { unknown }"));
+      assertFalse(body.getJsonArray("errors").isEmpty());
+    }
+    assertEquals(2, graphQLHandler.documentCacheMissCount());
+    assertEquals(0, graphQLHandler.documentCacheHitCount());
+  }
+
+  @Test
+  public void testPersistedQuery() throws Exception {
+    JsonObject persistedQuery = new JsonObject()
+      .put("version", 1)
+      .put("sha256Hash", sha256(QUERY));
+    JsonObject hashOnly = new JsonObject().put("extensions", new JsonObject().put("persistedQuery", persistedQuery));
+
+    JsonObject body = send(new GraphQLRequest().setRequestBody(hashOnly.toBuffer()));
+    assertEquals("PersistedQueryNotFound", body.getJsonArray("errors").getJsonObject(0).getString("message"));
+
+    body = send(new GraphQLRequest().setRequestBody(hashOnly.copy().put("query", QUERY).toBuffer()));
+    assertTrue(body.toString(), testData.checkLinkUrls(testData.urls(), body));
+
+    body = send(new GraphQLRequest().setRequestBody(hashOnly.toBuffer()));
+    assertTrue(body.toString(), testData.checkLinkUrls(testData.urls(), body));
+    assertEquals(1, graphQLHandler.documentCacheHitCount());
+  }
+
+  @Test
+  public void testPersistedQueryHashMismatch() throws Exception {
+    JsonObject persistedQuery = new JsonObject()
+      .put("version", 1)
+      .put("sha256Hash", sha256("query { somethingElse }"));
+    JsonObject hashOnly = new JsonObject().put("extensions", new JsonObject().put("persistedQuery", persistedQuery));
+
+    send(new GraphQLRequest().setRequestBody(hashOnly.copy().put("query", QUERY).toBuffer()));
+
+    JsonObject body = send(new GraphQLRequest().setRequestBody(hashOnly.toBuffer()));
+    assertEquals("PersistedQueryNotFound", body.getJsonArray("errors").getJsonObject(0).getString("message"));
+  }
+
+  private JsonObject send(GraphQLRequest request) throws Exception {
+    CompletableFuture<JsonObject> future = new CompletableFuture<>();
+    request.send(client, ar -> {
+      if (ar.succeeded()) {
+        future.complete(ar.result());
+      } else {
+        future.completeExceptionally(ar.cause());
+      }
+    });
+    return future.get();
+  }
+
+  private static String sha256(String query) throws Exception {
+    byte[] hash = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+    StringBuilder sb = new StringBuilder();
+    for (byte b : hash) {
+      sb.append(String.format("%02x", b));
+    }
+    return sb.toString();
+  }
+}
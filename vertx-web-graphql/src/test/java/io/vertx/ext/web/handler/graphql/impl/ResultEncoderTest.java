@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ * Red Hat licenses this file to you under the Apache License, version 2.0
+ * (the "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.vertx.ext.web.handler.graphql.impl;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ResultEncoderTest {
+
+  private static ExecutionResult result() {
+    Map<String, Object> link = new LinkedHashMap<>();
+    link.put("url", "https://vertx.io/é\"\n");
+    link.put("votes", 42);
+    link.put("score", new BigDecimal("1.5"));
+    link.put("active", true);
+    link.put("tags", Arrays.asList("a", null, 3L));
+    link.put("meta", new JsonObject().put("k", new JsonArray().add(1)));
+    return ExecutionResultImpl.newExecutionResult()
+      .data(Collections.singletonMap("allLinks", Collections.singletonList(link)))
+      .addError(GraphqlErrorBuilder.newError().message("oops").build())
+      .build();
+  }
+
+  @Test
+  public void testEncode() {
+    ExecutionResult result = result();
+    assertEquals(new JsonObject(result.toSpecification()), new JsonObject(ResultEncoder.encode(result)));
+  }
+
+  @Test
+  public void testEncodeBatch() {
+    ExecutionResult result = result();
+    JsonArray expected = new JsonArray().add(new JsonObject(result.toSpecification())).add(new JsonObject(result.toSpecification()));
+    assertEquals(expected, new JsonArray(ResultEncoder.encode(Arrays.asList(result, result))));
+  }
+
+  @Test
+  public void testEncodeMessage() {
+    ExecutionResult result = result();
+    JsonObject message = new JsonObject(ResultEncoder.encodeMessage("1", "next", result));
+    assertEquals(new JsonObject().put("id", "1").put("type", "next").put("payload", new JsonObject(result.toSpecification())), message);
+    assertEquals(new JsonObject().put("type", "pong"), new JsonObject(ResultEncoder.encodeMessage(null, "pong", null)));
+  }
+}
@@ -98,7 +98,8 @@ public class RouterBuilderImpl implements RouterBuilderInternal {
 
   @Override
   public Router createRouter() {
-    Router router = Router.router(vertx);
+    // the operations are plain vertx-web paths, lookup their routes by path template instead of trying each of them
+    Router router = Router.router(vertx).compiledDispatch(true);
     RequestValidator validator = new RequestValidatorImpl(vertx, contract);
 
     Route globalRoute = router.route();
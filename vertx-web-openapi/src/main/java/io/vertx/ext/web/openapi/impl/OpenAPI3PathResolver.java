@@ -24,6 +24,12 @@ public class OpenAPI3PathResolver {
 
   public static final Pattern OAS_PATH_PARAMETERS_PATTERN = Pattern.compile("\\{{1}[.;?*+]*([^\\{\\}.;?*+]+)[^\\}]*\\}{1}");
   public static final Pattern ILLEGAL_PATH_MATCHER = Pattern.compile("\\{[^\\/]*\\/[^\\/]*\\}");
+  // Parameter names vertx-web accepts in a path
+  private static final Pattern VERTX_PARAM_NAME = Pattern.compile("[A-Za-z0-9_]+");
+  // Characters with a meaning in a vertx-web path
+  private static final Pattern VERTX_PATH_OPERATORS = Pattern.compile("[:*?\\[\\]{}|^\\\\]");
+  // Characters the simple style regex excludes from a parameter value, besides '/'
+  public static final String SIMPLE_STYLE_RESERVED_CHARS = "!*'();@&+$?#[]";
 
   private boolean shouldThreatDotAsReserved;
 
@@ -229,6 +235,50 @@ public class OpenAPI3PathResolver {
     }
   }
 
+  /**
+   * This method returns a vertx-web path with {@code :param} placeholders only if the path can be matched without a
+   * regex, otherwise it returns an empty optional and {@link #solve()} must be used. This is the case when every path
+   * parameter uses the simple style and takes a whole segment of the path, like {@code /pets/{petId}}
+   * <p>
+   * A {@code :param} placeholder accepts any character but {@code /}, so the route must also exclude the
+   * {@link #SIMPLE_STYLE_RESERVED_CHARS} from its parameters to match the same requests as the regex
+   *
+   * @return
+   */
+  public Optional<String> solveTemplate() {
+    if (parameters.isEmpty())
+      return Optional.empty();
+
+    StringBuilder path = new StringBuilder();
+    Map<String, String> groups = new HashMap<>();
+    String[] segments = oasPath.split("/", -1);
+    for (int i = 0; i < segments.length; i++) {
+      if (i > 0)
+        path.append('/');
+      String segment = segments[i];
+      Matcher parameterMatcher = OAS_PATH_PARAMETERS_PATTERN.matcher(segment);
+      if (parameterMatcher.matches()) {
+        String paramName = parameterMatcher.group(1);
+        if (!segment.equals("{" + paramName + "}") || !VERTX_PARAM_NAME.matcher(paramName).matches() || groups.containsValue(paramName))
+          return Optional.empty();
+        Optional<JsonObject> parameterOptional = parameters.stream().filter(p -> p.getString("name").equals(paramName)).findFirst();
+        // A missing definition is reported by solve()
+        if (!parameterOptional.isPresent() || !parameterOptional.get().getString("style", "simple").equals("simple"))
+          return Optional.empty();
+        path.append(':').append(paramName);
+        groups.put("p" + groups.size(), paramName);
+      } else if (parameterMatcher.reset().find() || VERTX_PATH_OPERATORS.matcher(segment).find()) {
+        return Optional.empty();
+      } else {
+        path.append(segment);
+      }
+    }
+    if (groups.isEmpty())
+      return Optional.empty();
+    mappedGroups.putAll(groups);
+    return Optional.of(path.toString());
+  }
+
   public Pattern getResolvedPattern() {
     return resolvedPattern;
   }
@@ -236,12 +236,15 @@ public class OpenAPI3RouterBuilderImpl implements RouterBuilder {
   private static class ResolvedOpenAPI3Path implements Comparable<ResolvedOpenAPI3Path> {
     private final OperationImpl operation;
     private final OpenAPI3PathResolver resolver;
+    private final Optional<String> optionalTemplate;
     private final Optional<Pattern> optionalPattern;
 
     ResolvedOpenAPI3Path(OperationImpl operation, OpenAPIHolder openapi) {
       this.operation = operation;
       this.resolver =  new OpenAPI3PathResolver(operation.getOpenAPIPath(), new ArrayList<>(operation.getParameters().values()), openapi);
-      this.optionalPattern = resolver.solve();
+      // Prefer a plain vertx-web path, the router can index it
+      this.optionalTemplate = resolver.solveTemplate();
+      this.optionalPattern = optionalTemplate.isPresent() ? Optional.empty() : resolver.solve();
     }
 
     @Override
@@ -252,7 +255,9 @@ public class OpenAPI3RouterBuilderImpl implements RouterBuilder {
 
   @Override
   public Router createRouter() {
-    Router router = Router.router(vertx);
+    Router router = Router.router(vertx)
+      // lookup the operation routes by path template instead of trying each of them
+      .compiledDispatch(true);
     Route globalRoute = router.route();
     if (globalHandlers.isEmpty()) {
       // TODO: this is very opinionated
@@ -269,6 +274,14 @@ public class OpenAPI3RouterBuilderImpl implements RouterBuilder {
       .sorted()
       .collect(Collectors.toList());
 
+    // configured methods by path template, for the operations that are not implemented
+    Map<String, List<HttpMethod>> configuredMethods = new HashMap<>();
+    for (OperationImpl operation : operations.values()) {
+      if (operation.isConfigured()) {
+        configuredMethods.computeIfAbsent(operation.getOpenAPIPath(), k -> new ArrayList<>()).add(operation.getHttpMethod());
+      }
+    }
+
     for (ResolvedOpenAPI3Path resolvedPath : resolvedPaths) {
       OperationImpl operation = resolvedPath.operation;
       // If user don't want 501 handlers and the operation is not configured, skip it
@@ -323,15 +336,9 @@ public class OpenAPI3RouterBuilderImpl implements RouterBuilder {
         }
       } else {
         // Check if not implemented or method not allowed
-        List<HttpMethod> configuredMethodsForThisPath = operations
-          .values()
-          .stream()
-          .filter(ov -> operation.getOpenAPIPath().equals(ov.getOpenAPIPath()))
-          .filter(OperationImpl::isConfigured)
-          .map(OperationImpl::getHttpMethod)
-          .collect(Collectors.toList());
-
-        if (!configuredMethodsForThisPath.isEmpty())
+        List<HttpMethod> configuredMethodsForThisPath = configuredMethods.get(operation.getOpenAPIPath());
+
+        if (configuredMethodsForThisPath != null)
           handlersToLoad.add(generateNotAllowedHandler(configuredMethodsForThisPath));
         else
           handlersToLoad.add(NOT_IMPLEMENTED_HANDLER);
@@ -341,9 +348,13 @@ public class OpenAPI3RouterBuilderImpl implements RouterBuilder {
       Route route = resolvedPath
         .optionalPattern // If this optional is empty, this route doesn't need regex
         .map(solvedRegex -> router.routeWithRegex(operation.getHttpMethod(), solvedRegex.toString()))
-        .orElseGet(() -> router.route(operation.getHttpMethod(), operation.getOpenAPIPath()))
+        .orElseGet(() -> router.route(operation.getHttpMethod(), resolvedPath.optionalTemplate.orElse(operation.getOpenAPIPath())))
         .setName(options.getRouteNamingStrategy().apply(operation));
 
+      // A template parameter matches the reserved characters the regex refuses, the route must not match them
+      if (resolvedPath.optionalTemplate.isPresent())
+        ((RouteImpl) route).setPathParamsExcludedChars(OpenAPI3PathResolver.SIMPLE_STYLE_RESERVED_CHARS);
+
       String exposeConfigurationKey = this.getOptions().getOperationModelKey();
       if (exposeConfigurationKey != null)
         route.handler((PlatformHandler) context -> context.put(exposeConfigurationKey, operation.getOperationModel()).next());
@@ -374,7 +385,9 @@ public class OpenAPI3RouterBuilderImpl implements RouterBuilder {
       if (options.isMountResponseContentTypeHandler() && produces.size() != 0)
         route.handler(ResponseContentTypeHandler.create());
 
-      route.setRegexGroupsNames(new ArrayList<>(resolvedPath.resolver.getMappedGroups().values()));
+      // The path parameters of a template are already named
+      if (!resolvedPath.optionalTemplate.isPresent())
+        route.setRegexGroupsNames(new ArrayList<>(resolvedPath.resolver.getMappedGroups().values()));
       for (Handler<RoutingContext> handler : handlersToLoad)
         route.handler(handler);
       for (Handler<RoutingContext> failureHandler : failureHandlersToLoad)
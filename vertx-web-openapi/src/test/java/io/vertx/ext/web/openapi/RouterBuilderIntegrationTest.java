@@ -327,6 +327,34 @@ public class RouterBuilderIntegrationTest extends BaseRouterBuilderTest {
     });
   }
 
+  @Test
+  public void reservedCharactersFallThrough(Vertx vertx, VertxTestContext testContext) {
+    // a path parameter with a reserved char doesn't match the operation, the following routes can handle it
+    Checkpoint checkpoint = testContext.checkpoint(2);
+    loadBuilderAndStartServer(vertx, "src/test/resources/specs/path_matching_order.yaml", testContext,
+      routerBuilder -> {
+        routerBuilder.setOptions(HANDLERS_TESTS_OPTIONS);
+
+        routerBuilder
+          .operation("addPet")
+          .handler(routingContext -> {
+            routingContext.response().setStatusMessage("addPet").end();
+          });
+      }).onComplete(h -> {
+      router.post("/pets/:name").handler(routingContext -> {
+        routingContext.response().setStatusMessage("fallback").end();
+      });
+
+      testRequest(client, HttpMethod.POST, "/pets/wolfie")
+        .expect(statusCode(200), statusMessage("addPet"))
+        .sendJson(new JsonObject(), testContext, checkpoint);
+
+      testRequest(client, HttpMethod.POST, "/pets/wol;fie")
+        .expect(statusCode(200), statusMessage("fallback"))
+        .send(testContext, checkpoint);
+    });
+  }
+
   @Test
   public void mountNotImplementedHandler(Vertx vertx, VertxTestContext testContext) {
     Checkpoint checkpoint = testContext.checkpoint();
@@ -117,6 +117,45 @@ public class OpenAPI3PathResolverTest {
     assertThat(resolver.solve().isPresent()).isFalse();
   }
 
+  @Test
+  public void shouldNotGenerateTemplateWithoutParameters() {
+    OpenAPI3PathResolver resolver = instantiatePathResolver("listPets");
+    assertThat(resolver.solveTemplate().isPresent()).isFalse();
+  }
+
+  @Test
+  public void shouldGenerateTemplateForSimpleSegment() {
+    OpenAPI3PathResolver resolver = instantiatePathResolver("path_simple");
+    assertThat(resolver.solveTemplate()).contains("/path/:simple/test");
+    assertThat(resolver.getMappedGroups()).containsEntry("p0", "simple");
+  }
+
+  @Test
+  public void shouldExcludeTheReservedCharactersOfTheRegex() {
+    Pattern pattern = instantiatePathResolver("path_simple").solve().get();
+    for (String value : new String[] {"blue", "blue,black", "R=100", "a%3Bb", "a;b", "a!b", "a(b)", "a$b", "a@b", "a&b", "a+b", "a*b", "a'b"}) {
+      String path = "/path/" + value + "/test";
+      boolean reserved = value.chars().anyMatch(c -> OpenAPI3PathResolver.SIMPLE_STYLE_RESERVED_CHARS.indexOf(c) != -1);
+      assertThat(reserved)
+        .as(path)
+        .isEqualTo(!pattern.matcher(path).matches());
+    }
+  }
+
+  @Test
+  public void shouldNotGenerateTemplateForMixedSegment() {
+    assertThat(instantiatePathResolver("path_multi_simple_label").solveTemplate().isPresent()).isFalse();
+    assertThat(instantiatePathResolver("path_multi_simple_matrix").solveTemplate().isPresent()).isFalse();
+    assertThat(instantiatePathResolver("path_matrix_id_email").solveTemplate().isPresent()).isFalse();
+  }
+
+  @Test
+  public void shouldNotGenerateTemplateForMatrixStyle() {
+    OpenAPI3PathResolver resolver = instantiatePathResolver("path_array_matrix");
+    assertThat(resolver.solveTemplate().isPresent()).isFalse();
+    assertThat(resolver.solve().isPresent()).isTrue();
+  }
+
   @Test
   public void complexEncodingMultiSimpleLabelMixed() {
     OpenAPI3PathResolver resolver = instantiatePathResolver("path_multi_simple_label");
@@ -17,9 +17,9 @@ package io.vertx.ext.web.sstore.cookie.impl;
 
 import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.auth.VertxContextPRNG;
+import io.vertx.ext.web.impl.ThreadLocalMac;
 import io.vertx.ext.web.sstore.AbstractSession;
 
-import javax.crypto.Mac;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -33,18 +33,18 @@ public class CookieSession extends AbstractSession {
 
   private static final Charset UTF8 = StandardCharsets.UTF_8;
 
-  private final Mac mac;
+  private final ThreadLocalMac mac;
   // track the original version
   private int oldVersion = 0;
   // track the original crc
   private int oldCrc = 0;
 
-  public CookieSession(Mac mac, VertxContextPRNG prng, long timeout, int length) {
+  public CookieSession(ThreadLocalMac mac, VertxContextPRNG prng, long timeout, int length) {
     super(prng, timeout, length);
     this.mac = mac;
   }
 
-  public CookieSession(Mac mac, VertxContextPRNG prng) {
+  public CookieSession(ThreadLocalMac mac, VertxContextPRNG prng) {
     super(prng);
     this.mac = mac;
   }
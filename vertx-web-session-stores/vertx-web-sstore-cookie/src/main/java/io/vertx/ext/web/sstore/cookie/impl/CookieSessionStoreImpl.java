@@ -22,14 +22,11 @@ import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.web.Session;
+import io.vertx.ext.web.impl.ThreadLocalMac;
 import io.vertx.ext.web.sstore.SessionStore;
 import io.vertx.ext.web.sstore.cookie.CookieSessionStore;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * @author <a href="mailto:plopes@redhat.com">Paulo Lopes</a>
@@ -44,7 +41,7 @@ public class CookieSessionStoreImpl implements CookieSessionStore {
     init(vertx, new JsonObject().put("secret", secret));
   }
 
-  private Mac mac;
+  private ThreadLocalMac mac;
   private VertxContextPRNG random;
   private ContextInternal ctx;
 
@@ -54,12 +51,7 @@ public class CookieSessionStoreImpl implements CookieSessionStore {
     this.random = VertxContextPRNG.current(vertx);
     this.ctx = (ContextInternal) vertx.getOrCreateContext();
 
-    try {
-      mac = Mac.getInstance("HmacSHA256");
-      mac.init(new SecretKeySpec(options.getString("secret").getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-      throw new RuntimeException(e);
-    }
+    mac = new ThreadLocalMac("HmacSHA256", options.getString("secret").getBytes(StandardCharsets.UTF_8));
 
     return this;
   }
@@ -25,6 +25,9 @@ import io.vertx.redis.client.Redis;
  * A SessionStore that uses a Redis to store the sessions and associated data.
  * This assumes that the redis logical database (i.e. select) is only used
  * to store the sessions to make size query reliable.
+ * <p>
+ * A session is stored as a hash with one field per entry. Sessions stored as a single value by previous versions of
+ * this store are still read, and are stored as a hash on their next write.
  *
  * @author <a href="https://github.com/llfbandit">Rémy Noël</a>
  */
@@ -23,15 +23,24 @@ import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.web.Session;
-import io.vertx.ext.web.sstore.AbstractSession;
 import io.vertx.ext.web.sstore.SessionStore;
 import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
 import io.vertx.ext.web.sstore.redis.RedisSessionStore;
+import io.vertx.redis.client.Command;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisOptions;
 import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static io.vertx.redis.client.Command.*;
 import static io.vertx.redis.client.Request.cmd;
@@ -40,6 +49,57 @@ import static io.vertx.redis.client.Request.cmd;
  * @author <a href="https://github.com/llfbandit">Rémy Noël</a>
  */
 public class RedisSessionStoreImpl implements RedisSessionStore {
+
+  // A session is stored as a hash: its version, timeout and last access time, and one field per session entry so
+  // that the entries modified during a request can be written alone. The sessions written by the previous versions
+  // of the store are a single string value, they are still read and are stored as a hash on their next write
+  private static final String VERSION_FIELD = "v";
+  private static final String TIMEOUT_FIELD = "t";
+  private static final String LAST_ACCESSED_FIELD = "a";
+  private static final String ENTRY_FIELD_PREFIX = "d:";
+
+  // Read the session and postpone its expiration, a session in the previous format is returned as is
+  private static final String GET_SCRIPT =
+    "local type = redis.call('TYPE', KEYS[1]).ok\n" +
+    "if type == 'string' then\n" +
+    "  return redis.call('GET', KEYS[1])\n" +
+    "elseif type ~= 'hash' then\n" +
+    "  return nil\n" +
+    "end\n" +
+    "redis.call('PEXPIRE', KEYS[1], redis.call('HGET', KEYS[1], 't'))\n" +
+    "return redis.call('HGETALL', KEYS[1])";
+
+  // Write the session unless a newer version than the one it was read at is stored, returns 0 on version mismatch.
+  // ARGV: read version, new version, timeout, last accessed, full write flag, removed entries count, removed entry
+  // fields, entry field and value pairs. A partial write of a session no longer stored, or stored in the previous
+  // format, returns -1. The fields are unpacked in chunks to stay below the Lua stack limit.
+  private static final String PUT_SCRIPT =
+    "local full = ARGV[5] == '1'\n" +
+    "if redis.call('TYPE', KEYS[1]).ok == 'hash' then\n" +
+    "  if tonumber(redis.call('HGET', KEYS[1], 'v') or '0') > tonumber(ARGV[1]) then\n" +
+    "    return 0\n" +
+    "  end\n" +
+    "elseif not full then\n" +
+    "  return -1\n" +
+    "end\n" +
+    "local removed = tonumber(ARGV[6])\n" +
+    "if full then\n" +
+    "  redis.call('DEL', KEYS[1])\n" +
+    "else\n" +
+    "  for i = 7, 6 + removed, 1000 do\n" +
+    "    redis.call('HDEL', KEYS[1], unpack(ARGV, i, math.min(i + 999, 6 + removed)))\n" +
+    "  end\n" +
+    "end\n" +
+    "redis.call('HSET', KEYS[1], 'v', ARGV[2], 't', ARGV[3], 'a', ARGV[4])\n" +
+    "for i = 7 + removed, #ARGV, 1000 do\n" +
+    "  redis.call('HSET', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))\n" +
+    "end\n" +
+    "redis.call('PEXPIRE', KEYS[1], ARGV[3])\n" +
+    "return 1";
+
+  private static final String GET_SCRIPT_SHA = sha1(GET_SCRIPT);
+  private static final String PUT_SCRIPT_SHA = sha1(PUT_SCRIPT);
+
   private Redis redis;
   private VertxContextPRNG random;
   private long retryTimeout;
@@ -62,6 +122,9 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
     ctx = (ContextInternal) vertx.getOrCreateContext();
     this.retryTimeout = retryTimeout;
     this.redis = Objects.requireNonNull(redis, "redis is required");
+    // load the scripts ahead of the first requests, when the server loses them they are sent again
+    redis.send(cmd(SCRIPT).arg("LOAD").arg(GET_SCRIPT));
+    redis.send(cmd(SCRIPT).arg("LOAD").arg(PUT_SCRIPT));
     return this;
   }
 
@@ -82,21 +145,57 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
 
   @Override
   public Future<@Nullable Session> get(String id) {
-    return redis.send(cmd(GET).arg(id))
+    return eval(GET_SCRIPT, GET_SCRIPT_SHA, id, Collections.emptyList())
       .compose(response -> {
-        if (response != null) {
+        if (response == null) {
+          return ctx.succeededFuture();
+        }
+        if (response.type() == ResponseType.BULK) {
+          // previous format, the whole session in a single value
           SharedDataSessionImpl session = new SharedDataSessionImpl(random);
           session.readFromBuffer(0, response.toBuffer());
-          // postpone expiration time, this cannot be done in a single frame with GET cmd
+          // postpone expiration time, the timeout is only known once the session is read
           return redis
             .send(cmd(PEXPIRE).arg(id).arg(session.timeout()))
             .map(session);
-        } else {
+        }
+        if (response.size() == 0) {
           return ctx.succeededFuture();
         }
+        return ctx.succeededFuture(readHash(id, response));
       });
   }
 
+  private Session readHash(String id, Response response) {
+    long timeout = 0;
+    long lastAccessed = 0;
+    int version = 0;
+    List<Buffer> entries = new ArrayList<>(response.size() / 2);
+    for (int i = 0; i + 1 < response.size(); i += 2) {
+      String field = response.get(i).toString();
+      Response value = response.get(i + 1);
+      switch (field) {
+        case VERSION_FIELD:
+          version = Integer.parseInt(value.toString());
+          break;
+        case TIMEOUT_FIELD:
+          timeout = Long.parseLong(value.toString());
+          break;
+        case LAST_ACCESSED_FIELD:
+          lastAccessed = Long.parseLong(value.toString());
+          break;
+        default:
+          if (field.startsWith(ENTRY_FIELD_PREFIX)) {
+            entries.add(value.toBuffer());
+          }
+          break;
+      }
+    }
+    SharedDataSessionImpl session = new SharedDataSessionImpl(random);
+    session.readFromEntries(id, timeout, lastAccessed, version, entries);
+    return session;
+  }
+
   @Override
   public Future<Void> delete(String id) {
     return redis.send(cmd(DEL).arg(id))
@@ -105,36 +204,94 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
 
   @Override
   public Future<Void> put(Session session) {
-    return redis.send(cmd(GET).arg(session.id()))
-      .compose(response -> {
-      AbstractSession newSession = (AbstractSession) session;
-      if (response != null) {
-        // Old session exists, we need to validate versions
-        SharedDataSessionImpl oldSession = new SharedDataSessionImpl(random);
-        oldSession.readFromBuffer(0, response.toBuffer());
+    return write((SharedDataSessionImpl) session, true);
+  }
 
-        if (oldSession.version() != newSession.version()) {
-          return Future.failedFuture("Session version mismatch");
-        }
+  @Override
+  public Future<Void> putDelta(Session session) {
+    return write((SharedDataSessionImpl) session, false);
+  }
+
+  private Future<Void> write(SharedDataSessionImpl session, boolean full) {
+    Set<String> modified = session.modifiedKeys();
+    Set<String> removed = session.removedKeys();
+    if (full || modified == null || removed == null) {
+      // the session wasn't read from the store, all the entries are written
+      full = true;
+      modified = session.isEmpty() ? Collections.emptySet() : session.data().keySet();
+      removed = Collections.emptySet();
+    }
+
+    int version = session.version();
+    session.incrementVersion();
+
+    // submit with the version the session was read at, the modified session data & expiration TO in ms
+    List<Object> args = new ArrayList<>(6 + removed.size() + 2 * modified.size());
+    args.add(version);
+    args.add(session.version());
+    args.add(session.timeout());
+    args.add(session.lastAccessed());
+    args.add(full ? 1 : 0);
+    args.add(removed.size());
+    for (String key : removed) {
+      args.add(ENTRY_FIELD_PREFIX + key);
+    }
+    for (String key : modified) {
+      Buffer entry = session.writeEntryToBuffer(key);
+      if (entry != null) {
+        args.add(ENTRY_FIELD_PREFIX + key);
+        args.add(entry);
       }
+    }
 
-      newSession.incrementVersion();
-      return writeSession(newSession);
-    });
+    return eval(PUT_SCRIPT, PUT_SCRIPT_SHA, session.id(), args)
+      .compose(response -> {
+        int result = response == null ? 0 : response.toInteger();
+        if (result == -1) {
+          // the session expired meanwhile, store it again as a whole
+          return write(session, true);
+        }
+        if (result != 1) {
+          return Future.failedFuture("Session version mismatch");
+        }
+        return Future.succeededFuture();
+      });
   }
 
-  private Future<Void> writeSession(Session session) {
-    Buffer buffer = Buffer.buffer();
-    SharedDataSessionImpl sessionImpl = (SharedDataSessionImpl) session;
-    sessionImpl.writeToBuffer(buffer);
+  private Future<@Nullable Response> eval(String script, String sha, String key, List<Object> args) {
+    return redis.send(scriptRequest(EVALSHA, sha, key, args))
+      .recover(err -> {
+        if (err.getMessage() != null && err.getMessage().startsWith("NOSCRIPT")) {
+          // the script cache of the server has been flushed, EVAL loads it again
+          return redis.send(scriptRequest(EVAL, script, key, args));
+        }
+        return Future.failedFuture(err);
+      });
+  }
 
-    // submit with all session data & expiration TO in ms
-    Request rq = cmd(SET)
-      .arg(session.id()).arg(buffer)
-      .arg("PX").arg(session.timeout());
+  private static Request scriptRequest(Command command, String script, String key, List<Object> args) {
+    Request rq = cmd(command).arg(script).arg(1).arg(key);
+    for (Object arg : args) {
+      if (arg instanceof Buffer) {
+        rq.arg((Buffer) arg);
+      } else {
+        rq.arg(arg.toString());
+      }
+    }
+    return rq;
+  }
 
-    return redis.send(rq)
-      .mapEmpty();
+  private static String sha1(String script) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8));
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
   @Override
@@ -4,8 +4,12 @@ import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
+import io.vertx.redis.client.Command;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisOptions;
+import io.vertx.redis.client.Request;
 import org.junit.*;
 
 import io.vertx.core.CompositeFuture;
@@ -27,6 +31,7 @@ public class RedisSessionStoreTest {
   @Rule
   public RunTestOnContext rule = new RunTestOnContext();
 
+  private Redis redis;
   private SessionStore store;
 
   @Before
@@ -35,7 +40,7 @@ public class RedisSessionStoreTest {
       // get the vertx instance
       rule.vertx(),
       // provide a client
-      Redis.createClient(rule.vertx(), new RedisOptions()
+      redis = Redis.createClient(rule.vertx(), new RedisOptions()
         .setConnectionString("redis://" + container.getHost() + ":" + container.getMappedPort(6379))
         // how many connections are we willing to open to redis?
         .setMaxPoolSize(2)
@@ -140,6 +145,144 @@ public class RedisSessionStoreTest {
       });
   }
 
+  @Test(timeout = 10_000)
+  public void testPutStaleSession(TestContext should) {
+    final Async test = should.async();
+
+    Session session = store.createSession(30_000);
+    String value = session.value();
+
+    store.put(session)
+      .compose(aVoid -> CompositeFuture.all(store.get(value), store.get(value)))
+      .compose(copies -> {
+        Session first = copies.resultAt(0);
+        Session second = copies.resultAt(1);
+        first.put("key", "first");
+        second.put("key", "second");
+        return store.put(first)
+          .compose(aVoid -> store.put(second))
+          .transform(ar -> {
+            // the second copy was read before the first one was stored
+            should.assertTrue(ar.failed());
+            return store.get(value);
+          });
+      })
+      .onComplete(should.asyncAssertSuccess(stored -> {
+        should.assertEquals("first", stored.get("key"));
+        test.complete();
+      }));
+  }
+
+  @Test(timeout = 10_000)
+  public void testPutDelta(TestContext should) {
+    final Async test = should.async();
+
+    Session session = store.createSession(30_000);
+    String value = session.value();
+    session.put("kept", "kept");
+    session.put("modified", "before");
+    session.put("removed", "removed");
+
+    store.put(session)
+      .compose(aVoid -> store.get(value))
+      .compose(stored -> {
+        stored.put("modified", "after");
+        stored.put("added", 1);
+        stored.remove("removed");
+        return store.putDelta(stored);
+      })
+      .compose(aVoid -> store.get(value))
+      .onComplete(should.asyncAssertSuccess(stored -> {
+        should.assertEquals("kept", stored.get("kept"));
+        should.assertEquals("after", stored.get("modified"));
+        should.assertEquals(1, stored.get("added"));
+        should.assertNull(stored.get("removed"));
+        should.assertEquals(30_000L, stored.timeout());
+        test.complete();
+      }));
+  }
+
+  @Test(timeout = 10_000)
+  public void testPutDeltaManyEntries(TestContext should) {
+    final Async test = should.async();
+
+    Session session = store.createSession(30_000);
+    String value = session.value();
+    for (int i = 0; i < 10_000; i++) {
+      session.put("removed" + i, i);
+    }
+
+    store.put(session)
+      .compose(aVoid -> store.get(value))
+      .compose(stored -> {
+        // more fields than the Lua stack can hold at once
+        for (int i = 0; i < 10_000; i++) {
+          stored.remove("removed" + i);
+          stored.put("added" + i, i);
+        }
+        return store.putDelta(stored);
+      })
+      .compose(aVoid -> store.get(value))
+      .onComplete(should.asyncAssertSuccess(stored -> {
+        should.assertNull(stored.get("removed0"));
+        should.assertEquals(0, stored.get("added0"));
+        should.assertEquals(9_999, stored.get("added9999"));
+        should.assertEquals(10_000, stored.data().size());
+        test.complete();
+      }));
+  }
+
+  @Test(timeout = 10_000)
+  public void testPutDeltaExpired(TestContext should) {
+    final Async test = should.async();
+
+    Session session = store.createSession(30_000);
+    String value = session.value();
+    session.put("key", "value");
+
+    store.put(session)
+      .compose(aVoid -> store.get(value))
+      .compose(stored -> store.delete(value).compose(aVoid -> {
+        stored.put("other", "value");
+        return store.putDelta(stored);
+      }))
+      .compose(aVoid -> store.get(value))
+      .onComplete(should.asyncAssertSuccess(stored -> {
+        // the whole session is stored again
+        should.assertEquals("value", stored.get("key"));
+        should.assertEquals("value", stored.get("other"));
+        test.complete();
+      }));
+  }
+
+  @Test(timeout = 10_000)
+  public void testReadPreviousFormat(TestContext should) {
+    final Async test = should.async();
+
+    SharedDataSessionImpl session = (SharedDataSessionImpl) store.createSession(30_000);
+    String value = session.value();
+    session.put("key", "value");
+    Buffer buffer = Buffer.buffer();
+    session.writeToBuffer(buffer);
+
+    // stored as a single value, as the previous versions of the store did
+    redis.send(Request.cmd(Command.SET).arg(value).arg(buffer).arg("PX").arg(30_000))
+      .compose(response -> store.get(value))
+      .compose(stored -> {
+        should.assertEquals("value", stored.get("key"));
+        stored.put("other", "value");
+        return store.putDelta(stored);
+      })
+      .compose(aVoid -> store.get(value))
+      .onComplete(should.asyncAssertSuccess(stored -> {
+        // stored again in the current format
+        should.assertEquals("value", stored.get("key"));
+        should.assertEquals("value", stored.get("other"));
+        should.assertEquals(30_000L, stored.timeout());
+        test.complete();
+      }));
+  }
+
   @Test(timeout = 10_000)
   public void testFloodConnection(TestContext should) {
     final Async test = should.async();
@@ -20,6 +20,21 @@ public class SockJSBridgeOptionsConverter {
   public static void fromJson(Iterable<java.util.Map.Entry<String, Object>> json, SockJSBridgeOptions obj) {
     for (java.util.Map.Entry<String, Object> member : json) {
       switch (member.getKey()) {
+        case "backPressurePolicy":
+          if (member.getValue() instanceof String) {
+            obj.setBackPressurePolicy(io.vertx.ext.web.handler.sockjs.BridgeBackPressurePolicy.valueOf((String)member.getValue()));
+          }
+          break;
+        case "coalescingMaxMessages":
+          if (member.getValue() instanceof Number) {
+            obj.setCoalescingMaxMessages(((Number)member.getValue()).intValue());
+          }
+          break;
+        case "coalescingWindow":
+          if (member.getValue() instanceof Number) {
+            obj.setCoalescingWindow(((Number)member.getValue()).longValue());
+          }
+          break;
         case "maxAddressLength":
           if (member.getValue() instanceof Number) {
             obj.setMaxAddressLength(((Number)member.getValue()).intValue());
@@ -30,6 +45,11 @@ public class SockJSBridgeOptionsConverter {
             obj.setMaxHandlersPerSocket(((Number)member.getValue()).intValue());
           }
           break;
+        case "maxParkedMessages":
+          if (member.getValue() instanceof Number) {
+            obj.setMaxParkedMessages(((Number)member.getValue()).intValue());
+          }
+          break;
         case "pingTimeout":
           if (member.getValue() instanceof Number) {
             obj.setPingTimeout(((Number)member.getValue()).longValue());
@@ -49,8 +69,14 @@ public class SockJSBridgeOptionsConverter {
   }
 
   public static void toJson(SockJSBridgeOptions obj, java.util.Map<String, Object> json) {
+    if (obj.getBackPressurePolicy() != null) {
+      json.put("backPressurePolicy", obj.getBackPressurePolicy().name());
+    }
+    json.put("coalescingMaxMessages", obj.getCoalescingMaxMessages());
+    json.put("coalescingWindow", obj.getCoalescingWindow());
     json.put("maxAddressLength", obj.getMaxAddressLength());
     json.put("maxHandlersPerSocket", obj.getMaxHandlersPerSocket());
+    json.put("maxParkedMessages", obj.getMaxParkedMessages());
     json.put("pingTimeout", obj.getPingTimeout());
     json.put("replyTimeout", obj.getReplyTimeout());
   }
@@ -405,4 +405,19 @@ public interface Router extends Handler<HttpServerRequest> {
    */
   @Fluent
   Router allowForward(AllowForwardHeaders allowForwardHeaders);
+
+  /**
+   * Set whether the router should dispatch requests using a route index compiled from its routes. When enabled, the
+   * router builds a segment tree (static segments, {@code :param} segments and wildcards) every time the routes
+   * change, and only the routes that can match the request path are evaluated. Routes declared with a regular
+   * expression are always evaluated. The order of the routes and the status codes of the routing failures are the
+   * same as with the default linear dispatch.
+   * <p>
+   * Sub routers are not affected by this setting and must enable it themselves.
+   *
+   * @param compiledDispatch {@code true} to enable the compiled dispatch
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Router compiledDispatch(boolean compiledDispatch);
 }
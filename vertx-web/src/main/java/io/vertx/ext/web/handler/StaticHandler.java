@@ -105,6 +105,11 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   boolean DEFAULT_RANGE_SUPPORT = true;
 
+  /**
+   * Default max number of ranges in a range request, requests with more ranges get the whole file
+   */
+  int DEFAULT_MAX_RANGES = 16;
+
   /**
    * Default of whether access to the root of the file system should be allowed or
    * just allow from the current working
@@ -117,6 +122,26 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   boolean DEFAULT_SEND_VARY_HEADER = true;
 
+  /**
+   * Default of whether ETags should be sent
+   */
+  boolean DEFAULT_ENABLE_ETAG = false;
+
+  /**
+   * Default of whether ETags should be computed from the file content
+   */
+  boolean DEFAULT_ENABLE_STRONG_ETAG = false;
+
+  /**
+   * Default max size in bytes of the in-memory file content cache, 0 means disabled
+   */
+  long DEFAULT_CONTENT_CACHE_MAX_BYTES = 0;
+
+  /**
+   * Default max size in bytes of a file to be kept in the in-memory file content cache
+   */
+  long DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE = 16 * 1024; // 16kb
+
   /**
    * Create a handler using defaults
    *
@@ -299,6 +324,16 @@ public interface StaticHandler extends Handler<RoutingContext> {
   @Fluent
   StaticHandler setEnableRangeSupport(boolean enableRangeSupport);
 
+  /**
+   * Set the max number of ranges accepted in a range request. Several ranges are sent as a
+   * {@code multipart/byteranges} response, a request with more ranges than this limit gets the whole file.
+   *
+   * @param maxRanges the max number of ranges
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setMaxRanges(int maxRanges);
+
   /**
    * Set whether vary header should be sent with response.
    *
@@ -317,4 +352,63 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   @Fluent
   StaticHandler setDefaultContentEncoding(String contentEncoding);
+
+  /**
+   * Set the max size in bytes of the in-memory cache of file contents. When enabled, small files are kept in memory
+   * and, while their cached file properties are valid, served without accessing the file system. Entries are
+   * invalidated using the same cache entry timeout and last modified checks as the file properties cache.
+   *
+   * @param maxBytes the max total size of the cached files, {@code 0} to disable the cache
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setContentCacheMaxBytes(long maxBytes);
+
+  /**
+   * Set the max size in bytes of a file to be kept in the in-memory cache of file contents.
+   *
+   * @param maxFileSize the max size of a cached file
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setContentCacheMaxFileSize(long maxFileSize);
+
+  /**
+   * Serve precompressed files stored next to the original file, instead of compressing the response on the fly. When
+   * the client accepts one of the given encodings and a file with the matching suffix exists, e.g.: {@code app.js.br}
+   * for {@code app.js}, that file is sent with the matching {@code Content-Encoding}. Precompressed files older than
+   * the original file are ignored.
+   * <p>
+   * The supported encodings are {@code br} ({@code .br}), {@code gzip} ({@code .gz}) and {@code zstd} ({@code .zst}).
+   * When the client accepts several encodings with the same weight, the order of the list is the server preference.
+   *
+   * @param encodings the encodings to look up, an empty list disables precompressed files (default)
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setPrecompressedEncodings(List<String> encodings);
+
+  /**
+   * Set whether ETags should be sent along with the cache headers. By default the ETag is a weak validator computed
+   * from the size and the last modified date of the file. Conditional requests ({@code If-None-Match},
+   * {@code If-Match} and {@code If-Range}) are evaluated against the ETag.
+   * <p>
+   * ETags are only sent when caching is enabled.
+   *
+   * @param enableETag true to send ETags
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setEnableETag(boolean enableETag);
+
+  /**
+   * Set whether the ETags should be strong validators computed from a hash of the file content, instead of weak
+   * validators computed from the file size and last modified date. The hash is computed once and kept in the cache
+   * until the file changes. Only strong validators allow resuming range requests with an {@code If-Range} ETag.
+   *
+   * @param enableStrongETag true to compute the ETags from the file content
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setEnableStrongETag(boolean enableStrongETag);
 }
@@ -27,13 +27,10 @@ import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.CSRFHandler;
 import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.impl.Origin;
+import io.vertx.ext.web.impl.ThreadLocalMac;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 import static io.vertx.ext.auth.impl.Codec.base64UrlEncode;
 
@@ -45,7 +42,7 @@ public class CSRFHandlerImpl implements CSRFHandler {
   private static final Logger LOG = LoggerFactory.getLogger(CSRFHandlerImpl.class);
 
   private final VertxContextPRNG random;
-  private final Mac mac;
+  private final ThreadLocalMac mac;
 
   private boolean nagHttps;
   private String cookieName = DEFAULT_COOKIE_NAME;
@@ -58,16 +55,11 @@ public class CSRFHandlerImpl implements CSRFHandler {
   private boolean cookieSecure;
 
   public CSRFHandlerImpl(final Vertx vertx, final String secret) {
-    try {
-      if (secret.length() <= 8) {
-        LOG.warn("CSRF secret is very short (<= 8 bytes)");
-      }
-      random = VertxContextPRNG.current(vertx);
-      mac = Mac.getInstance("HmacSHA256");
-      mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-      throw new RuntimeException(e);
+    if (secret.length() <= 8) {
+      LOG.warn("CSRF secret is very short (<= 8 bytes)");
     }
+    random = VertxContextPRNG.current(vertx);
+    mac = new ThreadLocalMac("HmacSHA256", secret.getBytes(StandardCharsets.UTF_8));
   }
 
   @Override
@@ -260,9 +252,7 @@ public class CSRFHandlerImpl implements CSRFHandler {
 
     byte[] saltPlusToken = (tokens[0] + "." + tokens[1]).getBytes(StandardCharsets.US_ASCII);
 
-    synchronized (mac) {
-      saltPlusToken = mac.doFinal(saltPlusToken);
-    }
+    saltPlusToken = mac.doFinal(saltPlusToken);
 
     final byte[] signature = base64UrlEncode(saltPlusToken).getBytes(StandardCharsets.US_ASCII);
 
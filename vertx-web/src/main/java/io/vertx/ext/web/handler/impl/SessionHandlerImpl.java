@@ -213,7 +213,8 @@ public class SessionHandlerImpl implements SessionHandler {
             sessionCookie(context, session);
           }
           session.setAccessed();
-          return sessionStore.put(session)
+          // the session id didn't change, only the changes need to be stored
+          return sessionStore.putDelta(session)
             .onSuccess(put -> {
               context.put(SESSION_FLUSHED_KEY, true);
               if (session instanceof SessionInternal) {
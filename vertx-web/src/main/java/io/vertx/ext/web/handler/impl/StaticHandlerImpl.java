@@ -19,27 +19,40 @@ package io.vertx.ext.web.handler.impl;
 import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
 import static io.netty.handler.codec.http.HttpResponseStatus.PARTIAL_CONTENT;
+import static io.netty.handler.codec.http.HttpResponseStatus.PRECONDITION_FAILED;
 import static io.netty.handler.codec.http.HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.netty.buffer.Unpooled;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
@@ -53,10 +66,11 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.net.impl.URIDecoder;
 import io.vertx.ext.web.Http2PushMapping;
 import io.vertx.ext.web.MIMEHeader;
+import io.vertx.ext.web.ParsedHeaderValue;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.FileSystemAccess;
 import io.vertx.ext.web.handler.StaticHandler;
-import io.vertx.ext.web.impl.LRUCache;
+import io.vertx.ext.web.impl.ConcurrentLRUCache;
 import io.vertx.ext.web.impl.ParsableMIMEValue;
 import io.vertx.ext.web.impl.Utils;
 
@@ -72,6 +86,14 @@ public class StaticHandlerImpl implements StaticHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(StaticHandlerImpl.class);
 
+  private static final Map<String, String> PRECOMPRESSED_SUFFIXES = new HashMap<>();
+
+  static {
+    PRECOMPRESSED_SUFFIXES.put("br", ".br");
+    PRECOMPRESSED_SUFFIXES.put("gzip", ".gz");
+    PRECOMPRESSED_SUFFIXES.put("zstd", ".zst");
+  }
+
   // TODO change to private final after setWebRoot has been removed
   private String webRoot = DEFAULT_WEB_ROOT;
   private long maxAgeSeconds = DEFAULT_MAX_AGE_SECONDS; // One day
@@ -79,20 +101,24 @@ public class StaticHandlerImpl implements StaticHandler {
   private String directoryTemplateResource = DEFAULT_DIRECTORY_TEMPLATE;
   private String directoryTemplate;
   private boolean includeHidden = DEFAULT_INCLUDE_HIDDEN;
-  private boolean filesReadOnly = DEFAULT_FILES_READ_ONLY;
   private String indexPage = DEFAULT_INDEX_PAGE;
   private List<Http2PushMapping> http2PushMappings;
   private boolean rangeSupport = DEFAULT_RANGE_SUPPORT;
+  private int maxRanges = DEFAULT_MAX_RANGES;
   // TODO change to private final after setAllowRootAccess has been removed
   private boolean allowRootFileSystemAccess = DEFAULT_ROOT_FILESYSTEM_ACCESS;
   private boolean sendVaryHeader = DEFAULT_SEND_VARY_HEADER;
   private String defaultContentEncoding = Charset.defaultCharset().name();
+  private boolean etag = DEFAULT_ENABLE_ETAG;
+  private boolean strongETag = DEFAULT_ENABLE_STRONG_ETAG;
 
   private Set<String> compressedMediaTypes = Collections.emptySet();
   private Set<String> compressedFileSuffixes = Collections.emptySet();
+  private List<String> precompressedEncodings = Collections.emptyList();
 
   private final FSTune tune = new FSTune();
   private final FSPropsCache cache = new FSPropsCache();
+  private final FSContentCache contentCache = new FSContentCache();
 
   /**
    * Constructor called by static factory method
@@ -137,8 +163,8 @@ public class StaticHandlerImpl implements StaticHandler {
     MultiMap headers = request.response().headers();
 
     if (cache.enabled()) {
-      // We use cache-control and last-modified
-      // We *do not use* etags and expires (since they do the same thing - redundant)
+      // We use cache-control and last-modified, etags are opt-in (see setEnableETag)
+      // We *do not use* expires (since it does the same thing as cache-control - redundant)
       Utils.addToMapIfAbsent(headers, HttpHeaders.CACHE_CONTROL, "public, immutable, max-age=" + maxAgeSeconds);
       Utils.addToMapIfAbsent(headers, HttpHeaders.LAST_MODIFIED, Utils.formatRFC1123DateTime(props.lastModifiedTime()));
       // We send the vary header (for intermediate caches)
@@ -208,37 +234,6 @@ public class StaticHandlerImpl implements StaticHandler {
       }
     }
 
-    // Look in cache
-    final CacheEntry entry = cache.get(path);
-
-    if (entry != null) {
-      if ((filesReadOnly || !entry.isOutOfDate())) {
-        // a cache entry can mean 2 things:
-        // 1. a miss
-        // 2. a hit
-
-        // a miss signals that we should continue the chain
-        if (entry.isMissing()) {
-          if (!context.request().isEnded()) {
-            context.request().resume();
-          }
-          context.next();
-          return;
-        }
-
-        // a hit needs to be verified for freshness
-        final long lastModified = Utils.secondsFactor(entry.props.lastModifiedTime());
-
-        if (Utils.fresh(context, lastModified)) {
-          context.response()
-            .setStatusCode(NOT_MODIFIED.code())
-            .end();
-          return;
-        }
-      }
-    }
-
-    final boolean dirty = cache.enabled() && entry != null;
     final String localFile;
 
     if (file == null) {
@@ -256,6 +251,56 @@ public class StaticHandlerImpl implements StaticHandler {
       }
     }
 
+    // Look in cache
+    final CacheEntry entry = cache.get(path);
+
+    // out of date entries are never returned by the cache, unless the files are read only
+    if (entry != null) {
+      // a cache entry can mean 2 things:
+      // 1. a miss
+      // 2. a hit
+
+      // a miss signals that we should continue the chain
+      if (entry.isMissing()) {
+        if (!context.request().isEnded()) {
+          context.request().resume();
+        }
+        context.next();
+        return;
+      }
+
+      // a hit needs to be verified for freshness
+      final long lastModified = Utils.secondsFactor(entry.props.lastModifiedTime());
+
+      if (etag) {
+        // a strong etag may not be computed yet, in that case the freshness is verified once it is
+        String tag = strongETag ? cache.getETag(path, entry.props) : weakETag(entry.props);
+        if (tag != null && !precompressedEncodings.isEmpty()) {
+          // each encoding has its own etag, known once the precompressed files have been looked up
+          final String encoding = cachedEncoding(context, index ? path + indexPage : path, entry.props);
+          tag = encoding == null ? null : encoding.isEmpty() ? tag : variantETag(tag, encoding);
+        }
+        if (tag != null) {
+          context.response().putHeader(HttpHeaders.ETAG, tag);
+        }
+      }
+
+      if (Utils.fresh(context, lastModified)) {
+        context.response()
+          .setStatusCode(NOT_MODIFIED.code())
+          .end();
+        return;
+      }
+
+      // the content of a small file is kept in memory, it is sent without accessing the file system
+      if (contentCache.accepts(entry.props) && contentCache.get(localFile, entry.props) != null) {
+        sendRegularFile(context, fileSystem, path, localFile, entry.props, index);
+        return;
+      }
+    }
+
+    final boolean dirty = cache.enabled() && entry != null;
+
     // verify if the file exists
     fileSystem
       .exists(localFile)
@@ -309,13 +354,8 @@ public class StaticHandlerImpl implements StaticHandler {
             } else {
               if (cache.enabled()) {
                 cache.put(path, fprops);
-
-                if (Utils.fresh(context, Utils.secondsFactor(fprops.lastModifiedTime()))) {
-                  context.response().setStatusCode(NOT_MODIFIED.code()).end();
-                  return;
-                }
               }
-              sendFile(context, fileSystem, localFile, fprops);
+              sendRegularFile(context, fileSystem, path, localFile, fprops, index);
             }
           })
           .onFailure(err -> {
@@ -327,6 +367,33 @@ public class StaticHandlerImpl implements StaticHandler {
       });
   }
 
+  /**
+   * Send a regular file once its props are known, or a 304 when the client copy is fresh.
+   */
+  private void sendRegularFile(RoutingContext context, FileSystem fileSystem, String path, String localFile, FileProps fprops, boolean index) {
+    getETag(fileSystem, path, localFile, fprops)
+      .onSuccess(tag -> {
+        if (tag != null) {
+          context.response().putHeader(HttpHeaders.ETAG, tag);
+        }
+        if (cache.enabled() && Utils.fresh(context, Utils.secondsFactor(fprops.lastModifiedTime()))) {
+          context.response().setStatusCode(NOT_MODIFIED.code()).end();
+          return;
+        }
+        if (precompressedEncodings.isEmpty()) {
+          sendFile(context, fileSystem, localFile, fprops, null);
+        } else {
+          sendPrecompressedOrFile(context, fileSystem, index ? path + indexPage : path, localFile, fprops);
+        }
+      })
+      .onFailure(err -> {
+        if (!context.request().isEnded()) {
+          context.request().resume();
+        }
+        context.fail(err);
+      });
+  }
+
   /**
    * sibling means that we are being upgraded from a directory to a index
    */
@@ -374,11 +441,351 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
-  private static final Pattern RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
+  /**
+   * @return the etag of the file, or {@code null} when etags are not sent.
+   */
+  private Future<String> getETag(FileSystem fileSystem, String path, String file, FileProps props) {
+    // etags are cache headers, like last-modified they are only sent when caching is enabled
+    if (!etag || !cache.enabled()) {
+      return Future.succeededFuture();
+    }
+    if (!strongETag) {
+      return Future.succeededFuture(weakETag(props));
+    }
+    final String cached = cache.getETag(path, props);
+    if (cached != null) {
+      return Future.succeededFuture(cached);
+    }
+    return strongETag(fileSystem, file)
+      .onSuccess(tag -> cache.putETag(path, props, tag));
+  }
+
+  /**
+   * @return the etag of the representation of the file precompressed with the encoding.
+   */
+  private static String variantETag(String etag, String encoding) {
+    return etag.substring(0, etag.length() - 1) + '-' + encoding + '"';
+  }
+
+  private static String weakETag(FileProps props) {
+    return "W/\"" + Long.toHexString(props.size()) + "-" + Long.toHexString(props.lastModifiedTime()) + '"';
+  }
+
+  private static Future<String> strongETag(FileSystem fileSystem, String file) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      return Future.failedFuture(e);
+    }
+
+    // the file is streamed, so hashing a large file doesn't load it in memory nor block the event loop
+    return fileSystem.open(file, new OpenOptions().setRead(true).setWrite(false).setCreate(false))
+      .compose(asyncFile -> {
+        final Promise<String> promise = Promise.promise();
+        asyncFile
+          .exceptionHandler(err -> {
+            asyncFile.close();
+            promise.tryFail(err);
+          })
+          .endHandler(v -> {
+            asyncFile.close();
+            promise.tryComplete('"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + '"');
+          })
+          .handler(buffer -> digest.update(buffer.getBytes()));
+        return promise.future();
+      });
+  }
+
+  /**
+   * @return {@code true} if the header contains the etag, using the strong comparison unless {@code weak} is set.
+   */
+  private static boolean matchesETag(String header, String etag, boolean weak) {
+    for (String candidate : header.split(",")) {
+      candidate = candidate.trim();
+      if ("*".equals(candidate)) {
+        return true;
+      }
+      if (weak) {
+        if (opaqueTag(candidate).equals(opaqueTag(etag))) {
+          return true;
+        }
+      } else if (!candidate.startsWith("W/") && !etag.startsWith("W/") && candidate.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String opaqueTag(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+  /**
+   * @return {@code true} if the range can be sent, when the {@code If-Range} validator doesn't match the current
+   * representation, the whole content must be sent instead.
+   */
+  private static boolean isRangeValid(HttpServerRequest request, String etag, FileProps props) {
+    final String ifRange = request.getHeader("If-Range");
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      // weak etags never match as the range could be taken from a different content
+      return etag != null && matchesETag(ifRange, etag, false);
+    }
+    // a date only matches when it is exactly the last modified date
+    return Utils.secondsFactor(props.lastModifiedTime()) == Utils.parseRFC1123DateTime(ifRange);
+  }
+
+  /**
+   * Send the best precompressed file accepted by the client, or the file itself when there is none.
+   *
+   * @param path the request path of the file, the lookup of the precompressed files is cached using this path
+   */
+  private void sendPrecompressedOrFile(RoutingContext context, FileSystem fileSystem, String path, String file, FileProps fileProps) {
+    findPrecompressed(fileSystem, path, file, fileProps, acceptedEncodings(context).iterator())
+      .onSuccess(precompressed -> sendFile(context, fileSystem, file, fileProps, precompressed))
+      .onFailure(err -> {
+        if (!context.request().isEnded()) {
+          context.request().resume();
+        }
+        context.fail(err);
+      });
+  }
+
+  /**
+   * @return the configured encodings accepted by the client, by client preference then server preference.
+   */
+  private List<String> acceptedEncodings(RoutingContext context) {
+    final List<ParsedHeaderValue> acceptEncoding = context.parsedHeaders().acceptEncoding();
+    if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<String> encodings = new ArrayList<>(precompressedEncodings.size());
+    final float[] weights = new float[precompressedEncodings.size()];
+    for (String encoding : precompressedEncodings) {
+      final float weight = weight(acceptEncoding, encoding);
+      if (weight > 0) {
+        // insertion sort, the list is tiny and the sort must be stable
+        int i = encodings.size();
+        while (i > 0 && weights[i - 1] < weight) {
+          weights[i] = weights[i - 1];
+          i--;
+        }
+        weights[i] = weight;
+        encodings.add(i, encoding);
+      }
+    }
+    return encodings;
+  }
+
+  private static float weight(List<ParsedHeaderValue> acceptEncoding, String encoding) {
+    float any = 0;
+    for (ParsedHeaderValue value : acceptEncoding) {
+      if (encoding.equalsIgnoreCase(value.value())) {
+        return value.weight();
+      }
+      if ("*".equals(value.value())) {
+        any = value.weight();
+      }
+    }
+    return any;
+  }
+
+  /**
+   * Resolve the precompressed file {@link #findPrecompressed} would send, using the props cache only.
+   *
+   * @return the encoding, an empty string when the file itself is sent, or {@code null} when a precompressed file
+   * hasn't been looked up yet
+   */
+  private String cachedEncoding(RoutingContext context, String path, FileProps fileProps) {
+    for (String encoding : acceptedEncodings(context)) {
+      final CacheEntry entry = cache.get(path + PRECOMPRESSED_SUFFIXES.get(encoding));
+      if (entry == null) {
+        return null;
+      }
+      final FileProps props = entry.props;
+      if (props != null && props.isRegularFile() && props.lastModifiedTime() >= fileProps.lastModifiedTime()) {
+        return encoding;
+      }
+    }
+    return "";
+  }
+
+  private Future<PrecompressedFile> findPrecompressed(FileSystem fileSystem, String path, String file, FileProps fileProps, Iterator<String> encodings) {
+    if (!encodings.hasNext()) {
+      return Future.succeededFuture();
+    }
+
+    final String encoding = encodings.next();
+    final String suffix = PRECOMPRESSED_SUFFIXES.get(encoding);
+
+    return getPrecompressedProps(fileSystem, path + suffix, file + suffix)
+      .compose(props -> {
+        // a precompressed file older than the file is out of date
+        if (props != null && props.isRegularFile() && props.lastModifiedTime() >= fileProps.lastModifiedTime()) {
+          return Future.succeededFuture(new PrecompressedFile(encoding, file + suffix, props));
+        }
+        return findPrecompressed(fileSystem, path, file, fileProps, encodings);
+      });
+  }
+
+  private Future<FileProps> getPrecompressedProps(FileSystem fileSystem, String path, String file) {
+    // the path is the one a request for the precompressed file would use, so the entry is shared with such requests
+    final CacheEntry entry = cache.get(path);
+    if (entry != null) {
+      return Future.succeededFuture(entry.props);
+    }
+
+    return fileSystem.exists(file)
+      .compose(exists -> exists ? getFileProps(fileSystem, file) : Future.<FileProps>succeededFuture())
+      .onSuccess(props -> {
+        if (cache.enabled()) {
+          cache.put(path, props);
+        }
+      });
+  }
+
+  private static final Pattern RANGE = Pattern.compile("^(\\d*)-(\\d*)$");
+  private static final int RANGE_CHUNK_SIZE = 64 * 1024;
+
+  /**
+   * Parse a {@code Range} header as specified by RFC 7233.
+   *
+   * @return the satisfiable ranges as inclusive {@code [first, last]} pairs, an empty list when none of the ranges can
+   * be satisfied, or {@code null} when the header must be ignored: it is not a valid byte range set or it has more than
+   * {@code maxRanges} ranges.
+   */
+  private static List<long[]> parseRanges(String header, long size, int maxRanges) {
+    if (!header.regionMatches(true, 0, "bytes=", 0, 6)) {
+      return null;
+    }
+
+    final String[] specs = header.substring(6).split(",");
+    if (specs.length > maxRanges) {
+      return null;
+    }
+
+    final List<long[]> ranges = new ArrayList<>(specs.length);
+    for (String spec : specs) {
+      final Matcher m = RANGE.matcher(spec.trim());
+      if (!m.matches()) {
+        return null;
+      }
+      final String first = m.group(1);
+      final String last = m.group(2);
+      try {
+        if (first.isEmpty()) {
+          // suffix range, the last N bytes
+          if (last.isEmpty()) {
+            return null;
+          }
+          final long suffix = Long.parseLong(last);
+          if (suffix > 0 && size > 0) {
+            ranges.add(new long[]{Math.max(0, size - suffix), size - 1});
+          }
+        } else {
+          final long start = Long.parseLong(first);
+          final long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+          if (end < start) {
+            return null;
+          }
+          // ranges starting after the end of the file cannot be satisfied, the others are truncated to the file
+          if (start < size) {
+            ranges.add(new long[]{start, Math.min(end, size - 1)});
+          }
+        }
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+    return ranges;
+  }
+
+  /**
+   * Send several ranges as a {@code multipart/byteranges} response.
+   */
+  private Future<Void> sendRanges(HttpServerResponse response, FileSystem fileSystem, String file, FileProps fileProps, List<long[]> ranges, String contentType) {
+    final String boundary = "vertx-" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    final List<Buffer> parts = new ArrayList<>(ranges.size());
+    final Buffer closing = Buffer.buffer("--" + boundary + "--\r\n");
+    long length = closing.length();
+    for (long[] range : ranges) {
+      final StringBuilder part = new StringBuilder()
+        .append("--").append(boundary).append("\r\n");
+      if (contentType != null) {
+        part.append(HttpHeaders.CONTENT_TYPE).append(": ").append(contentType).append("\r\n");
+      }
+      part.append(HttpHeaders.CONTENT_RANGE).append(": bytes ").append(range[0]).append('-').append(range[1]).append('/').append(fileProps.size())
+        .append("\r\n\r\n");
+      final Buffer buffer = Buffer.buffer(part.toString());
+      parts.add(buffer);
+      // the part header, the range and the CRLF before the next delimiter
+      length += buffer.length() + range[1] + 1 - range[0] + 2;
+    }
+
+    response
+      .putHeader(HttpHeaders.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary)
+      .putHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(length));
+
+    final Buffer content = contentCache.accepts(fileProps) ? contentCache.get(file, fileProps) : null;
+    if (content != null) {
+      final Buffer body = Buffer.buffer((int) length);
+      for (int i = 0; i < ranges.size(); i++) {
+        final long[] range = ranges.get(i);
+        body
+          .appendBuffer(parts.get(i))
+          .appendBuffer(content, (int) range[0], (int) (range[1] + 1 - range[0]))
+          .appendString("\r\n");
+      }
+      return response.end(body.appendBuffer(closing));
+    }
+
+    return fileSystem.open(file, new OpenOptions().setRead(true).setWrite(false).setCreate(false))
+      .compose(asyncFile -> {
+        Future<Void> fut = Future.succeededFuture();
+        for (int i = 0; i < ranges.size(); i++) {
+          final Buffer part = parts.get(i);
+          final long[] range = ranges.get(i);
+          fut = fut
+            .compose(v -> response.write(part))
+            .compose(v -> writeRange(response, asyncFile, range[0], range[1] + 1))
+            .compose(v -> response.write(Buffer.buffer("\r\n")));
+        }
+        return fut
+          .compose(v -> response.end(closing))
+          .onComplete(ar -> asyncFile.close());
+      });
+  }
 
-  private void sendFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps) {
+  private static Future<Void> writeRange(HttpServerResponse response, AsyncFile file, long position, long end) {
+    if (position >= end) {
+      return Future.succeededFuture();
+    }
+    final int length = (int) Math.min(RANGE_CHUNK_SIZE, end - position);
+    return file.read(Buffer.buffer(length), 0, position, length)
+      .compose(chunk -> {
+        if (chunk.length() == 0) {
+          return Future.failedFuture(new IllegalStateException("File truncated while sending a range"));
+        }
+        return response.write(chunk)
+          .compose(v -> writeRange(response, file, position + chunk.length(), end));
+      });
+  }
+
+  /**
+   * @param precompressed the precompressed file to send instead of the file, or {@code null}
+   */
+  private void sendFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps, PrecompressedFile precompressed) {
     final HttpServerRequest request = context.request();
     final HttpServerResponse response = context.response();
+    // the content type and the cache headers are always the ones of the file, while the content and its length are
+    // the ones of the representation that is sent
+    final String contentFile = precompressed == null ? file : precompressed.file;
+    final FileProps contentProps = precompressed == null ? fileProps : precompressed.props;
 
     Long offset = null;
     Long end = null;
@@ -387,41 +794,58 @@ public class StaticHandlerImpl implements StaticHandler {
     if (response.closed())
       return;
 
+    String etag = response.headers().get(HttpHeaders.ETAG);
+    if (etag != null) {
+      if (precompressed != null) {
+        // each encoding is a different representation of the file, with its own etag
+        etag = variantETag(etag, precompressed.encoding);
+        response.putHeader(HttpHeaders.ETAG, etag);
+        if (Utils.fresh(context, Utils.secondsFactor(fileProps.lastModifiedTime()))) {
+          response.setStatusCode(NOT_MODIFIED.code()).end();
+          return;
+        }
+      }
+
+      final String ifMatch = request.getHeader("If-Match");
+      if (ifMatch != null && !matchesETag(ifMatch, etag, false)) {
+        if (!context.request().isEnded()) {
+          context.request().resume();
+        }
+        context.fail(PRECONDITION_FAILED.code());
+        return;
+      }
+    }
+
+    List<long[]> ranges = null;
+
     if (rangeSupport) {
       // check if the client is making a range request
       String range = request.getHeader("Range");
+      if (range != null && !isRangeValid(request, etag, fileProps)) {
+        // the client copy is out of date, send the whole content
+        range = null;
+      }
       // end byte is length - 1
-      end = fileProps.size() - 1;
+      end = contentProps.size() - 1;
 
       if (range != null) {
-        Matcher m = RANGE.matcher(range);
-        if (m.matches()) {
-          try {
-            String part = m.group(1);
-            // offset cannot be empty
-            offset = Long.parseLong(part);
-            // offset must fall inside the limits of the file
-            if (offset < 0 || offset >= fileProps.size()) {
-              throw new IndexOutOfBoundsException();
-            }
-            // length can be empty
-            part = m.group(2);
-            if (part != null && part.length() > 0) {
-              // ranges are inclusive
-              end = Math.min(end, Long.parseLong(part));
-              // end offset must not be smaller than start offset
-              if (end < offset) {
-                throw new IndexOutOfBoundsException();
-              }
-            }
-          } catch (NumberFormatException | IndexOutOfBoundsException e) {
-            context.response().putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileProps.size());
+        ranges = parseRanges(range, contentProps.size(), maxRanges);
+        if (ranges != null) {
+          if (ranges.isEmpty()) {
+            context.response().putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + contentProps.size());
             if (!context.request().isEnded()) {
               context.request().resume();
             }
             context.fail(REQUESTED_RANGE_NOT_SATISFIABLE.code());
             return;
           }
+          if (ranges.size() == 1) {
+            offset = ranges.get(0)[0];
+            end = ranges.get(0)[1];
+            ranges = null;
+          } else if (request.method() == HttpMethod.HEAD) {
+            ranges = null;
+          }
         }
       }
 
@@ -429,17 +853,42 @@ public class StaticHandlerImpl implements StaticHandler {
       headers = response.headers();
       headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
       // send the content length even for HEAD requests
-      headers.set(HttpHeaders.CONTENT_LENGTH, Long.toString(end + 1 - (offset == null ? 0 : offset)));
+      if (ranges == null) {
+        headers.set(HttpHeaders.CONTENT_LENGTH, Long.toString(end + 1 - (offset == null ? 0 : offset)));
+      }
     }
 
     writeCacheHeaders(request, fileProps);
 
+    if (precompressed != null) {
+      response.putHeader(HttpHeaders.CONTENT_ENCODING, precompressed.encoding);
+    }
+    if (!precompressedEncodings.isEmpty()) {
+      // the representation depends on the accepted encodings, even when the file itself is sent
+      Utils.addToMapIfAbsent(response.headers(), HttpHeaders.VARY, "accept-encoding");
+    }
+
     if (request.method() == HttpMethod.HEAD) {
       response.end();
     } else {
-      if (rangeSupport && offset != null) {
+      if (ranges != null) {
+        response.setStatusCode(PARTIAL_CONTENT.code());
+        // guess content type
+        String contentType = MimeMapping.getMimeTypeForFilename(file);
+        if (contentType != null && contentType.startsWith("text")) {
+          contentType = contentType + ";charset=" + defaultContentEncoding;
+        }
+
+        sendRanges(response, fileSystem, contentFile, contentProps, ranges, contentType)
+          .onFailure(err -> {
+            if (!context.request().isEnded()) {
+              context.request().resume();
+            }
+            context.fail(err);
+          });
+      } else if (rangeSupport && offset != null) {
         // must return content range
-        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + fileProps.size());
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + contentProps.size());
         // return a partial response
         response.setStatusCode(PARTIAL_CONTENT.code());
 
@@ -455,7 +904,7 @@ public class StaticHandlerImpl implements StaticHandler {
           }
         }
 
-        response.sendFile(file, finalOffset, finalLength)
+        sendContent(response, fileSystem, contentFile, contentProps, finalOffset, finalLength)
           .onFailure(err -> {
             if (!context.request().isEnded()) {
               context.request().resume();
@@ -466,7 +915,7 @@ public class StaticHandlerImpl implements StaticHandler {
         // guess content type
         String extension = getFileExtension(file);
         String contentType = MimeMapping.getMimeTypeForExtension(extension);
-        if (compressedMediaTypes.contains(contentType) || compressedFileSuffixes.contains(extension)) {
+        if (precompressed == null && (compressedMediaTypes.contains(contentType) || compressedFileSuffixes.contains(extension))) {
           response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
         }
         if (contentType != null) {
@@ -521,7 +970,7 @@ public class StaticHandlerImpl implements StaticHandler {
           response.putHeader("Link", links);
         }
 
-        response.sendFile(file)
+        sendContent(response, fileSystem, contentFile, contentProps, 0, -1)
           .onFailure(err -> {
             if (!context.request().isEnded()) {
               context.request().resume();
@@ -532,9 +981,39 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
+  /**
+   * Send the file content, from memory when the file is small enough to be kept in the content cache.
+   *
+   * @param length the number of bytes to send, {@code -1} to send the whole file
+   */
+  private Future<Void> sendContent(HttpServerResponse response, FileSystem fileSystem, String file, FileProps fileProps, long offset, long length) {
+    if (contentCache.accepts(fileProps)) {
+      final Buffer content = contentCache.get(file, fileProps);
+      if (content != null) {
+        return response.end(slice(content, offset, length));
+      }
+      return fileSystem.readFile(file)
+        .compose(buffer -> response.end(slice(contentCache.put(file, fileProps, buffer), offset, length)));
+    }
+
+    if (length == -1) {
+      return response.sendFile(file);
+    }
+    return response.sendFile(file, offset, length);
+  }
+
+  private static Buffer slice(Buffer content, long offset, long length) {
+    if (offset == 0 && (length == -1 || length == content.length())) {
+      return content;
+    }
+    final int end = length == -1 ? content.length() : (int) Math.min(content.length(), offset + length);
+    return content.slice((int) offset, end);
+  }
+
   @Override
   public StaticHandler setFilesReadOnly(boolean readOnly) {
-    this.filesReadOnly = readOnly;
+    cache.setFilesReadOnly(readOnly);
+    contentCache.setFilesReadOnly(readOnly);
     return this;
   }
 
@@ -578,6 +1057,15 @@ public class StaticHandlerImpl implements StaticHandler {
     return this;
   }
 
+  @Override
+  public StaticHandler setMaxRanges(int maxRanges) {
+    if (maxRanges < 1) {
+      throw new IllegalArgumentException("maxRanges must be >= 1");
+    }
+    this.maxRanges = maxRanges;
+    return this;
+  }
+
   @Override
   public StaticHandler setIncludeHidden(boolean includeHidden) {
     this.includeHidden = includeHidden;
@@ -587,6 +1075,7 @@ public class StaticHandlerImpl implements StaticHandler {
   @Override
   public StaticHandler setCacheEntryTimeout(long timeout) {
     cache.setCacheEntryTimeout(timeout);
+    contentCache.setCacheEntryTimeout(timeout);
     return this;
   }
 
@@ -631,6 +1120,30 @@ public class StaticHandlerImpl implements StaticHandler {
     return this;
   }
 
+  @Override
+  public StaticHandler setEnableETag(boolean enableETag) {
+    this.etag = enableETag;
+    return this;
+  }
+
+  @Override
+  public StaticHandler setEnableStrongETag(boolean enableStrongETag) {
+    this.strongETag = enableStrongETag;
+    return this;
+  }
+
+  @Override
+  public StaticHandler setPrecompressedEncodings(List<String> encodings) {
+    Objects.requireNonNull(encodings);
+    for (String encoding : encodings) {
+      if (!PRECOMPRESSED_SUFFIXES.containsKey(encoding)) {
+        throw new IllegalArgumentException("Unsupported precompressed encoding: " + encoding);
+      }
+    }
+    this.precompressedEncodings = new ArrayList<>(encodings);
+    return this;
+  }
+
   @Override
   public synchronized StaticHandler setEnableFSTuning(boolean enableFSTuning) {
     tune.setEnabled(enableFSTuning);
@@ -655,6 +1168,18 @@ public class StaticHandlerImpl implements StaticHandler {
     return this;
   }
 
+  @Override
+  public StaticHandler setContentCacheMaxBytes(long maxBytes) {
+    contentCache.setMaxBytes(maxBytes);
+    return this;
+  }
+
+  @Override
+  public StaticHandler setContentCacheMaxFileSize(long maxFileSize) {
+    contentCache.setMaxFileSize(maxFileSize);
+    return this;
+  }
+
   private String getFile(String path, RoutingContext context) {
     String file = webRoot + Utils.pathOffset(path, context);
     if (LOG.isTraceEnabled()) {
@@ -795,19 +1320,23 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
-  private static final class CacheEntry {
-    final long createDate = System.currentTimeMillis();
-
+  private static final class PrecompressedFile {
+    final String encoding;
+    final String file;
     final FileProps props;
-    final long cacheEntryTimeout;
 
-    private CacheEntry(FileProps props, long cacheEntryTimeout) {
+    private PrecompressedFile(String encoding, String file, FileProps props) {
+      this.encoding = encoding;
+      this.file = file;
       this.props = props;
-      this.cacheEntryTimeout = cacheEntryTimeout;
     }
+  }
+
+  private static final class CacheEntry {
+    final FileProps props;
 
-    boolean isOutOfDate() {
-      return System.currentTimeMillis() - createDate > cacheEntryTimeout;
+    private CacheEntry(FileProps props) {
+      this.props = props;
     }
 
     public boolean isMissing() {
@@ -879,10 +1408,26 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
+  private static final class ETagEntry {
+    final String etag;
+    final long lastModifiedTime;
+    final long size;
+
+    private ETagEntry(String etag, long lastModifiedTime, long size) {
+      this.etag = etag;
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+    }
+  }
+
   private static class FSPropsCache {
-    private Map<String, CacheEntry> propsCache;
+    private volatile ConcurrentLRUCache<String, CacheEntry> propsCache;
+    // the props entries are replaced on every lookup of the file system, the etags are kept as long as the file is
+    // unchanged
+    private volatile ConcurrentLRUCache<String, ETagEntry> etagCache;
     private long cacheEntryTimeout = DEFAULT_CACHE_ENTRY_TIMEOUT;
     private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+    private boolean filesReadOnly = DEFAULT_FILES_READ_ONLY;
 
     FSPropsCache() {
       setEnabled(DEFAULT_CACHING_ENABLED);
@@ -911,29 +1456,47 @@ public class StaticHandlerImpl implements StaticHandler {
       if (force || enable != enabled()) {
         if (propsCache != null) {
           propsCache.clear();
+          etagCache.clear();
         }
         if (enable) {
-          propsCache = new LRUCache<>(maxCacheSize);
+          // read only files never go out of date
+          propsCache = new ConcurrentLRUCache<>(maxCacheSize, filesReadOnly ? 0 : cacheEntryTimeout);
+          etagCache = new ConcurrentLRUCache<>(maxCacheSize, filesReadOnly ? 0 : cacheEntryTimeout);
         } else {
           propsCache = null;
+          etagCache = null;
         }
       }
     }
 
-    void setCacheEntryTimeout(long timeout) {
+    synchronized void setCacheEntryTimeout(long timeout) {
       if (timeout < 1) {
         throw new IllegalArgumentException("timeout must be >= 1");
       }
-      this.cacheEntryTimeout = timeout;
+      if (this.cacheEntryTimeout != timeout) {
+        this.cacheEntryTimeout = timeout;
+        // force the creation of the cache with the correct expiration
+        setEnabled(enabled(), true);
+      }
+    }
+
+    synchronized void setFilesReadOnly(boolean filesReadOnly) {
+      if (this.filesReadOnly != filesReadOnly) {
+        this.filesReadOnly = filesReadOnly;
+        // force the creation of the cache with the correct expiration
+        setEnabled(enabled(), true);
+      }
     }
 
     private void remove(String path) {
+      final ConcurrentLRUCache<String, CacheEntry> propsCache = this.propsCache;
       if (propsCache != null) {
         propsCache.remove(path);
       }
     }
 
     CacheEntry get(String key) {
+      final ConcurrentLRUCache<String, CacheEntry> propsCache = this.propsCache;
       if (propsCache != null) {
         return propsCache.get(key);
       }
@@ -942,10 +1505,136 @@ public class StaticHandlerImpl implements StaticHandler {
     }
 
     void put(String path, FileProps props) {
+      final ConcurrentLRUCache<String, CacheEntry> propsCache = this.propsCache;
       if (propsCache != null) {
-        CacheEntry now = new CacheEntry(props, cacheEntryTimeout);
-        propsCache.put(path, now);
+        propsCache.put(path, new CacheEntry(props));
+      }
+    }
+
+    /**
+     * @return the etag computed for these props, or {@code null}.
+     */
+    String getETag(String path, FileProps props) {
+      final ConcurrentLRUCache<String, ETagEntry> etagCache = this.etagCache;
+      if (etagCache != null) {
+        final ETagEntry entry = etagCache.get(path);
+        if (entry != null && entry.lastModifiedTime == props.lastModifiedTime() && entry.size == props.size()) {
+          return entry.etag;
+        }
+      }
+      return null;
+    }
+
+    void putETag(String path, FileProps props, String etag) {
+      final ConcurrentLRUCache<String, ETagEntry> etagCache = this.etagCache;
+      if (etagCache != null) {
+        etagCache.put(path, new ETagEntry(etag, props.lastModifiedTime(), props.size()));
+      }
+    }
+  }
+
+  private static final class ContentEntry {
+    final Buffer content;
+    final long lastModifiedTime;
+
+    private ContentEntry(Buffer content, long lastModifiedTime) {
+      this.content = content;
+      this.lastModifiedTime = lastModifiedTime;
+    }
+  }
+
+  private static class FSContentCache {
+    private volatile ConcurrentLRUCache<String, ContentEntry> contentCache;
+    private long maxBytes = DEFAULT_CONTENT_CACHE_MAX_BYTES;
+    private volatile long maxFileSize = DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE;
+    private long cacheEntryTimeout = DEFAULT_CACHE_ENTRY_TIMEOUT;
+    private boolean filesReadOnly = DEFAULT_FILES_READ_ONLY;
+
+    boolean accepts(FileProps props) {
+      return contentCache != null && props.size() <= maxFileSize;
+    }
+
+    synchronized void setMaxBytes(long maxBytes) {
+      if (maxBytes < 0) {
+        throw new IllegalArgumentException("maxBytes must be >= 0");
       }
+      if (this.maxBytes != maxBytes) {
+        this.maxBytes = maxBytes;
+        reset();
+      }
+    }
+
+    synchronized void setMaxFileSize(long maxFileSize) {
+      if (maxFileSize < 1) {
+        throw new IllegalArgumentException("maxFileSize must be >= 1");
+      }
+      if (this.maxFileSize != maxFileSize) {
+        this.maxFileSize = maxFileSize;
+        // the segments of the cache are sized after the max file size
+        reset();
+      }
+    }
+
+    synchronized void setCacheEntryTimeout(long timeout) {
+      if (this.cacheEntryTimeout != timeout) {
+        this.cacheEntryTimeout = timeout;
+        reset();
+      }
+    }
+
+    synchronized void setFilesReadOnly(boolean filesReadOnly) {
+      if (this.filesReadOnly != filesReadOnly) {
+        this.filesReadOnly = filesReadOnly;
+        reset();
+      }
+    }
+
+    private void reset() {
+      if (contentCache != null) {
+        contentCache.clear();
+      }
+      if (maxBytes > 0) {
+        // read only files never go out of date
+        contentCache = new ConcurrentLRUCache<>(maxBytes, Math.min(maxBytes, maxFileSize), filesReadOnly ? 0 : cacheEntryTimeout, entry -> entry.content.length());
+      } else {
+        contentCache = null;
+      }
+    }
+
+    /**
+     * @return the cached content, or {@code null} when missing or when the file changed since it was cached.
+     */
+    Buffer get(String file, FileProps props) {
+      final ConcurrentLRUCache<String, ContentEntry> contentCache = this.contentCache;
+      if (contentCache != null) {
+        final ContentEntry entry = contentCache.get(file);
+        if (entry != null && entry.lastModifiedTime == props.lastModifiedTime() && entry.content.length() == props.size()) {
+          return entry.content;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * @return the content to send, which is the cached copy when the content could be cached.
+     */
+    Buffer put(String file, FileProps props, Buffer buffer) {
+      final ConcurrentLRUCache<String, ContentEntry> contentCache = this.contentCache;
+      // the file may have changed after the props were read, in that case the content is not cached
+      if (contentCache != null && buffer.length() == props.size()) {
+        final Buffer content = direct(buffer);
+        contentCache.put(file, new ContentEntry(content, props.lastModifiedTime()));
+        return content;
+      }
+      return buffer;
+    }
+
+    private static Buffer direct(Buffer buffer) {
+      // off heap, so the content is written without copying, the memory is reclaimed by the GC once evicted
+      final ByteBuffer direct = ByteBuffer.allocateDirect(buffer.length());
+      direct.put(buffer.getByteBuf().nioBuffer());
+      direct.flip();
+      return Buffer.buffer(Unpooled.wrappedBuffer(direct));
     }
   }
 }
@@ -15,8 +15,13 @@
  */
 package io.vertx.ext.web.handler.impl;
 
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.LanguageHeader;
 import io.vertx.ext.web.handler.TemplateHandler;
 import io.vertx.ext.web.impl.Utils;
@@ -71,22 +76,82 @@ public class TemplateHandlerImpl implements TemplateHandler {
     if (!context.request().isEnded()) {
       context.request().pause();
     }
-    // render using the engine
-    engine.render(context.data(), templateDirectory + file)
-      .onSuccess(data -> {
+    final HttpServerResponse response = context.response();
+    response.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
+    // render using the engine, streaming engines send the page while it is rendered
+    engine.render(context.data(), templateDirectory + file, new ResponseStream(response))
+      .onSuccess(v -> {
         if (!context.request().isEnded()) {
           context.request().resume();
         }
-        context.response().putHeader(HttpHeaders.CONTENT_TYPE, contentType).end(data);
       })
       .onFailure(err -> {
         if (!context.request().isEnded()) {
           context.request().resume();
         }
-        context.fail(err);
+        if (response.headWritten()) {
+          // part of the page was already sent, the client must not take it as complete
+          response.reset();
+        } else {
+          response.headers().remove(HttpHeaders.CONTENT_TYPE);
+          context.fail(err);
+        }
     });
   }
 
+  /**
+   * Sends the page with a content length when it is written at once, and chunked when written in several parts.
+   */
+  private static class ResponseStream implements WriteStream<Buffer> {
+
+    private final HttpServerResponse response;
+
+    ResponseStream(HttpServerResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      response.exceptionHandler(handler);
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      if (!response.headWritten()) {
+        response.setChunked(true);
+      }
+      return response.write(data);
+    }
+
+    @Override
+    public Future<Void> end(Buffer data) {
+      return response.end(data);
+    }
+
+    @Override
+    public Future<Void> end() {
+      return response.end();
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      response.setWriteQueueMaxSize(maxSize);
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return response.writeQueueFull();
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      response.drainHandler(handler);
+      return this;
+    }
+  }
+
   @Override
   public TemplateHandler setIndexTemplate(String indexTemplate) {
     this.indexTemplate = indexTemplate;
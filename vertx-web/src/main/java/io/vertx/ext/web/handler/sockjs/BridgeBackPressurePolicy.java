@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * What the event bus bridge does with the messages for a socket whose write queue is full, when coalescing is enabled.
+ *
+ * @see SockJSBridgeOptions#setCoalescingWindow(long)
+ */
+@VertxGen
+public enum BridgeBackPressurePolicy {
+
+  /**
+   * Keep the messages until the socket drains, up to {@link SockJSBridgeOptions#getMaxParkedMessages()} messages, the
+   * messages beyond are dropped.
+   */
+  PARK,
+
+  /**
+   * Drop the messages.
+   */
+  DROP
+}
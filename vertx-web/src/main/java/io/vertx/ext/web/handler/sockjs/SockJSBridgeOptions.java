@@ -51,10 +51,34 @@ public class SockJSBridgeOptions extends BridgeOptions {
    */
   public static final long DEFAULT_REPLY_TIMEOUT = 30 * 1000;
 
+  /**
+   * Default value for coalescing window = 0 ms, messages are not coalesced
+   */
+  public static final long DEFAULT_COALESCING_WINDOW = 0;
+
+  /**
+   * Default value for coalescing max messages = 100
+   */
+  public static final int DEFAULT_COALESCING_MAX_MESSAGES = 100;
+
+  /**
+   * Default value for back pressure policy = PARK
+   */
+  public static final BridgeBackPressurePolicy DEFAULT_BACK_PRESSURE_POLICY = BridgeBackPressurePolicy.PARK;
+
+  /**
+   * Default value for max parked messages = 1000
+   */
+  public static final int DEFAULT_MAX_PARKED_MESSAGES = 1000;
+
   private int maxAddressLength;
   private int maxHandlersPerSocket;
   private long pingTimeout;
   private long replyTimeout;
+  private long coalescingWindow;
+  private int coalescingMaxMessages;
+  private BridgeBackPressurePolicy backPressurePolicy;
+  private int maxParkedMessages;
 
   /**
    * Copy constructor
@@ -67,6 +91,10 @@ public class SockJSBridgeOptions extends BridgeOptions {
     this.maxHandlersPerSocket = other.maxHandlersPerSocket;
     this.pingTimeout = other.pingTimeout;
     this.replyTimeout = other.replyTimeout;
+    this.coalescingWindow = other.coalescingWindow;
+    this.coalescingMaxMessages = other.coalescingMaxMessages;
+    this.backPressurePolicy = other.backPressurePolicy;
+    this.maxParkedMessages = other.maxParkedMessages;
   }
 
   /**
@@ -78,6 +106,10 @@ public class SockJSBridgeOptions extends BridgeOptions {
     this.maxHandlersPerSocket = DEFAULT_MAX_HANDLERS_PER_SOCKET;
     this.pingTimeout = DEFAULT_PING_TIMEOUT;
     this.replyTimeout = DEFAULT_REPLY_TIMEOUT;
+    this.coalescingWindow = DEFAULT_COALESCING_WINDOW;
+    this.coalescingMaxMessages = DEFAULT_COALESCING_MAX_MESSAGES;
+    this.backPressurePolicy = DEFAULT_BACK_PRESSURE_POLICY;
+    this.maxParkedMessages = DEFAULT_MAX_PARKED_MESSAGES;
   }
 
   /**
@@ -139,6 +171,82 @@ public class SockJSBridgeOptions extends BridgeOptions {
     return this;
   }
 
+  public long getCoalescingWindow() {
+    return coalescingWindow;
+  }
+
+  /**
+   * Set the time in ms during which the messages delivered to a socket are gathered and sent together, in a single
+   * SockJS frame. The messages are sent earlier when {@link #setCoalescingMaxMessages(int)} messages are gathered.
+   * <p>
+   * {@code 0}, the default, disables coalescing: each message is sent on its own.
+   *
+   * @param coalescingWindow the window in ms
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SockJSBridgeOptions setCoalescingWindow(long coalescingWindow) {
+    if (coalescingWindow < 0) {
+      throw new IllegalArgumentException("coalescingWindow must be >= 0");
+    }
+    this.coalescingWindow = coalescingWindow;
+    return this;
+  }
+
+  public int getCoalescingMaxMessages() {
+    return coalescingMaxMessages;
+  }
+
+  /**
+   * Set the max number of messages sent together when coalescing.
+   *
+   * @param coalescingMaxMessages the max number of messages
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SockJSBridgeOptions setCoalescingMaxMessages(int coalescingMaxMessages) {
+    if (coalescingMaxMessages < 1) {
+      throw new IllegalArgumentException("coalescingMaxMessages must be > 0");
+    }
+    this.coalescingMaxMessages = coalescingMaxMessages;
+    return this;
+  }
+
+  public BridgeBackPressurePolicy getBackPressurePolicy() {
+    return backPressurePolicy;
+  }
+
+  /**
+   * Set what to do with the messages for a socket whose write queue is full, when coalescing.
+   *
+   * @param backPressurePolicy the policy
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SockJSBridgeOptions setBackPressurePolicy(BridgeBackPressurePolicy backPressurePolicy) {
+    if (backPressurePolicy == null) {
+      throw new IllegalArgumentException("backPressurePolicy must not be null");
+    }
+    this.backPressurePolicy = backPressurePolicy;
+    return this;
+  }
+
+  public int getMaxParkedMessages() {
+    return maxParkedMessages;
+  }
+
+  /**
+   * Set the max number of messages kept for a socket whose write queue is full, with the
+   * {@link BridgeBackPressurePolicy#PARK} policy.
+   *
+   * @param maxParkedMessages the max number of messages
+   * @return a reference to this, so the API can be used fluently
+   */
+  public SockJSBridgeOptions setMaxParkedMessages(int maxParkedMessages) {
+    if (maxParkedMessages < 1) {
+      throw new IllegalArgumentException("maxParkedMessages must be > 0");
+    }
+    this.maxParkedMessages = maxParkedMessages;
+    return this;
+  }
+
   @Override
   public SockJSBridgeOptions addInboundPermitted(PermittedOptions permitted) {
     super.addInboundPermitted(permitted);
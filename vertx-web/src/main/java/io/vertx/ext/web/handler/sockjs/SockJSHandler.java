@@ -17,10 +17,12 @@
 package io.vertx.ext.web.handler.sockjs;
 
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.sockjs.impl.SessionWheel;
 import io.vertx.ext.web.handler.sockjs.impl.SockJSImpl;
 
 /**
@@ -57,6 +59,29 @@ public interface SockJSHandler {
     return new SockJSImpl(vertx, options);
   }
 
+  /**
+   * Get the number of SockJS sessions open on the event loop of a context. The sessions of an event loop share the
+   * timer driving their heartbeats and timeouts.
+   *
+   * @param vertx  the Vert.x instance
+   * @param context  a context of the event loop
+   * @return the number of sessions
+   */
+  static int activeSessions(Vertx vertx, Context context) {
+    return SessionWheel.get(vertx, context).activeSessions();
+  }
+
+  /**
+   * Get the number of heartbeats sent by the SockJS sessions of the event loop of a context.
+   *
+   * @param vertx  the Vert.x instance
+   * @param context  a context of the event loop
+   * @return the number of heartbeats
+   */
+  static long heartbeats(Vertx vertx, Context context) {
+    return SessionWheel.get(vertx, context).heartbeats();
+  }
+
   /**
    * Set a SockJS socket handler. This handler will be called with a SockJS socket whenever a SockJS connection
    * is made from a client
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.bridge.PermittedOptions;
+import io.vertx.ext.web.impl.ConcurrentLRUCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * The permitted options of a bridge direction, compiled for matching.
+ * <p>
+ * Empty permitted options means reject everything - this is the default. If at least one option is supplied and all
+ * the fields of any option match then the message is permitted, this means that specifying one option with a JSON empty
+ * object means everything is accepted. The options are tried in order, the first matching option decides the required
+ * authority.
+ * <p>
+ * The options with an address are indexed by address, the ones with an address regex are indexed by the literal prefix
+ * of their regex. The options whose address matches a given address are cached by address, so for an address seen
+ * before only the structure of the body is checked. The structure of the {@code match} objects is compiled once.
+ * <p>
+ * This class is thread-safe. The options are compiled when the instance is created, later changes are ignored.
+ */
+public class BridgePermissions {
+
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
+  static final Match MATCH = new Match(true, null);
+  static final Match NO_MATCH = new Match(false, null);
+  private static final Rule[] NO_RULES = new Rule[0];
+
+  private final Map<String, List<Rule>> byAddress = new HashMap<>();
+  private final PrefixNode patterns = new PrefixNode();
+  private final ConcurrentLRUCache<String, Rule[]> cache;
+
+  public BridgePermissions(List<PermittedOptions> permitted) {
+    this(permitted, DEFAULT_CACHE_SIZE);
+  }
+
+  public BridgePermissions(List<PermittedOptions> permitted, int cacheSize) {
+    if (permitted != null) {
+      for (int i = 0; i < permitted.size(); i++) {
+        PermittedOptions options = permitted.get(i);
+        Rule rule = new Rule(i, options);
+        if (options.getAddress() != null) {
+          byAddress.computeIfAbsent(options.getAddress(), k -> new ArrayList<>(1)).add(rule);
+        } else if (options.getAddressRegex() != null) {
+          patterns.add(literalPrefix(options.getAddressRegex()), rule);
+        } else {
+          // matches any address
+          patterns.add("", rule);
+        }
+      }
+    }
+    cache = new ConcurrentLRUCache<>(cacheSize);
+  }
+
+  /**
+   * Check a message against the options.
+   *
+   * @param address the address of the message
+   * @param body the body of the message, or {@code null} to only check the address
+   * @return the match
+   */
+  public Match match(String address, Object body) {
+    for (Rule rule : rules(address)) {
+      if (rule.structure == null || rule.structure.matches(body)) {
+        return rule.match;
+      }
+    }
+    return NO_MATCH;
+  }
+
+  /**
+   * @return the options whose address matches, in order
+   */
+  private Rule[] rules(String address) {
+    Rule[] rules = cache.get(address);
+    if (rules == null) {
+      List<Rule> candidates = new ArrayList<>();
+      List<Rule> exact = byAddress.get(address);
+      if (exact != null) {
+        candidates.addAll(exact);
+      }
+      patterns.collect(address, candidates);
+      if (candidates.isEmpty()) {
+        rules = NO_RULES;
+      } else {
+        rules = candidates.toArray(NO_RULES);
+        if (rules.length > 1) {
+          Arrays.sort(rules, Comparator.comparingInt(rule -> rule.index));
+        }
+      }
+      cache.put(address, rules);
+    }
+    return rules;
+  }
+
+  /**
+   * @return the literal characters a string matching the regex starts with, possibly empty
+   */
+  static String literalPrefix(String regex) {
+    if (regex.indexOf('|') != -1) {
+      // an alternative may start with anything
+      return "";
+    }
+    StringBuilder prefix = new StringBuilder();
+    for (int i = 0; i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '\\' && i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+        // escaped punctuation, e.g. \.
+        c = regex.charAt(++i);
+      } else if (".[](){}*+?^$\\".indexOf(c) != -1) {
+        if ((c == '*' || c == '?' || c == '{') && prefix.length() > 0) {
+          // the previous character is optional
+          prefix.setLength(prefix.length() - 1);
+        }
+        break;
+      }
+      prefix.append(c);
+    }
+    return prefix.toString();
+  }
+
+  /**
+   * The result of a match.
+   */
+  public static final class Match {
+
+    public final boolean doesMatch;
+    public final Authorization requiredAuthority;
+
+    private Match(boolean doesMatch, String requiredAuthority) {
+      this.doesMatch = doesMatch;
+      this.requiredAuthority = requiredAuthority == null ? null : PermissionBasedAuthorization.create(requiredAuthority);
+    }
+  }
+
+  private static final class Rule {
+
+    private final int index;
+    private final Pattern pattern;
+    private final StructureMatcher structure;
+    private final Match match;
+
+    private Rule(int index, PermittedOptions options) {
+      this.index = index;
+      this.pattern = options.getAddress() == null && options.getAddressRegex() != null ? Pattern.compile(options.getAddressRegex()) : null;
+      this.structure = options.getMatch() == null ? null : new StructureMatcher(options.getMatch());
+      this.match = new Match(true, options.getRequiredAuthority());
+    }
+  }
+
+  /**
+   * A trie of the regex options by literal prefix, an address is only matched against the regexes whose prefix it
+   * starts with.
+   */
+  private static final class PrefixNode {
+
+    private final Map<Character, PrefixNode> children = new HashMap<>();
+    private final List<Rule> rules = new ArrayList<>();
+
+    void add(String prefix, Rule rule) {
+      PrefixNode node = this;
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNode());
+      }
+      node.rules.add(rule);
+    }
+
+    void collect(String address, List<Rule> result) {
+      PrefixNode node = this;
+      int i = 0;
+      while (node != null) {
+        for (Rule rule : node.rules) {
+          if (rule.pattern == null || rule.pattern.matcher(address).matches()) {
+            result.add(rule);
+          }
+        }
+        node = i < address.length() ? node.children.get(address.charAt(i++)) : null;
+      }
+    }
+  }
+
+  /**
+   * A compiled {@code match} object: a body matches when each field has the expected value, the nested objects are
+   * matched recursively.
+   */
+  private static final class StructureMatcher {
+
+    private final String[] fields;
+    private final Object[] values;
+    private final StructureMatcher[] nested;
+
+    private StructureMatcher(JsonObject match) {
+      int size = match.size();
+      fields = new String[size];
+      values = new Object[size];
+      nested = new StructureMatcher[size];
+      int i = 0;
+      for (String field : match.fieldNames()) {
+        Object value = match.getValue(field);
+        fields[i] = field;
+        if (value instanceof JsonObject) {
+          nested[i] = new StructureMatcher((JsonObject) value);
+        } else {
+          values[i] = value;
+        }
+        i++;
+      }
+    }
+
+    boolean matches(Object bodyObject) {
+      if (bodyObject == null) {
+        return true;
+      }
+      // Can send message other than JSON too - in which case we can't do deep matching on structure of message
+      if (!(bodyObject instanceof JsonObject)) {
+        return false;
+      }
+      JsonObject body = (JsonObject) bodyObject;
+      for (int i = 0; i < fields.length; i++) {
+        Object value = body.getValue(fields[i]);
+        if (nested[i] != null ? !nested[i].matches(value) : !Objects.equals(values[i], value)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
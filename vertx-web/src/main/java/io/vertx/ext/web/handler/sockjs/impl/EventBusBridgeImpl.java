@@ -41,21 +41,17 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.ext.auth.User;
-import io.vertx.ext.auth.authorization.Authorization;
 import io.vertx.ext.auth.authorization.AuthorizationProvider;
-import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
 import io.vertx.ext.bridge.BridgeEventType;
-import io.vertx.ext.bridge.PermittedOptions;
 import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.sockjs.*;
+import io.vertx.ext.web.handler.sockjs.impl.BridgePermissions.Match;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static io.vertx.core.buffer.Buffer.buffer;
 
@@ -67,16 +63,19 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
   private static final Logger LOG = LoggerFactory.getLogger(EventBusBridgeImpl.class);
 
   private final Map<SockJSSocket, SockInfo> sockInfos = new HashMap<>();
-  private final List<PermittedOptions> inboundPermitted;
-  private final List<PermittedOptions> outboundPermitted;
+  private final BridgePermissions inboundPermitted;
+  private final BridgePermissions outboundPermitted;
   private final int maxAddressLength;
   private final int maxHandlersPerSocket;
   private final long pingTimeout;
   private final long replyTimeout;
+  private final long coalescingWindow;
+  private final int coalescingMaxMessages;
+  private final BridgeBackPressurePolicy backPressurePolicy;
+  private final int maxParkedMessages;
   private final Vertx vertx;
   private final EventBus eb;
   private final Map<String, Message<?>> messagesAwaitingReply = new HashMap<>();
-  private final Map<String, Pattern> compiledREs = new HashMap<>();
   private final Handler<BridgeEvent> bridgeEventHandler;
   private final AuthorizationProvider authzProvider;
 
@@ -84,12 +83,16 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     this.vertx = vertx;
     this.eb = vertx.eventBus();
     this.authzProvider = authzProvider;
-    this.inboundPermitted = options.getInboundPermitteds() == null ? new ArrayList<>() : options.getInboundPermitteds();
-    this.outboundPermitted = options.getOutboundPermitteds() == null ? new ArrayList<>() : options.getOutboundPermitteds();
+    this.inboundPermitted = new BridgePermissions(options.getInboundPermitteds());
+    this.outboundPermitted = new BridgePermissions(options.getOutboundPermitteds());
     this.maxAddressLength = options.getMaxAddressLength();
     this.maxHandlersPerSocket = options.getMaxHandlersPerSocket();
     this.pingTimeout = options.getPingTimeout();
     this.replyTimeout = options.getReplyTimeout();
+    this.coalescingWindow = options.getCoalescingWindow();
+    this.coalescingMaxMessages = options.getCoalescingMaxMessages();
+    this.backPressurePolicy = options.getBackPressurePolicy();
+    this.maxParkedMessages = options.getMaxParkedMessages();
     this.bridgeEventHandler = bridgeEventHandler;
   }
 
@@ -370,6 +373,10 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
       if (pingInfo != null) {
         vertx.cancelTimer(pingInfo.timerID);
       }
+      if (info.flushTimerID != -1) {
+        vertx.cancelTimer(info.flushTimerID);
+      }
+      info.outbound.clear();
     }
   }
 
@@ -407,10 +414,63 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
       envelope.put("headers", headersCopy);
     }
     checkCallHook(() -> new BridgeEventImpl(BridgeEventType.RECEIVE, envelope, sock),
-      () -> sock.write(buffer(envelope.encode())),
+      () -> send(sock, envelope),
       () -> LOG.debug("outbound message rejected by bridge event handler"));
   }
 
+  private void send(SockJSSocket sock, JsonObject envelope) {
+    SockInfo info = coalescingWindow > 0 ? sockInfos.get(sock) : null;
+    if (info == null) {
+      sock.write(buffer(envelope.encode()));
+      return;
+    }
+    // the parked limit only bounds the messages kept while waiting for a drain, not the coalesced batch
+    if ((info.parked && info.outbound.size() >= maxParkedMessages) || (backPressurePolicy == BridgeBackPressurePolicy.DROP && sock.writeQueueFull())) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Outbound message dropped because the socket write queue is full");
+      }
+      return;
+    }
+    info.outbound.add(buffer(envelope.encode()));
+    if (info.outbound.size() >= coalescingMaxMessages) {
+      flush(sock, info);
+    } else if (info.flushTimerID == -1 && !info.parked) {
+      info.flushTimerID = vertx.setTimer(coalescingWindow, id -> {
+        info.flushTimerID = -1;
+        flush(sock, info);
+      });
+    }
+  }
+
+  // Send the gathered messages, in a single frame when the socket is a SockJS session
+  private void flush(SockJSSocket sock, SockInfo info) {
+    if (info.flushTimerID != -1) {
+      vertx.cancelTimer(info.flushTimerID);
+      info.flushTimerID = -1;
+    }
+    if (info.outbound.isEmpty() || info.parked) {
+      return;
+    }
+    if (backPressurePolicy == BridgeBackPressurePolicy.PARK && sock.writeQueueFull()) {
+      // keep the messages until the socket drains
+      info.parked = true;
+      sock.drainHandler(v -> {
+        info.parked = false;
+        flush(sock, info);
+      });
+      return;
+    }
+    List<Buffer> messages = info.outbound;
+    info.outbound = new ArrayList<>();
+    if (sock instanceof SockJSSession) {
+      ((SockJSSession) sock).write(messages);
+    } else {
+      for (Buffer message : messages) {
+        sock.write(message);
+      }
+    }
+  }
+
   private void doSendOrPub(boolean send, SockJSSocket sock, String address,
                            JsonObject message) {
     Object body = message.getValue("body");
@@ -430,7 +490,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     final Message<?> awaitingReply = messagesAwaitingReply.remove(address);
     Match curMatch;
     if (awaitingReply != null) {
-      curMatch = new Match(true);
+      curMatch = BridgePermissions.MATCH;
     } else {
       curMatch = checkMatches(true, address, body);
     }
@@ -566,40 +626,7 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
   this means that specifying one match with a JSON empty object means everything is accepted
    */
   private Match checkMatches(boolean inbound, String address, Object body) {
-
-    List<PermittedOptions> matches = inbound ? inboundPermitted : outboundPermitted;
-
-    for (PermittedOptions matchHolder : matches) {
-      String matchAddress = matchHolder.getAddress();
-      String matchRegex;
-      if (matchAddress == null) {
-        matchRegex = matchHolder.getAddressRegex();
-      } else {
-        matchRegex = null;
-      }
-
-      boolean addressOK;
-      if (matchAddress == null) {
-        addressOK = matchRegex == null || regexMatches(matchRegex, address);
-      } else {
-        addressOK = matchAddress.equals(address);
-      }
-
-      if (addressOK) {
-        boolean matched = structureMatches(matchHolder.getMatch(), body);
-        if (matched) {
-          String requiredAuthority = matchHolder.getRequiredAuthority();
-          return new Match(true, requiredAuthority);
-        }
-      }
-    }
-    return new Match(false);
-  }
-
-  private boolean regexMatches(String matchRegex, String address) {
-    Pattern pattern = compiledREs.computeIfAbsent(matchRegex, Pattern::compile);
-    Matcher m = pattern.matcher(address);
-    return m.matches();
+    return (inbound ? inboundPermitted : outboundPermitted).match(address, body);
   }
 
   private static void replyError(SockJSSocket sock, String err) {
@@ -607,46 +634,6 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
     sock.write(buffer(envelope.encode()));
   }
 
-  private static boolean structureMatches(JsonObject match, Object bodyObject) {
-    if (match == null || bodyObject == null) return true;
-
-    // Can send message other than JSON too - in which case we can't do deep matching on structure of message
-    if (bodyObject instanceof JsonObject) {
-      JsonObject body = (JsonObject) bodyObject;
-      for (String fieldName : match.fieldNames()) {
-        Object mv = match.getValue(fieldName);
-        Object bv = body.getValue(fieldName);
-        // Support deep matching
-        if (mv instanceof JsonObject) {
-          if (!structureMatches((JsonObject) mv, bv)) {
-            return false;
-          }
-        } else if (!match.getValue(fieldName).equals(body.getValue(fieldName))) {
-          return false;
-        }
-      }
-      return true;
-    }
-
-    return false;
-  }
-
-  private static class Match {
-    public final boolean doesMatch;
-    public final Authorization requiredAuthority;
-
-    Match(boolean doesMatch, String requiredAuthority) {
-      this.doesMatch = doesMatch;
-      this.requiredAuthority = requiredAuthority == null ? null : PermissionBasedAuthorization.create(requiredAuthority);
-    }
-
-    Match(boolean doesMatch) {
-      this.doesMatch = doesMatch;
-      this.requiredAuthority = null;
-    }
-
-  }
-
   private static final class PingInfo {
     long lastPing;
     long timerID;
@@ -655,5 +642,8 @@ public class EventBusBridgeImpl implements Handler<SockJSSocket> {
   private static final class SockInfo {
     int handlerCount;
     PingInfo pingInfo;
+    List<Buffer> outbound = new ArrayList<>();
+    long flushTimerID = -1;
+    boolean parked;
   }
 }
@@ -92,6 +92,11 @@ class EventSourceTransport extends BaseTransport {
 
     @Override
     public Future<Void> sendFrame(String body) {
+      return sendFrame(buffer(body));
+    }
+
+    @Override
+    public Future<Void> sendFrame(Buffer frame) {
       if (LOG.isTraceEnabled()) LOG.trace("EventSource, sending frame");
       if (!headersWritten) {
         // event stream data is always UTF8
@@ -103,10 +108,10 @@ class EventSourceTransport extends BaseTransport {
         rc.response().setChunked(true).write("\r\n");
         headersWritten = true;
       }
-      String sb = "data: " +
-        body +
-        "\r\n\r\n";
-      Buffer buff = buffer(sb);
+      Buffer buff = buffer(frame.length() + 10)
+        .appendString("data: ")
+        .appendBuffer(frame)
+        .appendString("\r\n\r\n");
       Future<Void> fut = rc.response().write(buff);
       bytesSent += buff.length();
       if (bytesSent >= maxBytesStreaming) {
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import com.fasterxml.jackson.core.io.CharTypes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Encodes the messages of a session as a SockJS array frame ({@code a["...","..."]}), straight from their UTF-8
+ * bytes to the bytes of the frame.
+ * <p>
+ * The escaping is the same as {@link JsonCodec}: ASCII characters use the JSON escapes, every other character is
+ * unicode escaped, so the frame is pure ASCII. ASCII bytes not needing an escape are copied as is, the other bytes are
+ * decoded and written as {@code \\uXXXX} escapes of their UTF-16 code units. Malformed sequences are encoded as
+ * {@code \\ufffd}, like when decoding them to a {@code String}.
+ */
+public class FrameEncoder {
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+  private static final int[] ESCAPE_CODES = CharTypes.get7BitOutputEscapes();
+  private static final int REPLACEMENT = 0xFFFD;
+
+  private FrameEncoder() {
+  }
+
+  /**
+   * Encode an array frame.
+   *
+   * @param messages the messages
+   * @param size the total size of the messages in bytes, used to size the frame
+   * @return the frame, the caller owns it and may append to it
+   */
+  public static Buffer encode(Collection<Buffer> messages, int size) {
+    // room for the separators and the trailing new line appended by some transports
+    ByteBuf frame = Unpooled.buffer(size + 3 * messages.size() + 4);
+    frame.writeByte('a');
+    frame.writeByte('[');
+    boolean first = true;
+    for (Buffer message : messages) {
+      if (first) {
+        first = false;
+      } else {
+        frame.writeByte(',');
+      }
+      frame.writeByte('"');
+      writeEscaped(frame, message);
+      frame.writeByte('"');
+    }
+    frame.writeByte(']');
+    return Buffer.buffer(frame);
+  }
+
+  private static void writeEscaped(ByteBuf frame, Buffer message) {
+    int len = message.length();
+    int i = 0;
+    while (i < len) {
+      int b = message.getByte(i);
+      if (b >= 0) {
+        // ASCII, use the escape table
+        int code = ESCAPE_CODES[b];
+        if (code == 0) {
+          frame.writeByte(b);
+        } else if (code == -1) {
+          writeUnicodeEscape(frame, b);
+        } else {
+          frame.writeByte('\\');
+          frame.writeByte(code);
+        }
+        i++;
+        continue;
+      }
+      int n;
+      int cp;
+      int min;
+      if ((b & 0xE0) == 0xC0) {
+        n = 1;
+        cp = b & 0x1F;
+        min = 0x80;
+      } else if ((b & 0xF0) == 0xE0) {
+        n = 2;
+        cp = b & 0x0F;
+        min = 0x800;
+      } else if ((b & 0xF8) == 0xF0) {
+        n = 3;
+        cp = b & 0x07;
+        min = 0x10000;
+      } else {
+        writeUnicodeEscape(frame, REPLACEMENT);
+        i++;
+        continue;
+      }
+      int j = 1;
+      while (j <= n && i + j < len) {
+        int c = message.getByte(i + j);
+        if ((c & 0xC0) != 0x80) {
+          break;
+        }
+        cp = (cp << 6) | (c & 0x3F);
+        j++;
+      }
+      if (j <= n || cp < min || cp > Character.MAX_CODE_POINT || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+        // truncated, overlong or invalid sequence
+        writeUnicodeEscape(frame, REPLACEMENT);
+      } else if (cp >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+        writeUnicodeEscape(frame, Character.highSurrogate(cp));
+        writeUnicodeEscape(frame, Character.lowSurrogate(cp));
+      } else {
+        writeUnicodeEscape(frame, cp);
+      }
+      i += j;
+    }
+  }
+
+  private static void writeUnicodeEscape(ByteBuf frame, int c) {
+    frame.writeByte('\\');
+    frame.writeByte('u');
+    frame.writeByte(HEX[(c >> 12) & 0xF]);
+    frame.writeByte(HEX[(c >> 8) & 0xF]);
+    frame.writeByte(HEX[(c >> 4) & 0xF]);
+    frame.writeByte(HEX[c & 0xF]);
+  }
+}
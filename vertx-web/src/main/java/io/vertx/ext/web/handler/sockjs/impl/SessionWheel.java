@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.netty.channel.EventLoop;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A timing wheel driving the heartbeats and the timeouts of the SockJS sessions of an event loop.
+ * <p>
+ * Instead of a Vert.x timer per heartbeat and per timeout, the sessions of an event loop share a single periodic
+ * task: on each tick the timeouts of the current slot are fired, the timeouts due in more than a revolution stay in
+ * their slot until their round comes. The wheel only ticks when timeouts are scheduled.
+ * <p>
+ * The wheel is confined to its event loop, timeouts can be scheduled and cancelled from any thread. The timeouts fire
+ * on the context of their session, a cancelled timeout never fires, even when the wheel already picked it up.
+ */
+public class SessionWheel {
+
+  public static final long DEFAULT_TICK = 100;
+  private static final int WHEEL_SIZE = 512;
+  private static final String WHEELS_MAP = "_vertx.sockjswheels";
+
+  /**
+   * Get the wheel of the event loop of a context.
+   */
+  public static SessionWheel get(Vertx vertx, Context context) {
+    LocalMap<String, Registry> map = vertx.sharedData().getLocalMap(WHEELS_MAP);
+    Registry registry = map.get(WHEELS_MAP);
+    if (registry == null) {
+      Registry candidate = new Registry();
+      registry = map.putIfAbsent(WHEELS_MAP, candidate);
+      if (registry == null) {
+        registry = candidate;
+      }
+    }
+    EventLoop eventLoop = ((ContextInternal) context).nettyEventLoop();
+    return registry.wheels.computeIfAbsent(eventLoop, el -> new SessionWheel(el, DEFAULT_TICK));
+  }
+
+  private final EventLoop eventLoop;
+  private final long tickNanos;
+  private final long start = System.nanoTime();
+  private final Timeout[] slots = new Timeout[WHEEL_SIZE];
+  private final AtomicInteger activeSessions = new AtomicInteger();
+  private final AtomicLong heartbeats = new AtomicLong();
+  // accessed from the event loop only
+  private long lastTick;
+  private int pending;
+  private ScheduledFuture<?> ticker;
+
+  SessionWheel(EventLoop eventLoop, long tick) {
+    if (tick < 1) {
+      throw new IllegalArgumentException("tick must be > 0");
+    }
+    this.eventLoop = eventLoop;
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tick);
+  }
+
+  /**
+   * @return the number of sessions of this event loop
+   */
+  public int activeSessions() {
+    return activeSessions.get();
+  }
+
+  /**
+   * @return the number of heartbeats sent by the sessions of this event loop
+   */
+  public long heartbeats() {
+    return heartbeats.get();
+  }
+
+  void heartbeatSent() {
+    heartbeats.incrementAndGet();
+  }
+
+  void sessionOpened() {
+    activeSessions.incrementAndGet();
+  }
+
+  void sessionClosed() {
+    activeSessions.decrementAndGet();
+  }
+
+  /**
+   * Schedule a heartbeat, fired every {@code interval} ms until cancelled.
+   */
+  Timeout heartbeat(Context context, long interval, Handler<Void> handler) {
+    return schedule(new Timeout(context, interval, true, handler));
+  }
+
+  /**
+   * Schedule a timeout, fired once after {@code delay} ms unless cancelled.
+   */
+  Timeout timeout(Context context, long delay, Handler<Void> handler) {
+    return schedule(new Timeout(context, delay, false, handler));
+  }
+
+  private Timeout schedule(Timeout timeout) {
+    if (eventLoop.inEventLoop()) {
+      add(timeout);
+    } else {
+      eventLoop.execute(() -> add(timeout));
+    }
+    return timeout;
+  }
+
+  private long currentTick() {
+    return (System.nanoTime() - start) / tickNanos;
+  }
+
+  private void add(Timeout timeout) {
+    if (timeout.cancelled) {
+      return;
+    }
+    if (ticker == null) {
+      lastTick = currentTick();
+      ticker = eventLoop.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+    // round up, a timeout never fires early
+    timeout.deadlineTick = Math.max(lastTick + 1, (timeout.deadline - start + tickNanos - 1) / tickNanos);
+    int slot = (int) (timeout.deadlineTick & (WHEEL_SIZE - 1));
+    timeout.slot = slot;
+    timeout.next = slots[slot];
+    if (timeout.next != null) {
+      timeout.next.prev = timeout;
+    }
+    slots[slot] = timeout;
+    pending++;
+  }
+
+  private void remove(Timeout timeout) {
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      slots[timeout.slot] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+    timeout.prev = timeout.next = null;
+    timeout.slot = -1;
+    pending--;
+  }
+
+  private void tick() {
+    long now = currentTick();
+    // after a stall, a revolution visits every slot
+    long from = Math.max(lastTick + 1, now - WHEEL_SIZE + 1);
+    // the heartbeats rescheduled while ticking go after the current tick
+    lastTick = now;
+    for (long t = from; t <= now; t++) {
+      Timeout timeout = slots[(int) (t & (WHEEL_SIZE - 1))];
+      while (timeout != null) {
+        Timeout next = timeout.next;
+        if (timeout.cancelled) {
+          remove(timeout);
+        } else if (timeout.deadlineTick <= now) {
+          remove(timeout);
+          fire(timeout);
+        }
+        timeout = next;
+      }
+    }
+    if (pending == 0) {
+      ticker.cancel(false);
+      ticker = null;
+    }
+  }
+
+  private void fire(Timeout timeout) {
+    if (timeout.periodic) {
+      // after a stall, skip the missed heartbeats
+      timeout.deadline = Math.max(timeout.deadline + timeout.delay, System.nanoTime());
+      add(timeout);
+    }
+    timeout.context.runOnContext(v -> {
+      if (!timeout.cancelled) {
+        timeout.handler.handle(null);
+      }
+    });
+  }
+
+  /**
+   * A scheduled heartbeat or timeout.
+   */
+  static final class Timeout {
+
+    private final Context context;
+    private final long delay;
+    private final boolean periodic;
+    private final Handler<Void> handler;
+    private volatile boolean cancelled;
+    // accessed from the event loop only
+    private long deadline;
+    private long deadlineTick;
+    private int slot = -1;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(Context context, long delay, boolean periodic, Handler<Void> handler) {
+      this.context = context;
+      this.delay = TimeUnit.MILLISECONDS.toNanos(Math.max(1, delay));
+      this.periodic = periodic;
+      this.handler = handler;
+      this.deadline = System.nanoTime() + this.delay;
+    }
+
+    /**
+     * Cancel the timeout, it is removed from the wheel on the next tick of its slot.
+     */
+    void cancel() {
+      cancelled = true;
+    }
+  }
+
+  private static final class Registry implements Shareable {
+    private final ConcurrentMap<EventLoop, SessionWheel> wheels = new ConcurrentHashMap<>();
+  }
+}
@@ -66,19 +66,21 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
   private static final Logger LOG = LoggerFactory.getLogger(SockJSSession.class);
 
   private final LocalMap<String, SockJSSession> sessions;
-  private final Deque<String> pendingWrites = new LinkedList<>();
+  private final Deque<Buffer> pendingWrites = new ArrayDeque<>();
   private final Context context;
   private final InboundBuffer<Buffer> pendingReads;
   private final String id;
   private final long timeout;
   private final Handler<SockJSSocket> sockHandler;
-  private final long heartbeatID;
+  private final SessionWheel wheel;
+  private final SessionWheel.Timeout heartbeat;
   private final List<Handler<AsyncResult<Void>>> writeAcks = new ArrayList<>();
   private TransportListener listener;
   private boolean closed;
   private boolean openWritten;
-  private long timeoutTimerID = -1;
-  private int maxQueueSize = 64 * 1024; // Message queue size is measured in *characters* (not bytes)
+  private boolean unregistered;
+  private SessionWheel.Timeout timeoutTimer;
+  private int maxQueueSize = 64 * 1024; // Message queue size is measured in bytes
   private int messagesSize;
   private Handler<Void> drainHandler;
   private Handler<Void> endHandler;
@@ -104,22 +106,39 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
     context = vertx.getOrCreateContext();
     pendingReads = new InboundBuffer<>(context);
 
-    // Start a heartbeat
-
-    heartbeatID = vertx.setPeriodic(options.getHeartbeatInterval(), tid -> {
+    // Start a heartbeat, driven by the wheel shared by the sessions of the event loop
+    wheel = SessionWheel.get(vertx, context);
+    wheel.sessionOpened();
+    heartbeat = wheel.heartbeat(context, options.getHeartbeatInterval(), v -> {
+      // a session without a transport has no heartbeat to send
       if (listener != null) {
         listener.sendFrame("h");
+        wheel.heartbeatSent();
       }
     });
   }
 
-  private void writeInternal(String msg, Promise<Void> promise) {
+  private void writeInternal(Buffer msg, Promise<Void> promise) {
     synchronized (this) {
       pendingWrites.add(msg);
       messagesSize += msg.length();
       writeAcks.add(promise);
     }
+    flushPendingMessages();
+  }
 
+  private void writeInternal(List<Buffer> msgs, Promise<Void> promise) {
+    synchronized (this) {
+      for (Buffer msg : msgs) {
+        pendingWrites.add(msg);
+        messagesSize += msg.length();
+      }
+      writeAcks.add(promise);
+    }
+    flushPendingMessages();
+  }
+
+  private void flushPendingMessages() {
     if (listener != null) {
       final Context ctx = transportCtx;
       if (Vertx.currentContext() != ctx) {
@@ -142,8 +161,26 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
         promise.fail(ConnectionBase.CLOSED_EXCEPTION);
       }
     } else {
-      final String msg = buffer.toString();
-      writeInternal(msg, promise);
+      writeInternal(buffer, promise);
+    }
+    return promise.future();
+  }
+
+  /**
+   * Write several messages, they are sent in the same frame unless the messages already pending are sent first.
+   */
+  Future<Void> write(List<Buffer> messages) {
+    final ContextInternal callerCtx = (ContextInternal) vertx.getOrCreateContext();
+    final Promise<Void> promise = callerCtx.promise();
+    if (isClosed()) {
+      final Context ctx = transportCtx;
+      if (Vertx.currentContext() != ctx) {
+        vertx.runOnContext(v -> promise.fail(ConnectionBase.CLOSED_EXCEPTION));
+      } else {
+        promise.fail(ConnectionBase.CLOSED_EXCEPTION);
+      }
+    } else {
+      writeInternal(messages, promise);
     }
     return promise.future();
   }
@@ -160,7 +197,7 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
         promise.fail(ConnectionBase.CLOSED_EXCEPTION);
       }
     } else {
-      writeInternal(text, promise);
+      writeInternal(buffer(text), promise);
     }
     return promise.future();
   }
@@ -283,16 +320,16 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
   }
 
   private void cancelTimer() {
-    if (timeoutTimerID != -1) {
-      vertx.cancelTimer(timeoutTimerID);
+    if (timeoutTimer != null) {
+      timeoutTimer.cancel();
     }
   }
 
   private void setTimer() {
     if (timeout != -1) {
       cancelTimer();
-      timeoutTimerID = vertx.setTimer(timeout, id1 -> {
-        vertx.cancelTimer(heartbeatID);
+      timeoutTimer = wheel.timeout(vertx.getOrCreateContext(), timeout, v -> {
+        heartbeat.cancel();
         final TransportListener listener = this.listener;
         if (listener == null) {
           shutdown();
@@ -307,11 +344,11 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
   private void writePendingMessages() {
     final TransportListener listener = this.listener;
     if (listener != null) {
-      final String json;
+      final Buffer frame;
       final List<Handler<AsyncResult<Void>>> acks;
       synchronized (this) {
         if (!pendingWrites.isEmpty()) {
-          json = JsonCodec.encode(pendingWrites.toArray(new String[0]));
+          frame = FrameEncoder.encode(pendingWrites, messagesSize);
           pendingWrites.clear();
           if (!writeAcks.isEmpty()) {
             acks = new ArrayList<>(writeAcks);
@@ -321,15 +358,15 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
           }
           messagesSize = 0;
         } else {
-          json = null;
+          frame = null;
           acks = Collections.emptyList();
         }
       }
-      if (json != null) {
+      if (frame != null) {
         if (!acks.isEmpty()) {
-          listener.sendFrame("a" + json).onComplete(ar -> acks.forEach(a -> a.handle(ar)));
+          listener.sendFrame(frame).onComplete(ar -> acks.forEach(a -> a.handle(ar)));
         } else {
-          listener.sendFrame("a" + json);
+          listener.sendFrame(frame);
         }
       }
       if (drainHandler != null) {
@@ -390,18 +427,18 @@ class SockJSSession extends SockJSSocketBase implements Shareable {
   // Yes, I know it's weird but that's the way SockJS likes it.
   void shutdown() {
     super.close(); // We must call this or handlers don't get unregistered and we get a leak
-    if (heartbeatID != -1) {
-      vertx.cancelTimer(heartbeatID);
-    }
-    if (timeoutTimerID != -1) {
-      vertx.cancelTimer(timeoutTimerID);
-    }
+    heartbeat.cancel();
+    cancelTimer();
     if (id != null) {
       // Can be null if websocket session
       sessions.remove(id);
     }
 
     synchronized (this) {
+      if (!unregistered) {
+        unregistered = true;
+        wheel.sessionClosed();
+      }
       if (!closed) {
         closed = true;
         handleClosed();
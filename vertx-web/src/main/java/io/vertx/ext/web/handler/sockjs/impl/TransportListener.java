@@ -35,6 +35,9 @@ package io.vertx.ext.web.handler.sockjs.impl;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -43,6 +46,13 @@ interface TransportListener {
 
   Future<Void> sendFrame(String body);
 
+  /**
+   * Send an array frame encoded by {@link FrameEncoder}, the listener owns the buffer.
+   */
+  default Future<Void> sendFrame(Buffer frame) {
+    return sendFrame(frame.toString(StandardCharsets.US_ASCII));
+  }
+
   void close();
 
   void sessionClosed();
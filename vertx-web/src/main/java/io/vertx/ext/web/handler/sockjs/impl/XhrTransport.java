@@ -208,8 +208,13 @@ class XhrTransport extends BaseTransport {
 
     @Override
     public Future<Void> sendFrame(String body) {
+      return sendFrame(buffer(body));
+    }
+
+    @Override
+    public Future<Void> sendFrame(Buffer frame) {
       super.beforeSend();
-      Future<Void> fut = rc.response().write(body + "\n");
+      Future<Void> fut = rc.response().write(frame.appendByte((byte) '\n'));
       close();
       return fut;
     }
@@ -243,13 +248,17 @@ class XhrTransport extends BaseTransport {
 
     @Override
     public Future<Void> sendFrame(String body) {
+      return sendFrame(buffer(body));
+    }
+
+    @Override
+    public Future<Void> sendFrame(Buffer frame) {
       boolean hr = headersWritten;
       super.beforeSend();
       if (!hr) {
         rc.response().write(H_BLOCK);
       }
-      String sbody = body + "\n";
-      Buffer buff = buffer(sbody);
+      Buffer buff = frame.appendByte((byte) '\n');
       Future<Void> fut = rc.response().write(buff);
       bytesSent += buff.length();
       if (bytesSent >= maxBytesStreaming) {
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.web.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded cache that can be shared across event loops.
+ * <p>
+ * The cache is split in segments, each one an access ordered {@link LinkedHashMap} guarded by its own lock, so
+ * concurrent callers only contend when their keys hash to the same segment. Each segment evicts its least recently
+ * used entry when full, so the eviction order is an approximation of a global LRU. Entries can optionally expire a
+ * fixed time after they were written.
+ * <p>
+ * The cache is bounded either by the number of entries or, when a weigher is provided, by the total weight of the
+ * values (e.g.: their size in bytes). The capacity is divided across the segments, so a value heavier than the
+ * capacity of a segment is never cached. When the weight of the values that must fit is known, fewer segments are used
+ * so each one can hold at least one of them.
+ * <p>
+ * This class is thread-safe
+ */
+public class ConcurrentLRUCache<K, V> {
+
+  private static final int MAX_SEGMENTS = 64;
+
+  private final Segment<K, V>[] segments;
+  private final int mask;
+  private final long capacity;
+  private final long timeToLiveNanos;
+  private final ToIntFunction<V> weigher;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Create a cache without expiration.
+   *
+   * @param maxSize the maximum number of entries
+   */
+  public ConcurrentLRUCache(int maxSize) {
+    this(maxSize, 0);
+  }
+
+  /**
+   * Create a cache where entries expire after being written.
+   *
+   * @param maxSize the maximum number of entries
+   * @param timeToLive the time in milliseconds an entry is valid after being written, {@code 0} means no expiration
+   */
+  public ConcurrentLRUCache(int maxSize, long timeToLive) {
+    this(maxSize, timeToLive, null);
+  }
+
+  /**
+   * Create a cache bounded by the total weight of its values.
+   *
+   * @param maxWeight the maximum total weight of the values
+   * @param timeToLive the time in milliseconds an entry is valid after being written, {@code 0} means no expiration
+   * @param weigher computes the weight of a value, {@code null} means every value weighs 1
+   */
+  public ConcurrentLRUCache(long maxWeight, long timeToLive, ToIntFunction<V> weigher) {
+    this(maxWeight, 1, timeToLive, weigher);
+  }
+
+  /**
+   * Create a cache bounded by the total weight of its values, where any value up to a given weight can be cached.
+   *
+   * @param maxWeight the maximum total weight of the values
+   * @param maxEntryWeight the weight of the heaviest value that must fit in a segment
+   * @param timeToLive the time in milliseconds an entry is valid after being written, {@code 0} means no expiration
+   * @param weigher computes the weight of a value, {@code null} means every value weighs 1
+   */
+  @SuppressWarnings("unchecked")
+  public ConcurrentLRUCache(long maxWeight, long maxEntryWeight, long timeToLive, ToIntFunction<V> weigher) {
+    if (maxWeight < 1) {
+      throw new IllegalArgumentException("maxSize must be >= 1");
+    }
+    if (maxEntryWeight < 1) {
+      throw new IllegalArgumentException("maxEntryWeight must be >= 1");
+    }
+    if (timeToLive < 0) {
+      throw new IllegalArgumentException("timeToLive must be >= 0");
+    }
+    this.capacity = maxWeight;
+    this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+    this.weigher = weigher;
+
+    // power of 2 segments, never so many segments that the heaviest entry doesn't fit in one
+    int concurrency = Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 2);
+    int count = Integer.highestOneBit((int) Math.max(1, Math.min(concurrency, maxWeight / maxEntryWeight)));
+
+    segments = new Segment[count];
+    mask = count - 1;
+    for (int i = 0; i < count; i++) {
+      // distribute the remainder so the sum of the capacities is exactly maxWeight
+      segments[i] = new Segment<>(maxWeight / count + (i < maxWeight % count ? 1 : 0), evictions);
+    }
+  }
+
+  public V get(K key) {
+    final Segment<K, V> segment = segmentFor(key);
+    final Entry<V> entry;
+
+    synchronized (segment) {
+      entry = segment.get(key);
+      if (entry != null && isExpired(entry)) {
+        segment.removeEntry(key);
+        evictions.increment();
+        misses.increment();
+        return null;
+      }
+    }
+
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+
+    hits.increment();
+    return entry.value;
+  }
+
+  /**
+   * Put a value in the cache.
+   *
+   * @return {@code false} if the value is too heavy to be cached.
+   */
+  public boolean put(K key, V value) {
+    final Segment<K, V> segment = segmentFor(key);
+    final Entry<V> entry = new Entry<>(value, weigher == null ? 1 : weigher.applyAsInt(value), timeToLiveNanos == 0 ? 0 : System.nanoTime());
+
+    synchronized (segment) {
+      if (entry.weight > segment.capacity) {
+        // never cached, but the previous value isn't valid anymore
+        segment.removeEntry(key);
+        return false;
+      }
+      segment.putEntry(key, entry);
+    }
+    return true;
+  }
+
+  public V remove(K key) {
+    final Segment<K, V> segment = segmentFor(key);
+    final Entry<V> entry;
+
+    synchronized (segment) {
+      entry = segment.removeEntry(key);
+    }
+
+    return entry == null ? null : entry.value;
+  }
+
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clearEntries();
+      }
+    }
+  }
+
+  /**
+   * @return the number of entries, expired entries not yet removed are included.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the total weight of the entries, or the number of entries when there is no weigher.
+   */
+  public long weight() {
+    long weight = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        weight += segment.weight;
+      }
+    }
+    return weight;
+  }
+
+  /**
+   * @return the maximum weight, or the maximum number of entries when there is no weigher.
+   */
+  public long capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the number of lookups that returned a value.
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of lookups that didn't find a value or found an expired one.
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of entries removed to respect the size bound or because they expired.
+   */
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  private boolean isExpired(Entry<V> entry) {
+    return timeToLiveNanos != 0 && System.nanoTime() - entry.writeTime > timeToLiveNanos;
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    int h = key.hashCode();
+    // spread the higher bits, as the segment is selected with the lower bits
+    h ^= (h >>> 16);
+    return segments[h & mask];
+  }
+
+  private static final class Entry<V> {
+    final V value;
+    final int weight;
+    final long writeTime;
+
+    Entry(V value, int weight, long writeTime) {
+      this.value = value;
+      this.weight = weight;
+      this.writeTime = writeTime;
+    }
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+    private final long capacity;
+    private final LongAdder evictions;
+    private long weight;
+
+    Segment(long capacity, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+      this.evictions = evictions;
+    }
+
+    void putEntry(K key, Entry<V> entry) {
+      final Entry<V> previous = put(key, entry);
+      if (previous != null) {
+        weight -= previous.weight;
+      }
+      weight += entry.weight;
+
+      // the new entry is the most recently used, so it is the last candidate to be evicted
+      final Iterator<Map.Entry<K, Entry<V>>> it = entrySet().iterator();
+      while (weight > capacity && it.hasNext()) {
+        weight -= it.next().getValue().weight;
+        it.remove();
+        evictions.increment();
+      }
+    }
+
+    Entry<V> removeEntry(K key) {
+      final Entry<V> entry = remove(key);
+      if (entry != null) {
+        weight -= entry.weight;
+      }
+      return entry;
+    }
+
+    void clearEntries() {
+      clear();
+      weight = 0;
+    }
+  }
+}
@@ -224,6 +224,7 @@ public class RouteImpl implements Route {
   @Override
   public synchronized Route useNormalizedPath(boolean useNormalizedPath) {
     state = state.setUseNormalizedPath(useNormalizedPath);
+    checkIndexed();
     return this;
   }
 
@@ -256,6 +257,7 @@ public class RouteImpl implements Route {
   @Override
   public synchronized Route setRegexGroupsNames(List<String> groups) {
     state = state.setGroups(groups);
+    checkIndexed();
     return this;
   }
 
@@ -308,12 +310,14 @@ public class RouteImpl implements Route {
         throw new IllegalArgumentException("path param does not follow the variable naming rules, expected (" + params + ") found (" + found + ")");
       }
     }
+    checkIndexed();
   }
 
   private synchronized void setRegex(String regex) {
     state = state.setPattern(Pattern.compile(regex));
     state = state.setExactPath(true);
     findNamedGroups(state.getPattern().pattern());
+    checkIndexed();
   }
 
   private synchronized void findNamedGroups(String path) {
@@ -390,11 +394,46 @@ public class RouteImpl implements Route {
     }
   }
 
+  private synchronized void checkIndexed() {
+    // the router may have compiled the previous path, it must be recompiled
+    if (state.isAdded()) {
+      router.invalidateRouteIndex();
+    }
+  }
+
   public synchronized RouteImpl setEmptyBodyPermittedWithConsumes(boolean emptyBodyPermittedWithConsumes) {
     state = state.setEmptyBodyPermittedWithConsumes(emptyBodyPermittedWithConsumes);
     return this;
   }
 
+  /**
+   * Restrict the values of the path parameters, a parameter matches a non empty segment without any of the given
+   * characters instead of any non empty segment. The route is still indexed by its path.
+   */
+  public synchronized RouteImpl setPathParamsExcludedChars(String chars) {
+    final List<String> groups = state.getGroups();
+    if (state.getPath() == null || groups == null || groups.isEmpty()) {
+      throw new IllegalStateException("The route path has no parameters");
+    }
+    final StringBuilder excluded = new StringBuilder("[^/");
+    for (int i = 0; i < chars.length(); i++) {
+      // any non alphanumeric char can be escaped in a class
+      final char c = chars.charAt(i);
+      if (!Character.isLetterOrDigit(c)) {
+        excluded.append('\\');
+      }
+      excluded.append(c);
+    }
+    excluded.append("]+)");
+    String pattern = state.getPattern().pattern();
+    for (int i = 0; i < groups.size(); i++) {
+      pattern = pattern.replace("(?<p" + i + ">[^/]+)", "(?<p" + i + ">" + excluded);
+    }
+    state = state.setPattern(Pattern.compile(pattern));
+    checkIndexed();
+    return this;
+  }
+
   private void validateMount(Router router) {
     for (Route route : router.getRoutes()) {
       final String combinedPath;
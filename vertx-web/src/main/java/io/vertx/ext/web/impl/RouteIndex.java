@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A segment tree compiled from an immutable snapshot of the router routes.
+ * <p>
+ * The index does not replace {@link RouteState#matches(RoutingContextImplBase, String, boolean)}, it only prunes the
+ * routes that can never match the request path. The candidates are always a superset of the routes that would match
+ * and are returned in the same order as the router {@link java.util.TreeSet}, so {@code order()} semantics and the
+ * status codes computed during the routing (404, 405, 406, 415) are preserved.
+ * <p>
+ * Routes without a path, routes using a user regular expression and routes not using the normalized path are not
+ * indexed and are always considered candidates.
+ * <p>
+ * This class is thread-safe
+ */
+final class RouteIndex {
+
+  // chars that createPatternRegex does not escape and would change the meaning of a parameterized path
+  private static final Pattern RE_UNSAFE_OPERATORS = Pattern.compile("[*?\\[\\]{}|^\\\\]");
+
+  private final RouteImpl[] routes;
+  // routes that cannot be indexed, they are always candidates
+  private final BitSet always;
+  private final Node root = new Node();
+
+  RouteIndex(Set<RouteImpl> routes) {
+    this.routes = routes.toArray(new RouteImpl[0]);
+    this.always = new BitSet(this.routes.length);
+
+    for (int i = 0; i < this.routes.length; i++) {
+      add(i, this.routes[i].state());
+    }
+  }
+
+  /**
+   * Lookup the candidate routes for the given context.
+   *
+   * @return an iterator over the candidate routes in router order, or {@code null} if the request cannot be resolved
+   * using the index and a full scan is required.
+   */
+  Iterator<RouteImpl> candidates(RoutingContextImplBase ctx, String mountPoint) {
+    // never null
+    String path = ctx.normalizedPath();
+
+    if (mountPoint != null) {
+      int strip = mountPoint.length();
+      // mount point can have significant slash
+      if (mountPoint.charAt(strip - 1) == '/') {
+        strip--;
+      }
+      if (!path.regionMatches(0, mountPoint, 0, strip)) {
+        // the request isn't relative to the mount point, let the full scan decide
+        return null;
+      }
+      path = path.substring(strip);
+    }
+
+    final BitSet candidates = (BitSet) always.clone();
+    collect(root, path, 0, candidates);
+    return new CandidateIterator(routes, candidates);
+  }
+
+  private void add(int idx, RouteState state) {
+    final String path = state.getPath();
+    final Pattern pattern = state.getPattern();
+
+    if (path == null || !state.isUseNormalizedPath()) {
+      always.set(idx);
+      return;
+    }
+
+    if (pattern != null && !isParameterizedPath(state)) {
+      // the regex wasn't generated from the path, the path isn't relevant for the matching
+      always.set(idx);
+      return;
+    }
+
+    final List<String> segments = segments(path);
+
+    if (!state.isExactPath() && !path.endsWith("/") && !segments.isEmpty()) {
+      // a wildcard not on a segment boundary (e.g.: /foo*) matches any sibling starting with the same prefix
+      segments.remove(segments.size() - 1);
+    }
+
+    Node node = root;
+    for (String segment : segments) {
+      if (pattern != null && segment.indexOf(':') != -1) {
+        if (node.param == null) {
+          node.param = new Node();
+        }
+        node = node.param;
+      } else {
+        if (node.statics == null) {
+          node.statics = new HashMap<>();
+        }
+        node = node.statics.computeIfAbsent(segment, k -> new Node());
+      }
+    }
+
+    if (state.isExactPath()) {
+      node.exact.set(idx);
+    } else {
+      node.any.set(idx);
+    }
+  }
+
+  private static boolean isParameterizedPath(RouteState state) {
+    final List<String> groups = state.getGroups();
+    if (groups == null || groups.isEmpty()) {
+      return false;
+    }
+    // the generated regex always uses the p0, p1, pN group names, so a user regex set after the path isn't mistaken,
+    // the parameters may exclude more chars than '/', see RouteImpl#setPathParamsExcludedChars
+    if (!state.getPattern().pattern().contains("(?<p" + (groups.size() - 1) + ">[^/")) {
+      return false;
+    }
+    // the final wildcard is already stripped from the path, any other operator is not escaped and can span multiple
+    // segments
+    return !RE_UNSAFE_OPERATORS.matcher(state.getPath()).find();
+  }
+
+  private static List<String> segments(String path) {
+    final List<String> segments = new ArrayList<>();
+    int start = 0;
+    while (start < path.length()) {
+      int end = path.indexOf('/', start);
+      if (end == -1) {
+        end = path.length();
+      }
+      // empty segments are skipped, both on the routes and the requests
+      if (end > start) {
+        segments.add(path.substring(start, end));
+      }
+      start = end + 1;
+    }
+    return segments;
+  }
+
+  private static void collect(Node node, String path, int from, BitSet candidates) {
+    // routes ending with a wildcard match anything below this node
+    candidates.or(node.any);
+
+    int start = from;
+    while (start < path.length() && path.charAt(start) == '/') {
+      start++;
+    }
+
+    if (start == path.length()) {
+      candidates.or(node.exact);
+      return;
+    }
+
+    int end = path.indexOf('/', start);
+    if (end == -1) {
+      end = path.length();
+    }
+
+    if (node.statics != null) {
+      final Node child = node.statics.get(path.substring(start, end));
+      if (child != null) {
+        collect(child, path, end, candidates);
+      }
+    }
+    if (node.param != null) {
+      collect(node.param, path, end, candidates);
+    }
+  }
+
+  private static final class Node {
+    private final BitSet exact = new BitSet();
+    private final BitSet any = new BitSet();
+    private Map<String, Node> statics;
+    private Node param;
+  }
+
+  private static final class CandidateIterator implements Iterator<RouteImpl> {
+
+    private final RouteImpl[] routes;
+    private final BitSet candidates;
+    private int next;
+
+    CandidateIterator(RouteImpl[] routes, BitSet candidates) {
+      this.routes = routes;
+      this.candidates = candidates;
+      this.next = candidates.nextSetBit(0);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != -1;
+    }
+
+    @Override
+    public RouteImpl next() {
+      if (next == -1) {
+        throw new NoSuchElementException();
+      }
+      final RouteImpl route = routes[next];
+      next = candidates.nextSetBit(next + 1);
+      return route;
+    }
+  }
+}
@@ -65,7 +65,8 @@ public class RouterImpl implements Router {
       LOG.trace("Router: " + System.identityHashCode(this) + " accepting request " + request.method() + " " + request.absoluteURI());
     }
 
-    new RoutingContextImpl(null, this, request, state.getRoutes()).next();
+    final RouterState state = this.state;
+    new RoutingContextImpl(null, this, request, state.getRoutes(), state.getRouteIndex()).next();
   }
 
   @Override
@@ -247,13 +248,15 @@ public class RouterImpl implements Router {
   @Override
   public void handleContext(RoutingContext ctx) {
     final RoutingContextInternal ctxi = (RoutingContextInternal) ctx;
-    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state.getRoutes(), ctxi, this).next();
+    final RouterState state = this.state;
+    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state.getRoutes(), state.getRouteIndex(), ctxi, this).next();
   }
 
   @Override
   public void handleFailure(RoutingContext ctx) {
     final RoutingContextInternal ctxi = (RoutingContextInternal) ctx;
-    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state.getRoutes(), ctxi, this).next();
+    final RouterState state = this.state;
+    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state.getRoutes(), state.getRouteIndex(), ctxi, this).next();
   }
 
   @Override
@@ -290,6 +293,12 @@ public class RouterImpl implements Router {
     return state.getAllowForward();
   }
 
+  @Override
+  public synchronized Router compiledDispatch(boolean compiledDispatch) {
+    state = state.setCompiledDispatch(compiledDispatch);
+    return this;
+  }
+
   @Override
   public synchronized Router errorHandler(int statusCode, Handler<RoutingContext> errorHandler) {
     state = state.putErrorHandler(statusCode, errorHandler);
@@ -312,6 +321,12 @@ public class RouterImpl implements Router {
     }
   }
 
+  synchronized void invalidateRouteIndex() {
+    if (state.isCompiledDispatch()) {
+      state = state.invalidateRouteIndex();
+    }
+  }
+
   Vertx vertx() {
     return vertx;
   }
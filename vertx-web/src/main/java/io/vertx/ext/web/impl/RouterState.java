@@ -60,8 +60,11 @@ final class RouterState {
   private final Handler<Router> modifiedHandler;
   private final AllowForwardHeaders allowForward;
   private final Map<String, Object> metadata;
+  private final boolean compiledDispatch;
+  // lazily compiled from the routes snapshot, a new state always starts without an index
+  private volatile RouteIndex routeIndex;
 
-  public RouterState(RouterImpl router, TreeSet<RouteImpl> routes, int orderSequence, Map<Integer, Handler<RoutingContext>> errorHandlers, Handler<Router> modifiedHandler, AllowForwardHeaders allowForward, Map<String, Object> metadata) {
+  public RouterState(RouterImpl router, TreeSet<RouteImpl> routes, int orderSequence, Map<Integer, Handler<RoutingContext>> errorHandlers, Handler<Router> modifiedHandler, AllowForwardHeaders allowForward, Map<String, Object> metadata, boolean compiledDispatch) {
     this.router = router;
     this.routes = routes;
     this.orderSequence = orderSequence;
@@ -69,6 +72,7 @@ final class RouterState {
     this.modifiedHandler = modifiedHandler;
     this.allowForward = allowForward;
     this.metadata = metadata;
+    this.compiledDispatch = compiledDispatch;
   }
 
   public RouterState(RouterImpl router) {
@@ -79,7 +83,8 @@ final class RouterState {
       null,
       null,
       AllowForwardHeaders.NONE,
-      null);
+      null,
+      false);
   }
 
   public RouterImpl router() {
@@ -101,7 +106,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
 
     newState.routes.addAll(routes);
     return newState;
@@ -121,7 +127,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   RouterState clearRoutes() {
@@ -132,7 +139,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   RouterState removeRoute(RouteImpl route) {
@@ -149,7 +157,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   public int getOrderSequence() {
@@ -164,7 +173,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   RouterState setOrderSequence(int orderSequence) {
@@ -175,7 +185,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   public Map<Integer, Handler<RoutingContext>> getErrorHandlers() {
@@ -190,7 +201,8 @@ final class RouterState {
       errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   Handler<RoutingContext> getErrorHandler(int errorCode) {
@@ -208,7 +220,8 @@ final class RouterState {
       this.errorHandlers == null ? new HashMap<>() : new HashMap<>(errorHandlers),
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
 
     newState.errorHandlers.put(errorCode, errorHandler);
     return newState;
@@ -226,7 +239,8 @@ final class RouterState {
       this.errorHandlers,
       modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   public RouterState setAllowForward(AllowForwardHeaders allow) {
@@ -237,7 +251,8 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       allow,
-      this.metadata);
+      this.metadata,
+      this.compiledDispatch);
   }
 
   public AllowForwardHeaders getAllowForward() {
@@ -258,13 +273,62 @@ final class RouterState {
       this.errorHandlers,
       this.modifiedHandler,
       this.allowForward,
-      Collections.unmodifiableMap(metadata));
+      Collections.unmodifiableMap(metadata),
+      this.compiledDispatch);
   }
 
   public Map<String, Object> getMetadata() {
     return metadata;
   }
 
+  public boolean isCompiledDispatch() {
+    return compiledDispatch;
+  }
+
+  public RouterState setCompiledDispatch(boolean compiledDispatch) {
+    return new RouterState(
+      this.router,
+      this.routes,
+      this.orderSequence,
+      this.errorHandlers,
+      this.modifiedHandler,
+      this.allowForward,
+      this.metadata,
+      compiledDispatch);
+  }
+
+  /**
+   * Returns a copy of this state, forcing the route index to be recompiled. This is required when a route that
+   * is already part of the state changes its path after being added.
+   */
+  RouterState invalidateRouteIndex() {
+    return new RouterState(
+      this.router,
+      this.routes,
+      this.orderSequence,
+      this.errorHandlers,
+      this.modifiedHandler,
+      this.allowForward,
+      this.metadata,
+      this.compiledDispatch);
+  }
+
+  /**
+   * @return the compiled route index for this snapshot, or {@code null} when compiled dispatch is disabled.
+   */
+  RouteIndex getRouteIndex() {
+    if (!compiledDispatch) {
+      return null;
+    }
+    RouteIndex index = routeIndex;
+    if (index == null) {
+      // benign race, at worst the index is compiled more than once for the same snapshot
+      index = new RouteIndex(getRoutes());
+      routeIndex = index;
+    }
+    return index;
+  }
+
 
   @Override
   public String toString() {
@@ -275,6 +339,7 @@ final class RouterState {
       ", modifiedHandler=" + modifiedHandler +
       ", this.allowForward=" + allowForward +
       ", metadata=" + metadata +
+      ", compiledDispatch=" + compiledDispatch +
       '}';
   }
 }
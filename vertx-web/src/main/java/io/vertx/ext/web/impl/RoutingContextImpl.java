@@ -75,7 +75,11 @@ public class RoutingContextImpl extends RoutingContextImplBase {
   private volatile boolean endHandlerCalled = false;
 
   public RoutingContextImpl(String mountPoint, RouterImpl router, HttpServerRequest request, Set<RouteImpl> routes) {
-    super(mountPoint, routes, router);
+    this(mountPoint, router, request, routes, null);
+  }
+
+  RoutingContextImpl(String mountPoint, RouterImpl router, HttpServerRequest request, Set<RouteImpl> routes, RouteIndex routeIndex) {
+    super(mountPoint, routes, routeIndex, router);
     this.router = router;
     this.request = new HttpServerRequestWrapper(request, router.getAllowForward());
     this.body = new RequestBodyImpl(this);
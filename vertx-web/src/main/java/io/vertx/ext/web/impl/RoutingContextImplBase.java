@@ -45,6 +45,7 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
   protected static final Logger LOG = LoggerFactory.getLogger(RoutingContext.class);
 
   private final Set<RouteImpl> routes;
+  private final RouteIndex routeIndex;
 
   protected final Router currentRouter;
   protected final String mountPoint;
@@ -65,10 +66,12 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
 
   protected Set<HttpMethod> allowedMethods = new HashSet<>();
 
-  RoutingContextImplBase(String mountPoint, Set<RouteImpl> routes, Router currentRouter) {
+  RoutingContextImplBase(String mountPoint, Set<RouteImpl> routes, RouteIndex routeIndex, Router currentRouter) {
     this.mountPoint = mountPoint;
     this.routes = routes;
-    this.iter = routes.iterator();
+    this.routeIndex = routeIndex;
+    // when compiled, the candidates are resolved on the first iteration as the request path may not be known yet
+    this.iter = routeIndex == null ? routes.iterator() : null;
     this.securityAudit = SecurityAudit.create();
 
     this.currentRouter = currentRouter;
@@ -134,7 +137,7 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
   }
 
   void restart() {
-    this.iter = routes.iterator();
+    this.iter = routeIndex == null ? routes.iterator() : null;
     currentRoute = null;
     next();
   }
@@ -158,6 +161,13 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
         return true;
       }
     }
+    if (iter == null) {
+      iter = routeIndex.candidates(this, mountPoint());
+      if (iter == null) {
+        // the index can't resolve this request, fallback to a full scan
+        iter = routes.iterator();
+      }
+    }
     // Search for more handlers
     while (iter.hasNext()) {
       // state is locked at this moment
@@ -42,7 +42,11 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
   private final String mountPoint;
 
   public RoutingContextWrapper(String mountPoint, Set<RouteImpl> iter, RoutingContextInternal inner, Router currentRouter) {
-    super(mountPoint, iter, currentRouter);
+    this(mountPoint, iter, null, inner, currentRouter);
+  }
+
+  RoutingContextWrapper(String mountPoint, Set<RouteImpl> iter, RouteIndex routeIndex, RoutingContextInternal inner, Router currentRouter) {
+    super(mountPoint, iter, routeIndex, currentRouter);
     this.inner = inner;
     String parentMountPoint = inner.mountPoint();
     if (parentMountPoint == null) {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Provides a {@link Mac} per thread, so a key can be used to sign from any event loop without synchronization.
+ * <p>
+ * A {@link Mac} is not thread-safe. Each thread gets its own instance, which is initialized once and reused for
+ * every signature. Event loop contexts always run on the same thread, so the instances are effectively confined to
+ * the event loops using the key. The instances are cloned from a prototype when the provider supports it, which
+ * avoids the provider lookup and the key schedule for each new thread.
+ */
+public final class ThreadLocalMac {
+
+  private final String algorithm;
+  private final SecretKeySpec key;
+  private final Mac prototype;
+  private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+  /**
+   * Create the facility for the given algorithm and key.
+   *
+   * @param algorithm the MAC algorithm, e.g {@code HmacSHA256}
+   * @param key the secret key
+   * @throws IllegalArgumentException when the algorithm is not available or the key is invalid
+   */
+  public ThreadLocalMac(String algorithm, byte[] key) {
+    this.algorithm = algorithm;
+    this.key = new SecretKeySpec(key, algorithm);
+    this.prototype = init();
+  }
+
+  /**
+   * @return the {@link Mac} of the current thread, it must not escape the thread
+   */
+  public Mac get() {
+    return macs.get();
+  }
+
+  /**
+   * Compute the MAC of the given data with the {@link Mac} of the current thread.
+   *
+   * @param data the data to sign
+   * @return the signature
+   */
+  public byte[] doFinal(byte[] data) {
+    return macs.get().doFinal(data);
+  }
+
+  private Mac newMac() {
+    try {
+      synchronized (prototype) {
+        return (Mac) prototype.clone();
+      }
+    } catch (CloneNotSupportedException e) {
+      return init();
+    }
+  }
+
+  private Mac init() {
+    try {
+      Mac mac = Mac.getInstance(algorithm);
+      mac.init(key);
+      return mac;
+    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
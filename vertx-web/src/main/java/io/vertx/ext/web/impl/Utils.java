@@ -215,6 +215,10 @@ public class Utils {
           return false;
         }
       }
+
+      // if-modified-since is ignored when if-none-match is present
+      // https://tools.ietf.org/html/rfc7232#section-3.3
+      return true;
     }
 
     // if-modified-since
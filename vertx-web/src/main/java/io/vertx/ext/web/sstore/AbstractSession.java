@@ -49,6 +49,7 @@ public abstract class AbstractSession implements Session, SessionInternal {
 
   private static final Charset UTF8 = StandardCharsets.UTF_8;
 
+  // types of the format written before session codecs were introduced
   private static final byte TYPE_LONG = 1;
   private static final byte TYPE_INT = 2;
   private static final byte TYPE_SHORT = 3;
@@ -64,6 +65,12 @@ public abstract class AbstractSession implements Session, SessionInternal {
 
   private static final char[] HEX = "0123456789abcdef".toCharArray();
 
+  // marks the data written by the session codec, the data written before starts with an int length instead
+  private static final byte CODEC_FORMAT = (byte) 0x80;
+  private static final SessionCodec CODEC = SessionCodec.load();
+  // snapshot of a value that cannot be encoded
+  private static final Object UNKNOWN = new Object();
+
   private VertxContextPRNG prng;
 
   private String id;
@@ -106,6 +113,8 @@ public abstract class AbstractSession implements Session, SessionInternal {
   private boolean renewed;
   private String oldId;
   private int crc;
+  // value of each entry as last read from or written to the store, see snapshot()
+  private Map<String, Object> snapshot;
 
   /**
    * This constructor is <b>mandatory</b> (even though not referenced anywhere) is required for
@@ -139,6 +148,9 @@ public abstract class AbstractSession implements Session, SessionInternal {
       }
       oldId = null;
     }
+    if (snapshot != null) {
+      snapshot = entrySnapshots();
+    }
   }
 
   @Override
@@ -281,6 +293,107 @@ public abstract class AbstractSession implements Session, SessionInternal {
     }
   }
 
+  /**
+   * Keep the value of each entry, so the entries modified from now on can be found by {@link #modifiedKeys()}. Stores
+   * able to update a session partially call this method once the session has been read. Immutable values are kept
+   * as is, the other values are kept encoded, so values modified in place (e.g. a {@code byte[]}) are detected.
+   */
+  protected void snapshot() {
+    snapshot = entrySnapshots();
+  }
+
+  /**
+   * The keys added or modified since the session was read from the store or last flushed to it.
+   *
+   * @return the modified keys or {@code null} when unknown, i.e. the session has not been read with a
+   * {@link #snapshot()} taken
+   */
+  public @Nullable Set<String> modifiedKeys() {
+    final Map<String, Object> snapshot = this.snapshot;
+    if (snapshot == null) {
+      return null;
+    }
+    if (isEmpty()) {
+      return Collections.emptySet();
+    }
+    final Set<String> modified = new HashSet<>();
+    for (Map.Entry<String, Object> kv : data.entrySet()) {
+      final String key = kv.getKey();
+      if (!snapshot.containsKey(key) || !sameValue(snapshot.get(key), entrySnapshot(key, kv.getValue()))) {
+        modified.add(key);
+      }
+    }
+    return modified;
+  }
+
+  /**
+   * The keys removed since the session was read from the store or last flushed to it.
+   *
+   * @return the removed keys or {@code null} when unknown, i.e. the session has not been read with a
+   * {@link #snapshot()} taken
+   */
+  public @Nullable Set<String> removedKeys() {
+    final Map<String, Object> snapshot = this.snapshot;
+    if (snapshot == null) {
+      return null;
+    }
+    final Set<String> removed = new HashSet<>();
+    for (String key : snapshot.keySet()) {
+      if (isEmpty() || !data.containsKey(key)) {
+        removed.add(key);
+      }
+    }
+    return removed;
+  }
+
+  private Map<String, Object> entrySnapshots() {
+    if (isEmpty()) {
+      return Collections.emptyMap();
+    }
+    final Map<String, Object> snapshot = new HashMap<>();
+    for (Map.Entry<String, Object> kv : data.entrySet()) {
+      snapshot.put(kv.getKey(), entrySnapshot(kv.getKey(), kv.getValue()));
+    }
+    return snapshot;
+  }
+
+  /**
+   * @return the value itself when it is immutable, otherwise its encoded bytes, or {@link #UNKNOWN} when it cannot be
+   * encoded and the entry must always be considered modified
+   */
+  private static Object entrySnapshot(String key, Object value) {
+    if (value == null
+      || value instanceof String
+      || value instanceof Boolean
+      || value instanceof Character
+      || value instanceof Long
+      || value instanceof Integer
+      || value instanceof Short
+      || value instanceof Byte
+      || value instanceof Double
+      || value instanceof Float) {
+      return value;
+    }
+    // buffers, arrays, JSON and other objects can be modified in place
+    try {
+      final Buffer encoded = Buffer.buffer();
+      CODEC.encodeEntry(key, value, encoded);
+      return encoded.getBytes();
+    } catch (RuntimeException e) {
+      return UNKNOWN;
+    }
+  }
+
+  private static boolean sameValue(Object snapshot, Object current) {
+    if (snapshot == UNKNOWN || current == UNKNOWN) {
+      return false;
+    }
+    if (snapshot instanceof byte[] && current instanceof byte[]) {
+      return Arrays.equals((byte[]) snapshot, (byte[]) current);
+    }
+    return Objects.equals(snapshot, current);
+  }
+
   private static String generateId(VertxContextPRNG rng, int length) {
     final byte[] bytes = new byte[length];
     rng.nextBytes(bytes);
@@ -319,147 +432,141 @@ public abstract class AbstractSession implements Session, SessionInternal {
   }
 
   protected void writeDataToBuffer(Buffer buffer) {
-    if (isEmpty()) {
-      buffer.appendInt(0);
-    } else {
-      final Map<String, Object> data = data();
-      buffer.appendInt(data.size());
-      for (Map.Entry<String, Object> entry : data.entrySet()) {
-        String key = entry.getKey();
-        byte[] keyBytes = key.getBytes(UTF8);
-        buffer.appendInt(keyBytes.length).appendBytes(keyBytes);
-        Object val = entry.getValue();
-        if (val instanceof Long) {
-          buffer.appendByte(TYPE_LONG).appendLong((long) val);
-        } else if (val instanceof Integer) {
-          buffer.appendByte(TYPE_INT).appendInt((int) val);
-        } else if (val instanceof Short) {
-          buffer.appendByte(TYPE_SHORT).appendShort((short) val);
-        } else if (val instanceof Byte) {
-          buffer.appendByte(TYPE_BYTE).appendByte((byte) val);
-        } else if (val instanceof Double) {
-          buffer.appendByte(TYPE_DOUBLE).appendDouble((double) val);
-        } else if (val instanceof Float) {
-          buffer.appendByte(TYPE_FLOAT).appendFloat((float) val);
-        } else if (val instanceof Character) {
-          buffer.appendByte(TYPE_CHAR).appendShort((short) ((Character) val).charValue());
-        } else if (val instanceof Boolean) {
-          buffer.appendByte(TYPE_BOOLEAN).appendByte((byte) ((boolean) val ? 1 : 0));
-        } else if (val instanceof String) {
-          byte[] bytes = ((String) val).getBytes(UTF8);
-          buffer.appendByte(TYPE_STRING).appendInt(bytes.length).appendBytes(bytes);
-        } else if (val instanceof Buffer) {
-          Buffer buff = (Buffer) val;
-          buffer.appendByte(TYPE_BUFFER).appendInt(buff.length()).appendBuffer(buff);
-        } else if (val instanceof byte[]) {
-          byte[] bytes = (byte[]) val;
-          buffer.appendByte(TYPE_BYTES).appendInt(bytes.length).appendBytes(bytes);
-        } else if (val instanceof ClusterSerializable) {
-          buffer.appendByte(TYPE_CLUSTER_SERIALIZABLE);
-          String className = val.getClass().getName();
-          byte[] classNameBytes = className.getBytes(UTF8);
-          buffer.appendInt(classNameBytes.length).appendBytes(classNameBytes);
-          ((ClusterSerializable) val).writeToBuffer(buffer);
-        } else {
-          if (val != null) {
-            throw new IllegalStateException("Invalid type for data in session: " + val.getClass());
-          }
-        }
+    buffer.appendByte(CODEC_FORMAT);
+    CODEC.encode(isEmpty() ? Collections.emptyMap() : data(), buffer);
+  }
+
+  /**
+   * Write a single session entry, key and value, to the buffer. This allows stores to persist entries individually.
+   *
+   * @param key the entry key
+   * @param val the entry value
+   * @param buffer the buffer to write to
+   */
+  protected void writeEntryToBuffer(String key, Object val, Buffer buffer) {
+    buffer.appendByte(CODEC_FORMAT);
+    CODEC.encodeEntry(key, val, buffer);
+  }
+
+  protected int readDataFromBuffer(int pos, Buffer buffer) {
+    if (buffer.getByte(pos) == CODEC_FORMAT) {
+      final Map<String, Object> data = new ConcurrentHashMap<>();
+      pos = CODEC.decode(buffer, pos + 1, data);
+      setData(data);
+      return pos;
+    }
+
+    // written before session codecs were introduced
+    int entries = buffer.getInt(pos);
+    pos += 4;
+    if (entries > 0) {
+      final Map<String, Object> data = new ConcurrentHashMap<>(entries);
+
+      for (int i = 0; i < entries; i++) {
+        pos = readLegacyEntryFromBuffer(pos, buffer, data);
       }
+      setData(data);
     }
+    return pos;
   }
 
-  protected int readDataFromBuffer(int pos, Buffer buffer) {
+  /**
+   * Read a single session entry written by {@link #writeEntryToBuffer(String, Object, Buffer)}.
+   *
+   * @param pos the position of the entry in the buffer
+   * @param buffer the buffer to read from
+   * @param data the map the entry is added to
+   * @return the position after the entry
+   */
+  protected int readEntryFromBuffer(int pos, Buffer buffer, Map<String, Object> data) {
+    if (buffer.getByte(pos) == CODEC_FORMAT) {
+      return CODEC.decodeEntry(buffer, pos + 1, data);
+    }
+    return readLegacyEntryFromBuffer(pos, buffer, data);
+  }
+
+  private int readLegacyEntryFromBuffer(int pos, Buffer buffer, Map<String, Object> data) {
     try {
-      int entries = buffer.getInt(pos);
+      int keylen = buffer.getInt(pos);
       pos += 4;
-      if (entries > 0) {
-        final Map<String, Object> data = new ConcurrentHashMap<>(entries);
-
-        for (int i = 0; i < entries; i++) {
-          int keylen = buffer.getInt(pos);
+      byte[] keyBytes = buffer.getBytes(pos, pos + keylen);
+      pos += keylen;
+      String key = new String(keyBytes, UTF8);
+      byte type = buffer.getByte(pos++);
+      Object val;
+      switch (type) {
+        case TYPE_LONG:
+          val = buffer.getLong(pos);
+          pos += 8;
+          break;
+        case TYPE_INT:
+          val = buffer.getInt(pos);
+          pos += 4;
+          break;
+        case TYPE_SHORT:
+          val = buffer.getShort(pos);
+          pos += 2;
+          break;
+        case TYPE_BYTE:
+          val = buffer.getByte(pos);
+          pos++;
+          break;
+        case TYPE_FLOAT:
+          val = buffer.getFloat(pos);
+          pos += 4;
+          break;
+        case TYPE_DOUBLE:
+          val = buffer.getDouble(pos);
+          pos += 8;
+          break;
+        case TYPE_CHAR:
+          short s = buffer.getShort(pos);
+          pos += 2;
+          val = (char) s;
+          break;
+        case TYPE_BOOLEAN:
+          byte b = buffer.getByte(pos);
+          pos++;
+          val = b == 1;
+          break;
+        case TYPE_STRING:
+          int len = buffer.getInt(pos);
           pos += 4;
-          byte[] keyBytes = buffer.getBytes(pos, pos + keylen);
-          pos += keylen;
-          String key = new String(keyBytes, UTF8);
-          byte type = buffer.getByte(pos++);
-          Object val;
-          switch (type) {
-            case TYPE_LONG:
-              val = buffer.getLong(pos);
-              pos += 8;
-              break;
-            case TYPE_INT:
-              val = buffer.getInt(pos);
-              pos += 4;
-              break;
-            case TYPE_SHORT:
-              val = buffer.getShort(pos);
-              pos += 2;
-              break;
-            case TYPE_BYTE:
-              val = buffer.getByte(pos);
-              pos++;
-              break;
-            case TYPE_FLOAT:
-              val = buffer.getFloat(pos);
-              pos += 4;
-              break;
-            case TYPE_DOUBLE:
-              val = buffer.getDouble(pos);
-              pos += 8;
-              break;
-            case TYPE_CHAR:
-              short s = buffer.getShort(pos);
-              pos += 2;
-              val = (char) s;
-              break;
-            case TYPE_BOOLEAN:
-              byte b = buffer.getByte(pos);
-              pos++;
-              val = b == 1;
-              break;
-            case TYPE_STRING:
-              int len = buffer.getInt(pos);
-              pos += 4;
-              byte[] bytes = buffer.getBytes(pos, pos + len);
-              val = new String(bytes, UTF8);
-              pos += len;
-              break;
-            case TYPE_BUFFER:
-              len = buffer.getInt(pos);
-              pos += 4;
-              bytes = buffer.getBytes(pos, pos + len);
-              val = Buffer.buffer(bytes);
-              pos += len;
-              break;
-            case TYPE_BYTES:
-              len = buffer.getInt(pos);
-              pos += 4;
-              val = buffer.getBytes(pos, pos + len);
-              pos += len;
-              break;
-            case TYPE_CLUSTER_SERIALIZABLE:
-              int classNameLen = buffer.getInt(pos);
-              pos += 4;
-              byte[] classNameBytes = buffer.getBytes(pos, pos + classNameLen);
-              pos += classNameLen;
-              String className = new String(classNameBytes, UTF8);
-              Class<?> clazz = Utils.getClassLoader().loadClass(className);
-              if (!ClusterSerializable.class.isAssignableFrom(clazz)) {
-                throw new ClassCastException(new String(classNameBytes, StandardCharsets.UTF_8) + " is not assignable from ClusterSerializable");
-              }
-              ClusterSerializable obj = (ClusterSerializable) clazz.getDeclaredConstructor().newInstance();
-              pos = obj.readFromBuffer(pos, buffer);
-              val = obj;
-              break;
-            default:
-              throw new IllegalStateException("Invalid serialized type: " + type);
+          byte[] bytes = buffer.getBytes(pos, pos + len);
+          val = new String(bytes, UTF8);
+          pos += len;
+          break;
+        case TYPE_BUFFER:
+          len = buffer.getInt(pos);
+          pos += 4;
+          bytes = buffer.getBytes(pos, pos + len);
+          val = Buffer.buffer(bytes);
+          pos += len;
+          break;
+        case TYPE_BYTES:
+          len = buffer.getInt(pos);
+          pos += 4;
+          val = buffer.getBytes(pos, pos + len);
+          pos += len;
+          break;
+        case TYPE_CLUSTER_SERIALIZABLE:
+          int classNameLen = buffer.getInt(pos);
+          pos += 4;
+          byte[] classNameBytes = buffer.getBytes(pos, pos + classNameLen);
+          pos += classNameLen;
+          String className = new String(classNameBytes, UTF8);
+          Class<?> clazz = Utils.getClassLoader().loadClass(className);
+          if (!ClusterSerializable.class.isAssignableFrom(clazz)) {
+            throw new ClassCastException(new String(classNameBytes, StandardCharsets.UTF_8) + " is not assignable from ClusterSerializable");
           }
-          data.put(key, val);
-        }
-        setData(data);
+          ClusterSerializable obj = (ClusterSerializable) clazz.getDeclaredConstructor().newInstance();
+          pos = obj.readFromBuffer(pos, buffer);
+          val = obj;
+          break;
+        default:
+          throw new IllegalStateException("Invalid serialized type: " + type);
       }
+      data.put(key, val);
       return pos;
     } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException e) {
       throw new VertxException(e);
@@ -86,4 +86,17 @@ public interface LocalSessionStore extends SessionStore {
       .put("mapName", sessionMapName));
     return store;
   }
+
+  /**
+   * The expired sessions are removed by the reaper of any of the stores using the same session map, so the sessions
+   * stored by a store that has been closed are still removed.
+   *
+   * @return the number of expired sessions removed by the reaper of this store
+   */
+  long reapedCount();
+
+  /**
+   * @return the time, in ns, the last run of the reaper of this store took
+   */
+  long lastReapTime();
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.sstore;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.sstore.impl.NearCacheSessionStoreImpl;
+
+/**
+ * A session store keeping a copy of the recently used sessions on the node, in front of a remote store such as a
+ * clustered or a Redis store.
+ * <p>
+ * Reads are served from the node for a bounded time after the session was last read from or written to the remote
+ * store, writes always go through the remote store which validates the session version. A session modified by another
+ * node is seen once the local copy is stale and a write made from an outdated copy fails, so this store is best used
+ * with sticky sessions.
+ */
+@VertxGen
+public interface NearCacheSessionStore extends SessionStore {
+
+  /**
+   * Default max number of sessions kept on the node
+   */
+  int DEFAULT_MAX_SESSIONS = 10_000;
+
+  /**
+   * Default time, in ms, a session is read from the node before being read again from the remote store
+   */
+  long DEFAULT_MAX_STALENESS = 1000;
+
+  /**
+   * Create a session store
+   *
+   * @param vertx  the Vert.x instance
+   * @param remote  the remote store
+   * @return the session store
+   */
+  static NearCacheSessionStore create(Vertx vertx, SessionStore remote) {
+    return create(vertx, remote, DEFAULT_MAX_SESSIONS, DEFAULT_MAX_STALENESS);
+  }
+
+  /**
+   * Create a session store
+   *
+   * @param vertx  the Vert.x instance
+   * @param remote  the remote store
+   * @param maxSessions  the max number of sessions kept on the node
+   * @param maxStaleness  the time, in ms, a session is read from the node before being read again from the remote store,
+   *                      {@code 0} means the sessions are always read from the remote store
+   * @return the session store
+   * @throws IllegalArgumentException when {@code maxStaleness} is negative
+   */
+  static NearCacheSessionStore create(Vertx vertx, SessionStore remote, int maxSessions, long maxStaleness) {
+    NearCacheSessionStoreImpl store = new NearCacheSessionStoreImpl(remote);
+    store.init(vertx, new JsonObject()
+      .put("maxSessions", maxSessions)
+      .put("maxStaleness", maxStaleness));
+    return store;
+  }
+}
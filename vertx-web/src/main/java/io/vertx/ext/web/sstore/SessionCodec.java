@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.sstore;
+
+import io.vertx.core.ServiceHelper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.sstore.impl.DefaultSessionCodec;
+
+import java.util.Map;
+
+/**
+ * Serializes the data of a {@link AbstractSession}, used by the session stores to persist or transfer sessions.
+ * <p>
+ * The codec in use is loaded with the {@link java.util.ServiceLoader}, when none is found the default compact codec
+ * is used. All the nodes sharing sessions must use the same codec. Sessions serialized by a codec must be readable by
+ * the next versions of this codec, a codec should write a format version ahead of the data.
+ * <p>
+ * Data written by previous versions of Vert.x Web, before codecs were introduced, can still be read.
+ */
+public interface SessionCodec {
+
+  /**
+   * @return the codec loaded with the {@link java.util.ServiceLoader} or the default one
+   */
+  static SessionCodec load() {
+    SessionCodec codec = ServiceHelper.loadFactoryOrNull(SessionCodec.class);
+    return codec != null ? codec : new DefaultSessionCodec();
+  }
+
+  /**
+   * Write all the session entries.
+   *
+   * @param data the session data
+   * @param buffer the buffer to write to
+   */
+  void encode(Map<String, Object> data, Buffer buffer);
+
+  /**
+   * Read the session entries written by {@link #encode(Map, Buffer)}.
+   *
+   * @param buffer the buffer to read from
+   * @param pos the position of the data in the buffer
+   * @param data the map the entries are added to
+   * @return the position after the data
+   */
+  int decode(Buffer buffer, int pos, Map<String, Object> data);
+
+  /**
+   * Write a single session entry, for stores persisting entries individually.
+   *
+   * @param key the entry key
+   * @param value the entry value
+   * @param buffer the buffer to write to
+   */
+  void encodeEntry(String key, Object value, Buffer buffer);
+
+  /**
+   * Read a single session entry written by {@link #encodeEntry(String, Object, Buffer)}.
+   *
+   * @param buffer the buffer to read from
+   * @param pos the position of the entry in the buffer
+   * @param data the map the entry is added to
+   * @return the position after the entry
+   */
+  int decodeEntry(Buffer buffer, int pos, Map<String, Object> data);
+}
@@ -140,6 +140,20 @@ public interface SessionStore {
    */
   Future<Void> put(Session session);
 
+  /**
+   * Store the changes made to a session since it was read from this store. Stores able to update a session partially
+   * only write the modified and removed entries, see {@link AbstractSession#modifiedKeys()} and
+   * {@link AbstractSession#removedKeys()}.
+   * <p>
+   * The default implementation stores the whole session with {@link #put(Session)}.
+   *
+   * @param session  the session
+   * @return future that will be called with a result, or a failure
+   */
+  default Future<Void> putDelta(Session session) {
+    return put(session);
+  }
+
   /**
    * Remove all sessions from the store.
    *
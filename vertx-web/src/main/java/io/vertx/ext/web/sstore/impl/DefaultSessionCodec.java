@@ -0,0 +1,401 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.sstore.impl;
+
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.ClusterSerializable;
+import io.vertx.ext.web.handler.impl.UserHolder;
+import io.vertx.ext.web.impl.Utils;
+import io.vertx.ext.web.sstore.SessionCodec;
+
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The default compact session codec.
+ * <p>
+ * Lengths and integers are written as variable length integers, well known {@link ClusterSerializable} types are
+ * written with a small id instead of their class name, and the data is compressed with deflate once larger than a
+ * threshold.
+ * <p>
+ * Format: version byte, flags byte, then the entries. When compressed, the uncompressed and compressed lengths
+ * precede the compressed entries.
+ */
+public class DefaultSessionCodec implements SessionCodec {
+
+  /**
+   * Default size, in bytes, above which the data is compressed
+   */
+  public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+  private static final byte VERSION = 1;
+  private static final byte FLAG_DEFLATED = 1;
+
+  private static final byte TYPE_LONG = 1;
+  private static final byte TYPE_INT = 2;
+  private static final byte TYPE_SHORT = 3;
+  private static final byte TYPE_BYTE = 4;
+  private static final byte TYPE_DOUBLE = 5;
+  private static final byte TYPE_FLOAT = 6;
+  private static final byte TYPE_CHAR = 7;
+  private static final byte TYPE_BOOLEAN = 8;
+  private static final byte TYPE_STRING = 9;
+  private static final byte TYPE_BUFFER = 10;
+  private static final byte TYPE_BYTES = 11;
+  private static final byte TYPE_KNOWN_CLUSTER_SERIALIZABLE = 12;
+  private static final byte TYPE_CLUSTER_SERIALIZABLE = 13;
+
+  // the ids are part of the format, types can only be appended
+  private static final List<Class<? extends ClusterSerializable>> BUILTIN_TYPES = Arrays.asList(
+    JsonObject.class,
+    JsonArray.class,
+    UserHolder.class);
+
+  private final int compressionThreshold;
+  private final List<Class<? extends ClusterSerializable>> types;
+  private final Map<Class<?>, Integer> typeIds;
+  private final Map<String, Constructor<? extends ClusterSerializable>> constructors = new ConcurrentHashMap<>();
+
+  public DefaultSessionCodec() {
+    this(DEFAULT_COMPRESSION_THRESHOLD, Collections.emptyList());
+  }
+
+  /**
+   * @param compressionThreshold the size, in bytes, above which the data is compressed, a negative value disables
+   *                             compression
+   * @param types the {@link ClusterSerializable} types written with an id instead of their class name, all the nodes
+   *              must register the same types in the same order
+   */
+  public DefaultSessionCodec(int compressionThreshold, List<Class<? extends ClusterSerializable>> types) {
+    this.compressionThreshold = compressionThreshold;
+    this.types = new ArrayList<>(BUILTIN_TYPES);
+    this.types.addAll(types);
+    this.typeIds = new HashMap<>();
+    for (int i = 0; i < this.types.size(); i++) {
+      typeIds.put(this.types.get(i), i);
+    }
+  }
+
+  @Override
+  public void encode(Map<String, Object> data, Buffer buffer) {
+    final Buffer payload = Buffer.buffer();
+    int size = 0;
+    for (Map.Entry<String, Object> entry : data.entrySet()) {
+      // null values are skipped
+      if (entry.getValue() != null) {
+        size++;
+      }
+    }
+    writeVarInt(payload, size);
+    for (Map.Entry<String, Object> entry : data.entrySet()) {
+      if (entry.getValue() != null) {
+        writeEntry(entry.getKey(), entry.getValue(), payload);
+      }
+    }
+    writePayload(payload, buffer);
+  }
+
+  @Override
+  public int decode(Buffer buffer, int pos, Map<String, Object> data) {
+    final int[] cursor = {pos};
+    final Buffer payload = readPayload(buffer, cursor);
+    final int[] payloadPos = {payload == buffer ? cursor[0] : 0};
+    final int size = readVarInt(payload, payloadPos);
+    for (int i = 0; i < size; i++) {
+      readEntry(payload, payloadPos, data);
+    }
+    return payload == buffer ? payloadPos[0] : cursor[0];
+  }
+
+  @Override
+  public void encodeEntry(String key, Object value, Buffer buffer) {
+    final Buffer payload = Buffer.buffer();
+    writeEntry(key, value, payload);
+    writePayload(payload, buffer);
+  }
+
+  @Override
+  public int decodeEntry(Buffer buffer, int pos, Map<String, Object> data) {
+    final int[] cursor = {pos};
+    final Buffer payload = readPayload(buffer, cursor);
+    final int[] payloadPos = {payload == buffer ? cursor[0] : 0};
+    readEntry(payload, payloadPos, data);
+    return payload == buffer ? payloadPos[0] : cursor[0];
+  }
+
+  private void writePayload(Buffer payload, Buffer buffer) {
+    buffer.appendByte(VERSION);
+    if (compressionThreshold >= 0 && payload.length() > compressionThreshold) {
+      final byte[] raw = payload.getBytes();
+      final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+        deflater.setInput(raw);
+        deflater.finish();
+        final Buffer compressed = Buffer.buffer(raw.length / 2);
+        final byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+          int len = deflater.deflate(chunk);
+          compressed.appendBytes(chunk, 0, len);
+        }
+        if (compressed.length() < raw.length) {
+          buffer.appendByte(FLAG_DEFLATED);
+          writeVarInt(buffer, raw.length);
+          writeVarInt(buffer, compressed.length());
+          buffer.appendBuffer(compressed);
+          return;
+        }
+      } finally {
+        deflater.end();
+      }
+    }
+    buffer.appendByte((byte) 0);
+    buffer.appendBuffer(payload);
+  }
+
+  /**
+   * Read the header and return the buffer holding the entries, either the given buffer with the cursor on the
+   * entries, or the decompressed entries with the cursor after the compressed ones.
+   */
+  private Buffer readPayload(Buffer buffer, int[] cursor) {
+    final byte version = buffer.getByte(cursor[0]++);
+    if (version != VERSION) {
+      throw new IllegalStateException("Unsupported session format version: " + version);
+    }
+    final byte flags = buffer.getByte(cursor[0]++);
+    if ((flags & FLAG_DEFLATED) == 0) {
+      return buffer;
+    }
+
+    final int rawLength = readVarInt(buffer, cursor);
+    final int compressedLength = readVarInt(buffer, cursor);
+    final byte[] raw = new byte[rawLength];
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(buffer.getBytes(cursor[0], cursor[0] + compressedLength));
+      int len = 0;
+      while (len < rawLength && !inflater.finished()) {
+        int n = inflater.inflate(raw, len, rawLength - len);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        len += n;
+      }
+      if (len != rawLength) {
+        throw new IllegalStateException("Invalid compressed session data");
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Invalid compressed session data", e);
+    } finally {
+      inflater.end();
+    }
+    cursor[0] += compressedLength;
+    return Buffer.buffer(raw);
+  }
+
+  private void writeEntry(String key, Object val, Buffer buffer) {
+    writeBytes(buffer, key.getBytes(StandardCharsets.UTF_8));
+    if (val instanceof Long) {
+      buffer.appendByte(TYPE_LONG);
+      writeVarLong(buffer, zigZag((long) val));
+    } else if (val instanceof Integer) {
+      buffer.appendByte(TYPE_INT);
+      writeVarLong(buffer, zigZag((int) val));
+    } else if (val instanceof Short) {
+      buffer.appendByte(TYPE_SHORT).appendShort((short) val);
+    } else if (val instanceof Byte) {
+      buffer.appendByte(TYPE_BYTE).appendByte((byte) val);
+    } else if (val instanceof Double) {
+      buffer.appendByte(TYPE_DOUBLE).appendDouble((double) val);
+    } else if (val instanceof Float) {
+      buffer.appendByte(TYPE_FLOAT).appendFloat((float) val);
+    } else if (val instanceof Character) {
+      buffer.appendByte(TYPE_CHAR).appendShort((short) ((Character) val).charValue());
+    } else if (val instanceof Boolean) {
+      buffer.appendByte(TYPE_BOOLEAN).appendByte((byte) ((boolean) val ? 1 : 0));
+    } else if (val instanceof String) {
+      buffer.appendByte(TYPE_STRING);
+      writeBytes(buffer, ((String) val).getBytes(StandardCharsets.UTF_8));
+    } else if (val instanceof Buffer) {
+      Buffer buff = (Buffer) val;
+      buffer.appendByte(TYPE_BUFFER);
+      writeVarInt(buffer, buff.length());
+      buffer.appendBuffer(buff);
+    } else if (val instanceof byte[]) {
+      buffer.appendByte(TYPE_BYTES);
+      writeBytes(buffer, (byte[]) val);
+    } else if (val instanceof ClusterSerializable) {
+      final Integer id = typeIds.get(val.getClass());
+      if (id != null) {
+        buffer.appendByte(TYPE_KNOWN_CLUSTER_SERIALIZABLE);
+        writeVarInt(buffer, id);
+      } else {
+        buffer.appendByte(TYPE_CLUSTER_SERIALIZABLE);
+        writeBytes(buffer, val.getClass().getName().getBytes(StandardCharsets.UTF_8));
+      }
+      ((ClusterSerializable) val).writeToBuffer(buffer);
+    } else {
+      throw new IllegalStateException("Invalid type for data in session: " + val.getClass());
+    }
+  }
+
+  private void readEntry(Buffer buffer, int[] cursor, Map<String, Object> data) {
+    final String key = new String(readBytes(buffer, cursor), StandardCharsets.UTF_8);
+    final byte type = buffer.getByte(cursor[0]++);
+    final Object val;
+    switch (type) {
+      case TYPE_LONG:
+        val = unZigZag(readVarLong(buffer, cursor));
+        break;
+      case TYPE_INT:
+        val = (int) unZigZag(readVarLong(buffer, cursor));
+        break;
+      case TYPE_SHORT:
+        val = buffer.getShort(cursor[0]);
+        cursor[0] += 2;
+        break;
+      case TYPE_BYTE:
+        val = buffer.getByte(cursor[0]++);
+        break;
+      case TYPE_DOUBLE:
+        val = buffer.getDouble(cursor[0]);
+        cursor[0] += 8;
+        break;
+      case TYPE_FLOAT:
+        val = buffer.getFloat(cursor[0]);
+        cursor[0] += 4;
+        break;
+      case TYPE_CHAR:
+        val = (char) buffer.getShort(cursor[0]);
+        cursor[0] += 2;
+        break;
+      case TYPE_BOOLEAN:
+        val = buffer.getByte(cursor[0]++) == 1;
+        break;
+      case TYPE_STRING:
+        val = new String(readBytes(buffer, cursor), StandardCharsets.UTF_8);
+        break;
+      case TYPE_BUFFER:
+        val = Buffer.buffer(readBytes(buffer, cursor));
+        break;
+      case TYPE_BYTES:
+        val = readBytes(buffer, cursor);
+        break;
+      case TYPE_KNOWN_CLUSTER_SERIALIZABLE:
+        final int id = readVarInt(buffer, cursor);
+        if (id >= types.size()) {
+          throw new IllegalStateException("Unknown session type id: " + id);
+        }
+        val = readClusterSerializable(types.get(id).getName(), buffer, cursor);
+        break;
+      case TYPE_CLUSTER_SERIALIZABLE:
+        val = readClusterSerializable(new String(readBytes(buffer, cursor), StandardCharsets.UTF_8), buffer, cursor);
+        break;
+      default:
+        throw new IllegalStateException("Invalid serialized type: " + type);
+    }
+    data.put(key, val);
+  }
+
+  private ClusterSerializable readClusterSerializable(String className, Buffer buffer, int[] cursor) {
+    try {
+      final ClusterSerializable obj = constructor(className).newInstance();
+      cursor[0] = obj.readFromBuffer(cursor[0], buffer);
+      return obj;
+    } catch (ReflectiveOperationException e) {
+      throw new VertxException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Constructor<? extends ClusterSerializable> constructor(String className) throws ReflectiveOperationException {
+    Constructor<? extends ClusterSerializable> constructor = constructors.get(className);
+    if (constructor == null) {
+      // resolved once per class instead of once per value
+      final Class<?> clazz = Utils.getClassLoader().loadClass(className);
+      if (!ClusterSerializable.class.isAssignableFrom(clazz)) {
+        throw new ClassCastException(className + " is not assignable from ClusterSerializable");
+      }
+      constructor = ((Class<? extends ClusterSerializable>) clazz).getDeclaredConstructor();
+      constructors.put(className, constructor);
+    }
+    return constructor;
+  }
+
+  private static void writeBytes(Buffer buffer, byte[] bytes) {
+    writeVarInt(buffer, bytes.length);
+    buffer.appendBytes(bytes);
+  }
+
+  private static byte[] readBytes(Buffer buffer, int[] cursor) {
+    final int len = readVarInt(buffer, cursor);
+    final byte[] bytes = buffer.getBytes(cursor[0], cursor[0] + len);
+    cursor[0] += len;
+    return bytes;
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarInt(Buffer buffer, int value) {
+    writeVarLong(buffer, value & 0xFFFFFFFFL);
+  }
+
+  private static int readVarInt(Buffer buffer, int[] cursor) {
+    final long value = readVarLong(buffer, cursor);
+    if (value > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Invalid session data length: " + value);
+    }
+    return (int) value;
+  }
+
+  private static void writeVarLong(Buffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.appendByte((byte) value);
+  }
+
+  private static long readVarLong(Buffer buffer, int[] cursor) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final byte b = buffer.getByte(cursor[0]++);
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Invalid variable length integer");
+  }
+}
@@ -24,14 +24,18 @@ import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
 import io.vertx.ext.auth.VertxContextPRNG;
 import io.vertx.ext.web.Session;
 import io.vertx.ext.web.sstore.AbstractSession;
 import io.vertx.ext.web.sstore.LocalSessionStore;
 import io.vertx.ext.web.sstore.SessionStore;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -48,11 +52,27 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
    */
   private static final String DEFAULT_SESSION_MAP_NAME = "vertx-web.sessions";
 
+  /**
+   * Default max number of sessions checked by the reaper at once
+   */
+  private static final int DEFAULT_REAPER_BATCH_SIZE = 1000;
+
+  /**
+   * Name of the map holding the expiration index of each session map
+   */
+  private static final String EXPIRATIONS_MAP_NAME = "_vertx.web.sessionexpirations";
 
   private LocalMap<String, Session> localMap;
   private long reaperInterval;
+  private int reaperBatchSize;
   private VertxContextPRNG random;
 
+  // shared by the stores of the session map, so any of them reaps the sessions stored by the others
+  private ExpirationIndex index;
+
+  private final LongAdder reaped = new LongAdder();
+  private volatile long lastReapTime;
+
   private long timerID = -1;
   private boolean closed;
 
@@ -74,7 +94,10 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
     this.random = VertxContextPRNG.current(vertx);
     this.vertx = (VertxInternal) vertx;
     this.reaperInterval = options.getLong("reaperInterval", DEFAULT_REAPER_INTERVAL);
-    localMap = vertx.sharedData().getLocalMap(options.getString("mapName", DEFAULT_SESSION_MAP_NAME));
+    this.reaperBatchSize = options.getInteger("reaperBatchSize", DEFAULT_REAPER_BATCH_SIZE);
+    final String mapName = options.getString("mapName", DEFAULT_SESSION_MAP_NAME);
+    localMap = vertx.sharedData().getLocalMap(mapName);
+    index = ExpirationIndex.get(vertx, mapName);
     setTimer();
 
     return this;
@@ -95,6 +118,7 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
   public Future<Void> delete(String id) {
     final ContextInternal ctx = vertx.getOrCreateContext();
     localMap.remove(id);
+    index.unschedule(id);
     return ctx.succeededFuture();
   }
 
@@ -113,6 +137,7 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
 
     newSession.incrementVersion();
     localMap.put(session.id(), session);
+    index.schedule(session.id(), session.lastAccessed() + session.timeout());
     return ctx.succeededFuture();
   }
 
@@ -120,6 +145,7 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
   public Future<Void> clear() {
     final ContextInternal ctx = vertx.getOrCreateContext();
     localMap.clear();
+    index.clear();
     return ctx.succeededFuture();
   }
 
@@ -139,22 +165,54 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
   }
 
   @Override
-  public synchronized void handle(Long tid) {
-    long now = System.currentTimeMillis();
+  public long reapedCount() {
+    return reaped.sum();
+  }
 
-    Set<String> toRemove = new HashSet<>();
+  @Override
+  public long lastReapTime() {
+    return lastReapTime;
+  }
 
-    localMap.forEach((String id, Session session) -> {
-      if (now - session.lastAccessed() > session.timeout()) {
-        toRemove.add(id);
-      }
-    });
+  @Override
+  public synchronized void handle(Long tid) {
+    final long start = System.nanoTime();
+    final long now = System.currentTimeMillis();
 
-    for (String id: toRemove) {
-      localMap.remove(id);
+    int count = 0;
+    Expiration expiration;
+    while (count < reaperBatchSize && (expiration = index.expirations.pollFirst()) != null) {
+      if (expiration.time >= now) {
+        // nothing else expired yet
+        index.expirations.add(expiration);
+        break;
+      }
+      count++;
+      if (!index.expirationTimes.remove(expiration.id, expiration.time)) {
+        // the session was stored again or deleted meanwhile
+        continue;
+      }
+      final Session session = localMap.get(expiration.id);
+      if (session != null) {
+        if (now - session.lastAccessed() > session.timeout()) {
+          if (localMap.removeIfPresent(expiration.id, session)) {
+            reaped.increment();
+          }
+        } else {
+          // the session has been accessed without being stored again
+          index.schedule(expiration.id, session.lastAccessed() + session.timeout());
+        }
+      }
     }
+    lastReapTime = System.nanoTime() - start;
+
     if (!closed) {
-      setTimer();
+      if (count == reaperBatchSize) {
+        // more sessions might have expired, let other events run before the next batch
+        timerID = vertx.setTimer(1, this);
+      } else {
+        setTimer();
+      }
     }
   }
 
@@ -163,4 +221,73 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
       timerID = vertx.setTimer(reaperInterval, this);
     }
   }
+
+  /**
+   * The sessions of a session map ordered by expiration time, so the reaper only visits expired sessions.
+   */
+  private static final class ExpirationIndex implements Shareable {
+
+    private final NavigableSet<Expiration> expirations = new ConcurrentSkipListSet<>();
+    private final Map<String, Long> expirationTimes = new ConcurrentHashMap<>();
+
+    static ExpirationIndex get(Vertx vertx, String mapName) {
+      final LocalMap<String, ExpirationIndex> indexes = vertx.sharedData().getLocalMap(EXPIRATIONS_MAP_NAME);
+      final ExpirationIndex candidate = new ExpirationIndex();
+      final ExpirationIndex index = indexes.putIfAbsent(mapName, candidate);
+      return index == null ? candidate : index;
+    }
+
+    void schedule(String id, long time) {
+      final Long previous = expirationTimes.put(id, time);
+      if (previous != null) {
+        if (previous == time) {
+          return;
+        }
+        expirations.remove(new Expiration(id, previous));
+      }
+      expirations.add(new Expiration(id, time));
+    }
+
+    void unschedule(String id) {
+      final Long previous = expirationTimes.remove(id);
+      if (previous != null) {
+        expirations.remove(new Expiration(id, previous));
+      }
+    }
+
+    void clear() {
+      expirationTimes.clear();
+      expirations.clear();
+    }
+  }
+
+  private static final class Expiration implements Comparable<Expiration> {
+    final String id;
+    final long time;
+
+    Expiration(String id, long time) {
+      this.id = id;
+      this.time = time;
+    }
+
+    @Override
+    public int compareTo(Expiration other) {
+      int cmp = Long.compare(time, other.time);
+      return cmp != 0 ? cmp : id.compareTo(other.id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Expiration)) {
+        return false;
+      }
+      Expiration other = (Expiration) o;
+      return time == other.time && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * id.hashCode() + Long.hashCode(time);
+    }
+  }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.sstore.impl;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.VertxContextPRNG;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.impl.ConcurrentLRUCache;
+import io.vertx.ext.web.sstore.NearCacheSessionStore;
+import io.vertx.ext.web.sstore.SessionStore;
+
+import java.util.Objects;
+
+/**
+ * The sessions are kept serialized on the node, so every request works on its own copy of the session.
+ */
+public class NearCacheSessionStoreImpl implements NearCacheSessionStore {
+
+  private final SessionStore remote;
+
+  private VertxInternal vertx;
+  private VertxContextPRNG random;
+  // null when the sessions are always read from the remote store
+  private ConcurrentLRUCache<String, CachedSession> cache;
+
+  public NearCacheSessionStoreImpl(SessionStore remote) {
+    this.remote = Objects.requireNonNull(remote, "remote is required");
+  }
+
+  @Override
+  public SessionStore init(Vertx vertx, JsonObject options) {
+    this.vertx = (VertxInternal) vertx;
+    this.random = VertxContextPRNG.current(vertx);
+    final long maxStaleness = options.getLong("maxStaleness", DEFAULT_MAX_STALENESS);
+    if (maxStaleness < 0) {
+      throw new IllegalArgumentException("maxStaleness must be >= 0");
+    }
+    // a time to live of 0 would never expire the copies
+    this.cache = maxStaleness == 0 ? null : new ConcurrentLRUCache<>(
+      options.getInteger("maxSessions", DEFAULT_MAX_SESSIONS),
+      maxStaleness);
+    return this;
+  }
+
+  @Override
+  public long retryTimeout() {
+    return remote.retryTimeout();
+  }
+
+  @Override
+  public Session createSession(long timeout) {
+    return remote.createSession(timeout);
+  }
+
+  @Override
+  public Session createSession(long timeout, int length) {
+    return remote.createSession(timeout, length);
+  }
+
+  @Override
+  public Future<@Nullable Session> get(String id) {
+    if (cache == null) {
+      return remote.get(id);
+    }
+    final CachedSession cached = cache.get(id);
+    if (cached != null) {
+      if (cached.isExpired()) {
+        cache.remove(id);
+      } else {
+        final ContextInternal ctx = vertx.getOrCreateContext();
+        return ctx.succeededFuture(cached.session(random));
+      }
+    }
+
+    return remote.get(id)
+      .onSuccess(session -> {
+        if (session == null) {
+          cache.remove(id);
+        } else {
+          cache(session);
+        }
+      });
+  }
+
+  @Override
+  public Future<Void> delete(String id) {
+    if (cache != null) {
+      cache.remove(id);
+    }
+    return remote.delete(id);
+  }
+
+  @Override
+  public Future<Void> put(Session session) {
+    return writeThrough(session, remote.put(session));
+  }
+
+  @Override
+  public Future<Void> putDelta(Session session) {
+    return writeThrough(session, remote.putDelta(session));
+  }
+
+  private Future<Void> writeThrough(Session session, Future<Void> write) {
+    if (cache == null) {
+      return write;
+    }
+    return write.onComplete(ar -> {
+      if (ar.succeeded()) {
+        cache(session);
+      } else {
+        // the copy may be outdated (version mismatch) or the remote state unknown, read it again next time
+        cache.remove(session.id());
+      }
+    });
+  }
+
+  private void cache(Session session) {
+    if (session instanceof SharedDataSessionImpl) {
+      final Buffer buffer = Buffer.buffer();
+      ((SharedDataSessionImpl) session).writeToBuffer(buffer);
+      cache.put(session.id(), new CachedSession(buffer, session.lastAccessed() + session.timeout()));
+    }
+  }
+
+  @Override
+  public Future<Void> clear() {
+    if (cache != null) {
+      cache.clear();
+    }
+    return remote.clear();
+  }
+
+  @Override
+  public Future<Integer> size() {
+    return remote.size();
+  }
+
+  @Override
+  public void close() {
+    if (cache != null) {
+      cache.clear();
+    }
+    remote.close();
+  }
+
+  private static final class CachedSession {
+    final Buffer buffer;
+    final long expires;
+
+    CachedSession(Buffer buffer, long expires) {
+      this.buffer = buffer;
+      this.expires = expires;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() > expires;
+    }
+
+    Session session(VertxContextPRNG random) {
+      final SharedDataSessionImpl session = new SharedDataSessionImpl(random);
+      session.readFromBuffer(0, buffer);
+      return session;
+    }
+  }
+}
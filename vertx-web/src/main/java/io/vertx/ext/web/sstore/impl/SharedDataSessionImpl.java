@@ -24,6 +24,8 @@ import io.vertx.ext.web.sstore.AbstractSession;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -48,6 +50,39 @@ public class SharedDataSessionImpl extends AbstractSession implements ClusterSer
     super(random, timeout, length);
   }
 
+  /**
+   * Serialize the entry stored under the given key, for stores persisting the session entries individually.
+   *
+   * @param key the entry key
+   * @return the serialized entry or {@code null} when there is no value for the key
+   */
+  public Buffer writeEntryToBuffer(String key) {
+    Object val = get(key);
+    if (val == null) {
+      return null;
+    }
+    Buffer buffer = Buffer.buffer();
+    writeEntryToBuffer(key, val, buffer);
+    return buffer;
+  }
+
+  /**
+   * Restore a session persisted with its entries serialized individually by {@link #writeEntryToBuffer(String)}.
+   */
+  public void readFromEntries(String id, long timeout, long lastAccessed, int version, Iterable<Buffer> entries) {
+    setId(id);
+    setTimeout(timeout);
+    setLastAccessed(lastAccessed);
+    setVersion(version);
+    Map<String, Object> data = new ConcurrentHashMap<>();
+    for (Buffer entry : entries) {
+      readEntryFromBuffer(0, entry, data);
+    }
+    setData(data);
+    // the entries can be stored one by one, keep track of their changes
+    snapshot();
+  }
+
   @Override
   public void writeToBuffer(Buffer buff) {
     byte[] bytes = id().getBytes(UTF8);
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.web;
+
+import io.vertx.ext.web.impl.ConcurrentLRUCache;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentLRUCacheTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCacheInvalidSize() {
+    new ConcurrentLRUCache<>(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCacheInvalidTimeToLive() {
+    new ConcurrentLRUCache<>(10, -1);
+  }
+
+  @Test
+  public void testPutGetRemove() {
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(10);
+    cache.put("key", "value");
+    assertEquals("value", cache.get("key"));
+    assertEquals("value", cache.remove("key"));
+    assertNull(cache.get("key"));
+    assertEquals(1, cache.hitCount());
+    assertEquals(1, cache.missCount());
+  }
+
+  @Test
+  public void testBounded() {
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(10);
+    for (int i = 0; i < 1000; i++) {
+      cache.put("key" + i, "value" + i);
+    }
+    assertTrue(cache.size() <= 10);
+    assertEquals(1000 - cache.size(), cache.evictionCount());
+    // the most recent entry is always kept
+    assertEquals("value999", cache.get("key999"));
+  }
+
+  @Test
+  public void testSingleEntry() {
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(1);
+    cache.put("a", "1");
+    cache.put("b", "2");
+    assertNull(cache.get("a"));
+    assertEquals("2", cache.get("b"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testExpiration() throws Exception {
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(10, 50);
+    cache.put("key", "value");
+    assertEquals("value", cache.get("key"));
+    Thread.sleep(60);
+    assertNull(cache.get("key"));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.evictionCount());
+  }
+
+  @Test
+  public void testWeighted() {
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(1000, 0, String::length);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(cache.put("key" + i, "value" + i));
+    }
+    assertTrue(cache.weight() <= 1000);
+    assertEquals("value999", cache.get("key999"));
+    // heavier than a segment
+    assertFalse(cache.put("key999", new String(new char[1001])));
+    assertNull(cache.get("key999"));
+  }
+
+  @Test
+  public void testWeightedMaxEntry() {
+    // whatever the number of cores, a segment can hold the heaviest entry
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(2048, 1024, 0, String::length);
+    String value = new String(new char[1024]);
+    assertTrue(cache.put("key", value));
+    assertSame(value, cache.get("key"));
+    assertTrue(cache.put("other", value));
+    assertTrue(cache.weight() <= 2048);
+  }
+
+  @Test
+  public void testClear() {
+    ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(100);
+    for (int i = 0; i < 50; i++) {
+      cache.put("key" + i, "value" + i);
+    }
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(64);
+    int threads = 8;
+    CountDownLatch latch = new CountDownLatch(threads);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> workers = new ArrayList<>();
+
+    for (int t = 0; t < threads; t++) {
+      final int seed = t;
+      Thread worker = new Thread(() -> {
+        try {
+          for (int i = 0; i < 10_000; i++) {
+            int key = (i * 31 + seed) % 256;
+            Integer value = cache.get(key);
+            if (value != null) {
+              assertEquals(key, value.intValue());
+            }
+            cache.put(key, key);
+            if (i % 7 == 0) {
+              cache.remove(key);
+            }
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          latch.countDown();
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+
+    latch.await();
+    assertNull(failure.get());
+    assertTrue(cache.size() <= 64);
+    assertEquals(threads * 10_000, cache.hitCount() + cache.missCount());
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.web;
+
+import io.vertx.core.http.HttpMethod;
+import org.junit.Test;
+
+/**
+ * Runs the whole {@link RouterTest} suite with the compiled dispatch enabled.
+ */
+public class RouterCompiledDispatchTest extends RouterTest {
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    router.compiledDispatch(true);
+  }
+
+  @Test
+  public void testCompiledOrderWithMixedRoutes() throws Exception {
+    router.route("/api/*").handler(rc -> {
+      rc.put("trace", "a");
+      rc.next();
+    });
+    router.routeWithRegex("/api/.*").handler(rc -> {
+      rc.put("trace", rc.get("trace") + "b");
+      rc.next();
+    });
+    router.route("/api/:version/users").handler(rc -> {
+      rc.put("trace", rc.get("trace") + "c" + rc.pathParam("version"));
+      rc.next();
+    });
+    router.route("/api/v1/users").handler(rc -> rc.response().end(rc.get("trace") + "d"));
+    router.route("/api/v1/other").handler(rc -> rc.response().end("wrong"));
+
+    testRequest(HttpMethod.GET, "/api/v1/users", 200, "OK", "abcv1d");
+  }
+
+  @Test
+  public void testCompiledMethodNotAllowed() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      router.get("/resource" + i).handler(rc -> rc.response().end());
+    }
+    router.post("/target/:id").handler(rc -> rc.response().end());
+
+    testRequest(HttpMethod.GET, "/target/1", 405, "Method Not Allowed");
+    testRequest(HttpMethod.POST, "/target/1", 200, "OK");
+    testRequest(HttpMethod.GET, "/unknown", 404, "Not Found");
+  }
+
+  @Test
+  public void testCompiledPathChangedAfterAdd() throws Exception {
+    Route route = router.route().handler(rc -> rc.response().end("changed"));
+    // the index is compiled on the first request
+    testRequest(HttpMethod.GET, "/before", 200, "OK", "changed");
+
+    route.path("/after");
+    testRequest(HttpMethod.GET, "/before", 404, "Not Found");
+    testRequest(HttpMethod.GET, "/after", 200, "OK", "changed");
+  }
+
+  @Test
+  public void testCompiledWildcardPrefix() throws Exception {
+    router.route("/static*").handler(rc -> rc.response().end(rc.pathParam("*")));
+
+    testRequest(HttpMethod.GET, "/staticfoo/bar", 200, "OK", "foo/bar");
+    testRequest(HttpMethod.GET, "/stati", 404, "Not Found");
+  }
+
+  @Test
+  public void testCompiledSubRouter() throws Exception {
+    Router subRouter = Router.router(vertx).compiledDispatch(true);
+    subRouter.get("/").handler(rc -> rc.response().end("root"));
+    subRouter.get("/items/:id").handler(rc -> rc.response().end(rc.pathParam("id")));
+    router.route("/sub/*").subRouter(subRouter);
+
+    testRequest(HttpMethod.GET, "/sub/", 200, "OK", "root");
+    testRequest(HttpMethod.GET, "/sub/items/42", 200, "OK", "42");
+    testRequest(HttpMethod.GET, "/sub/items", 404, "Not Found");
+  }
+}
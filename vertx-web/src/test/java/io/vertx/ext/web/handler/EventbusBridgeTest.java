@@ -41,6 +41,7 @@ import io.vertx.ext.web.sstore.LocalSessionStore;
 import io.vertx.ext.web.sstore.SessionStore;
 import io.vertx.ext.bridge.PermittedOptions;
 import io.vertx.test.core.TestUtils;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -1262,6 +1263,73 @@ public class EventbusBridgeTest extends WebTestBase {
     assertEquals(match, options.getMatch());
   }
 
+  @Test
+  public void testCoalescingOptionsJson() {
+    SockJSBridgeOptions options = new SockJSBridgeOptions(new JsonObject()
+      .put("coalescingWindow", 50)
+      .put("coalescingMaxMessages", 10)
+      .put("backPressurePolicy", "DROP")
+      .put("maxParkedMessages", 20));
+    assertEquals(50, options.getCoalescingWindow());
+    assertEquals(10, options.getCoalescingMaxMessages());
+    assertEquals(BridgeBackPressurePolicy.DROP, options.getBackPressurePolicy());
+    assertEquals(20, options.getMaxParkedMessages());
+    assertEquals("DROP", options.toJson().getString("backPressurePolicy"));
+    assertEquals(SockJSBridgeOptions.DEFAULT_COALESCING_WINDOW, new SockJSBridgeOptions().getCoalescingWindow());
+  }
+
+  @Test
+  public void testCoalescedDelivery() throws Exception {
+    router.route("/eventbus/*").subRouter(sockJS.bridge(new SockJSBridgeOptions(allAccessOptions).setCoalescingWindow(100)));
+    int num = 5;
+    CountDownLatch latch = new CountDownLatch(1);
+    AtomicInteger received = new AtomicInteger();
+    BridgeClient client = new BridgeClient();
+    client.handler((address, msg) -> {
+      assertEquals("msg-" + received.getAndIncrement(), msg.getValue("body"));
+      if (received.get() == num) {
+        client.close().onComplete(onSuccess(v -> latch.countDown()));
+      }
+    });
+    client.connect(websocketURI)
+      .compose(v -> client.register(addr))
+      .onComplete(onSuccess(v -> vertx.setTimer(200, tid -> {
+        for (int i = 0; i < num; i++) {
+          vertx.eventBus().publish(addr, "msg-" + i);
+        }
+      })));
+    awaitLatch(latch);
+  }
+
+  @Test
+  public void testCoalescedDeliveryInSingleFrame() throws Exception {
+    Assume.assumeTrue(transport == Transport.WS);
+    router.route("/eventbus/*").subRouter(sockJS.bridge(new SockJSBridgeOptions(allAccessOptions).setCoalescingWindow(100)));
+    int num = 5;
+    client.webSocket("/eventbus/400/8ne8e94a/websocket").onComplete(onSuccess(ws -> {
+      ws.handler(buff -> {
+        String str = buff.toString();
+        if (str.equals("o")) {
+          JsonObject register = new JsonObject().put("type", "register").put("address", addr);
+          ws.writeTextMessage(JsonCodec.encode(new String[]{register.encode()}));
+          vertx.setTimer(200, tid -> {
+            for (int i = 0; i < num; i++) {
+              vertx.eventBus().publish(addr, "msg-" + i);
+            }
+          });
+        } else if (str.startsWith("a[")) {
+          List<String> msgList = JsonCodec.decodeValues(str.substring(1));
+          assertEquals(num, msgList.size());
+          for (int i = 0; i < num; i++) {
+            assertEquals("msg-" + i, new JsonObject(msgList.get(i)).getString("body"));
+          }
+          testComplete();
+        }
+      });
+    }));
+    await();
+  }
+
   private void testError(JsonObject msg, String expectedErr) throws Exception {
     testError(msg.encode(), expectedErr);
   }
@@ -19,6 +19,7 @@ package io.vertx.ext.web.handler;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.*;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.net.PemKeyCertOptions;
@@ -33,6 +34,7 @@ import java.io.File;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -592,6 +594,290 @@ public class StaticHandlerTest extends WebTestBase {
 
   }
 
+  @Test
+  public void testContentCacheFileModified() throws Exception {
+    File webroot = new File("target/.vertx/webroot"), pageFile = new File(webroot, "content.html");
+    webroot.mkdirs();
+    Files.write(pageFile.toPath(), "before".getBytes(StandardCharsets.UTF_8));
+    String page = '/' + pageFile.getName();
+    int cacheEntryTimeout = 100;
+
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.RELATIVE, webroot.getPath())
+      .setFilesReadOnly(false)
+      .setCacheEntryTimeout(cacheEntryTimeout)
+      .setContentCacheMaxBytes(1024 * 1024);
+    router.route().handler(stat);
+
+    testRequest(HttpMethod.GET, page, 200, "OK", "before");
+    testRequest(HttpMethod.GET, page, 200, "OK", "before");
+
+    // same size, only the modification time tells the content changed
+    long modified = pageFile.lastModified();
+    Files.write(pageFile.toPath(), "after!".getBytes(StandardCharsets.UTF_8));
+    pageFile.setLastModified(modified + 1000);
+    Thread.sleep(cacheEntryTimeout + 1);
+
+    testRequest(HttpMethod.GET, page, 200, "OK", "after!");
+  }
+
+  @Test
+  public void testContentCacheRange() throws Exception {
+    byte[] expected = Files.readAllBytes(new File("src/test/resources/webroot/somedir/range.jpg").toPath());
+    stat.setEnableRangeSupport(true);
+    stat.setContentCacheMaxBytes(1024 * 1024);
+
+    // the first request populates the cache, the second one is served from memory
+    for (int i = 0; i < 2; i++) {
+      testRequest(HttpMethod.GET, "/somedir/range.jpg", null, res -> res.bodyHandler(buff -> {
+        assertEquals(expected.length, buff.length());
+        assertArrayEquals(expected, buff.getBytes());
+      }), 200, "OK", null);
+      testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.headers().set("Range", "bytes=1000-1999"), res -> {
+        assertEquals("1000", res.headers().get("Content-Length"));
+        assertEquals("bytes 1000-1999/" + expected.length, res.headers().get("Content-Range"));
+        res.bodyHandler(buff -> assertArrayEquals(Arrays.copyOfRange(expected, 1000, 2000), buff.getBytes()));
+      }, 206, "Partial Content", null);
+    }
+  }
+
+  @Test
+  public void testSuffixRange() throws Exception {
+    byte[] expected = Files.readAllBytes(new File("src/test/resources/webroot/somedir/range.jpg").toPath());
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.headers().set("Range", "bytes=-500"), res -> {
+      assertEquals("500", res.getHeader("Content-Length"));
+      assertEquals("bytes 15283-15782/15783", res.getHeader("Content-Range"));
+      res.bodyHandler(buff -> assertArrayEquals(Arrays.copyOfRange(expected, 15283, 15783), buff.getBytes()));
+    }, 206, "Partial Content", null);
+    // invalid range sets are ignored
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.headers().set("Range", "bytes=500-100"), res -> {
+      assertEquals("15783", res.getHeader("Content-Length"));
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testMultiRange() throws Exception {
+    testMultiRange(false);
+  }
+
+  @Test
+  public void testMultiRangeFromContentCache() throws Exception {
+    testMultiRange(true);
+  }
+
+  private void testMultiRange(boolean contentCache) throws Exception {
+    byte[] expected = Files.readAllBytes(new File("src/test/resources/webroot/somedir/range.jpg").toPath());
+    if (contentCache) {
+      stat.setContentCacheMaxBytes(1024 * 1024);
+      // populate the content cache
+      testRequest(HttpMethod.GET, "/somedir/range.jpg", 200, "OK", null);
+    }
+
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.headers().set("Range", "bytes=0-9, 100-, -10"), res -> {
+      String contentType = res.getHeader("Content-Type");
+      assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+      String boundary = contentType.substring("multipart/byteranges; boundary=".length());
+      res.bodyHandler(buff -> {
+        assertEquals(Integer.parseInt(res.getHeader("Content-Length")), buff.length());
+        String body = buff.toString(StandardCharsets.ISO_8859_1);
+        String latin1 = new String(expected, StandardCharsets.ISO_8859_1);
+        assertEquals(
+          "--" + boundary + "\r\ncontent-type: image/jpeg\r\ncontent-range: bytes 0-9/15783\r\n\r\n" + latin1.substring(0, 10) + "\r\n" +
+          "--" + boundary + "\r\ncontent-type: image/jpeg\r\ncontent-range: bytes 100-15782/15783\r\n\r\n" + latin1.substring(100) + "\r\n" +
+          "--" + boundary + "\r\ncontent-type: image/jpeg\r\ncontent-range: bytes 15773-15782/15783\r\n\r\n" + latin1.substring(15773) + "\r\n" +
+          "--" + boundary + "--\r\n", body);
+      });
+    }, 206, "Partial Content", null);
+  }
+
+  @Test
+  public void testMultiRangeTooManyRanges() throws Exception {
+    stat.setMaxRanges(2);
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.headers().set("Range", "bytes=0-9, 20-29, 40-49"), res -> {
+      assertEquals("15783", res.getHeader("Content-Length"));
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testWeakETag() throws Exception {
+    stat.setEnableETag(true);
+    AtomicReference<String> etag = new AtomicReference<>();
+    testRequest(HttpMethod.GET, "/otherpage.html", null, res -> {
+      etag.set(res.getHeader("etag"));
+      assertNotNull(etag.get());
+      assertTrue(etag.get().startsWith("W/\""));
+    }, 200, "OK", "<html><body>Other page</body></html>");
+    testRequest(HttpMethod.GET, "/otherpage.html", req -> req.putHeader("if-none-match", etag.get()), null, 304, "Not Modified", null);
+    testRequest(HttpMethod.GET, "/otherpage.html", req -> req.putHeader("if-none-match", "\"other\""), null, 200, "OK", "<html><body>Other page</body></html>");
+    // weak etags never match the strong comparison
+    testRequest(HttpMethod.GET, "/otherpage.html", req -> req.putHeader("if-match", etag.get()), null, 412, "Precondition Failed", null);
+  }
+
+  @Test
+  public void testStrongETag() throws Exception {
+    byte[] content = Files.readAllBytes(new File("src/test/resources/webroot/somedir/range.jpg").toPath());
+    String expected = '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(content)) + '"';
+    stat.setEnableETag(true).setEnableStrongETag(true);
+
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", null, res -> assertEquals(expected, res.getHeader("etag")), 200, "OK", null);
+    // served from the cache
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.putHeader("if-none-match", expected), null, 304, "Not Modified", null);
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.putHeader("if-match", expected), res -> assertEquals(expected, res.getHeader("etag")), 200, "OK", null);
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.putHeader("if-match", "\"other\""), null, 412, "Precondition Failed", null);
+  }
+
+  @Test
+  public void testETagIgnoresIfModifiedSince() throws Exception {
+    byte[] content = Files.readAllBytes(new File("src/test/resources/webroot/somedir/range.jpg").toPath());
+    String expected = '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(content)) + '"';
+    stat.setEnableETag(true).setEnableStrongETag(true);
+
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", null, res -> assertEquals(expected, res.getHeader("etag")), 200, "OK", null);
+    // e.g. after a redeploy, the content is the same but the file is newer than the browser copy
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req
+      .putHeader("if-none-match", expected)
+      .putHeader("if-modified-since", Utils.formatRFC1123DateTime(0)), null, 304, "Not Modified", null);
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req
+      .putHeader("if-none-match", "\"other\"")
+      .putHeader("if-modified-since", Utils.formatRFC1123DateTime(System.currentTimeMillis())), null, 200, "OK", null);
+  }
+
+  @Test
+  public void testIfRange() throws Exception {
+    stat.setEnableETag(true).setEnableStrongETag(true);
+    AtomicReference<String> etag = new AtomicReference<>();
+    AtomicReference<String> lastModified = new AtomicReference<>();
+    testRequest(HttpMethod.HEAD, "/somedir/range.jpg", null, res -> {
+      etag.set(res.getHeader("etag"));
+      lastModified.set(res.getHeader("last-modified"));
+    }, 200, "OK", null);
+
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.putHeader("Range", "bytes=0-999").putHeader("If-Range", etag.get()), res -> {
+      assertEquals("1000", res.getHeader("content-length"));
+    }, 206, "Partial Content", null);
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.putHeader("Range", "bytes=0-999").putHeader("If-Range", lastModified.get()), res -> {
+      assertEquals("1000", res.getHeader("content-length"));
+    }, 206, "Partial Content", null);
+    // the client copy is out of date, the whole content is sent
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", req -> req.putHeader("Range", "bytes=0-999").putHeader("If-Range", "\"other\""), res -> {
+      assertEquals("15783", res.getHeader("content-length"));
+      assertNull(res.getHeader("content-range"));
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testPrecompressedEncodings() throws Exception {
+    File webroot = new File("target/.vertx/precompressed");
+    webroot.mkdirs();
+    File file = new File(webroot, "app.js");
+    Files.write(file.toPath(), "plain".getBytes(StandardCharsets.UTF_8));
+    Files.write(new File(webroot, "app.js.br").toPath(), "brotli".getBytes(StandardCharsets.UTF_8));
+    Files.write(new File(webroot, "app.js.gz").toPath(), "gzip".getBytes(StandardCharsets.UTF_8));
+
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.RELATIVE, webroot.getPath())
+      .setPrecompressedEncodings(Arrays.asList("br", "gzip"));
+    router.route().handler(stat);
+
+    testRequest(HttpMethod.GET, "/app.js", req -> req.putHeader("accept-encoding", "gzip, br"), res -> {
+      assertEquals("br", res.getHeader("content-encoding"));
+      assertEquals("accept-encoding", res.getHeader("vary"));
+    }, 200, "OK", "brotli");
+    testRequest(HttpMethod.GET, "/app.js", req -> req.putHeader("accept-encoding", "gzip"), res -> {
+      assertEquals("gzip", res.getHeader("content-encoding"));
+      assertEquals("4", res.getHeader("content-length"));
+    }, 200, "OK", "gzip");
+    testRequest(HttpMethod.GET, "/app.js", req -> req.putHeader("accept-encoding", "br;q=0, *"), res -> {
+      assertEquals("gzip", res.getHeader("content-encoding"));
+    }, 200, "OK", "gzip");
+    testRequest(HttpMethod.GET, "/app.js", null, res -> {
+      assertNull(res.getHeader("content-encoding"));
+      assertEquals("accept-encoding", res.getHeader("vary"));
+    }, 200, "OK", "plain");
+  }
+
+  @Test
+  public void testPrecompressedOutOfDate() throws Exception {
+    File webroot = new File("target/.vertx/precompressed-old");
+    webroot.mkdirs();
+    File file = new File(webroot, "app.css");
+    File gz = new File(webroot, "app.css.gz");
+    Files.write(file.toPath(), "plain".getBytes(StandardCharsets.UTF_8));
+    Files.write(gz.toPath(), "gzip".getBytes(StandardCharsets.UTF_8));
+    gz.setLastModified(file.lastModified() - 10_000);
+
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.RELATIVE, webroot.getPath())
+      .setPrecompressedEncodings(Collections.singletonList("gzip"));
+    router.route().handler(stat);
+
+    testRequest(HttpMethod.GET, "/app.css", req -> req.putHeader("accept-encoding", "gzip"), res -> {
+      assertNull(res.getHeader("content-encoding"));
+    }, 200, "OK", "plain");
+  }
+
+  @Test
+  public void testPrecompressedNotModifiedFromCache() throws Exception {
+    File webroot = new File("target/.vertx/precompressed-etag");
+    webroot.mkdirs();
+    File file = new File(webroot, "app.js");
+    File gz = new File(webroot, "app.js.gz");
+    Files.write(file.toPath(), "plain".getBytes(StandardCharsets.UTF_8));
+    Files.write(gz.toPath(), "gzip".getBytes(StandardCharsets.UTF_8));
+
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.RELATIVE, webroot.getPath())
+      .setPrecompressedEncodings(Collections.singletonList("gzip"));
+    router.route().handler(stat);
+
+    AtomicReference<String> etag = new AtomicReference<>();
+    testRequest(HttpMethod.GET, "/app.js", req -> req.putHeader("accept-encoding", "gzip"), res -> {
+      etag.set(res.getHeader("etag"));
+    }, 200, "OK", "gzip");
+    assertTrue(etag.get().endsWith("-gzip\""));
+
+    // revalidated with the cached props only, the file system isn't accessed
+    assertTrue(gz.delete());
+    assertTrue(file.delete());
+    testRequest(HttpMethod.GET, "/app.js", req -> req
+      .putHeader("accept-encoding", "gzip")
+      .putHeader("if-none-match", etag.get()), res -> {
+      assertEquals(etag.get(), res.getHeader("etag"));
+    }, 304, "Not Modified", null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrecompressedUnsupportedEncoding() {
+    stat.setPrecompressedEncodings(Collections.singletonList("deflate"));
+  }
+
+  @Test
+  public void testContentCacheSmallBudget() throws Exception {
+    File webroot = new File("target/.vertx/webroot-small"), pageFile = new File(webroot, "range.jpg");
+    webroot.mkdirs();
+    byte[] expected = Files.readAllBytes(new File("src/test/resources/webroot/somedir/range.jpg").toPath());
+    Files.write(pageFile.toPath(), expected);
+
+    router.clear();
+    // the budget only fits one file, it must not be split in segments too small for it
+    stat = StaticHandler.create(FileSystemAccess.RELATIVE, webroot.getPath())
+      .setContentCacheMaxBytes(16 * 1024)
+      .setContentCacheMaxFileSize(16 * 1024);
+    router.route().handler(stat);
+
+    testRequest(HttpMethod.GET, "/range.jpg", null, res -> res.bodyHandler(buff -> assertEquals(Buffer.buffer(expected), buff)), 200, "OK", null);
+    // served from memory, the file system isn't accessed anymore
+    assertTrue(pageFile.delete());
+    testRequest(HttpMethod.GET, "/range.jpg", null, res -> res.bodyHandler(buff -> assertEquals(Buffer.buffer(expected), buff)), 200, "OK", null);
+  }
+
+  @Test
+  public void testContentCacheFileTooLarge() throws Exception {
+    stat.setContentCacheMaxBytes(1024 * 1024);
+    stat.setContentCacheMaxFileSize(1024);
+    testRequest(HttpMethod.GET, "/somedir/range.jpg", null, res -> res.bodyHandler(buff -> assertEquals(15783, buff.length())), 200, "OK", null);
+  }
+
   @Test
   public void testDirectoryListingText() throws Exception {
     stat.setDirectoryListing(true);
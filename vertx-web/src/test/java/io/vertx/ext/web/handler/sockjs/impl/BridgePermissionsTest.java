@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.authorization.PermissionBasedAuthorization;
+import io.vertx.ext.bridge.PermittedOptions;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class BridgePermissionsTest {
+
+  @Test
+  public void testRejectByDefault() {
+    assertFalse(new BridgePermissions(null).match("foo", null).doesMatch);
+    assertFalse(new BridgePermissions(Collections.emptyList()).match("foo", null).doesMatch);
+  }
+
+  @Test
+  public void testAnyAddress() {
+    BridgePermissions permissions = new BridgePermissions(Collections.singletonList(new PermittedOptions()));
+    assertTrue(permissions.match("foo", null).doesMatch);
+    assertTrue(permissions.match("bar", "body").doesMatch);
+  }
+
+  @Test
+  public void testAddress() {
+    BridgePermissions permissions = new BridgePermissions(Arrays.asList(
+      new PermittedOptions().setAddress("foo"),
+      new PermittedOptions().setAddressRegex("news\\.feed\\..+")));
+    assertTrue(permissions.match("foo", null).doesMatch);
+    assertFalse(permissions.match("foo2", null).doesMatch);
+    assertTrue(permissions.match("news.feed.sport", null).doesMatch);
+    assertFalse(permissions.match("news.feed.", null).doesMatch);
+    assertFalse(permissions.match("news", null).doesMatch);
+    // cached decisions
+    assertTrue(permissions.match("news.feed.sport", null).doesMatch);
+    assertFalse(permissions.match("foo2", null).doesMatch);
+  }
+
+  @Test
+  public void testFirstMatchWins() {
+    BridgePermissions permissions = new BridgePermissions(Arrays.asList(
+      new PermittedOptions().setAddressRegex("a.*").setRequiredAuthority("first"),
+      new PermittedOptions().setAddress("abc").setRequiredAuthority("second"),
+      new PermittedOptions().setAddressRegex("ab.").setRequiredAuthority("third")));
+    BridgePermissions.Match match = permissions.match("abc", null);
+    assertTrue(match.doesMatch);
+    assertEquals("first", ((PermissionBasedAuthorization) match.requiredAuthority).getPermission());
+    assertSame(match, permissions.match("abc", null));
+  }
+
+  @Test
+  public void testStructure() {
+    JsonObject match = new JsonObject().put("type", "news").put("meta", new JsonObject().put("lang", "en"));
+    BridgePermissions permissions = new BridgePermissions(Arrays.asList(
+      new PermittedOptions().setAddress("foo").setMatch(match),
+      new PermittedOptions().setAddress("foo").setMatch(new JsonObject().put("admin", true)).setRequiredAuthority("admin")));
+    assertTrue(permissions.match("foo", null).doesMatch);
+    assertTrue(permissions.match("foo", new JsonObject().put("type", "news").put("meta", new JsonObject().put("lang", "en").put("x", 1))).doesMatch);
+    assertTrue(permissions.match("foo", new JsonObject().put("type", "news")).doesMatch);
+    assertFalse(permissions.match("foo", new JsonObject().put("type", "news").put("meta", new JsonObject().put("lang", "fr"))).doesMatch);
+    assertFalse(permissions.match("foo", new JsonObject().put("type", "sport")).doesMatch);
+    assertFalse(permissions.match("foo", "not json").doesMatch);
+    BridgePermissions.Match admin = permissions.match("foo", new JsonObject().put("admin", true));
+    assertTrue(admin.doesMatch);
+    assertNotNull(admin.requiredAuthority);
+  }
+
+  @Test
+  public void testLiteralPrefix() {
+    assertEquals("news.feed.", BridgePermissions.literalPrefix("news\\.feed\\..+"));
+    assertEquals("new", BridgePermissions.literalPrefix("news?"));
+    assertEquals("", BridgePermissions.literalPrefix("a|b"));
+    assertEquals("", BridgePermissions.literalPrefix("(?i)abc"));
+    assertEquals("abc", BridgePermissions.literalPrefix("abc[0-9]"));
+    assertEquals("ab", BridgePermissions.literalPrefix("ab\\d"));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.bridge.PermittedOptions;
+import io.vertx.ext.web.handler.sockjs.BridgeBackPressurePolicy;
+import io.vertx.ext.web.handler.sockjs.SockJSBridgeOptions;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EventBusBridgeBackPressureTest extends VertxTestBase {
+
+  private final AtomicBoolean writeQueueFull = new AtomicBoolean();
+  private final AtomicReference<Handler<Buffer>> dataHandler = new AtomicReference<>();
+  private final AtomicReference<Handler<Void>> drainHandler = new AtomicReference<>();
+  private final List<String> written = new CopyOnWriteArrayList<>();
+
+  private SockJSSocket socket() {
+    SockJSSocket sock = mock(SockJSSocket.class, RETURNS_SELF);
+    when(sock.writeQueueFull()).thenAnswer(invocation -> writeQueueFull.get());
+    when(sock.write(any(Buffer.class))).thenAnswer(invocation -> {
+      written.add(invocation.<Buffer>getArgument(0).toJsonObject().getString("body"));
+      return Future.succeededFuture();
+    });
+    doAnswer(invocation -> {
+      dataHandler.set(invocation.getArgument(0));
+      return invocation.getMock();
+    }).when(sock).handler(any());
+    doAnswer(invocation -> {
+      drainHandler.set(invocation.getArgument(0));
+      return invocation.getMock();
+    }).when(sock).drainHandler(any());
+    return sock;
+  }
+
+  private void bridge(Context context, SockJSBridgeOptions options) {
+    options
+      .setCoalescingWindow(60_000)
+      .addOutboundPermitted(new PermittedOptions().setAddress("test"));
+    EventBusBridgeImpl bridge = new EventBusBridgeImpl(vertx, null, options, null);
+    context.runOnContext(v -> {
+      bridge.handle(socket());
+      dataHandler.get().handle(new JsonObject().put("type", "register").put("address", "test").toBuffer());
+    });
+  }
+
+  private void publish(Context context, String... bodies) {
+    context.runOnContext(v -> {
+      for (String body : bodies) {
+        vertx.eventBus().publish("test", body);
+      }
+    });
+  }
+
+  @Test
+  public void testParkedUntilDrain() throws Exception {
+    Context context = vertx.getOrCreateContext();
+    bridge(context, new SockJSBridgeOptions()
+      .setCoalescingMaxMessages(3)
+      .setBackPressurePolicy(BridgeBackPressurePolicy.PARK)
+      .setMaxParkedMessages(4));
+    publish(context, "a", "b", "c");
+    waitUntil(() -> written.size() == 3);
+
+    writeQueueFull.set(true);
+    publish(context, "d", "e", "f");
+    waitUntil(() -> drainHandler.get() != null);
+    // one more message fits while parked, the rest is over the parked limit
+    publish(context, "g", "h");
+    Thread.sleep(100);
+    assertEquals(3, written.size());
+
+    writeQueueFull.set(false);
+    context.runOnContext(v -> drainHandler.get().handle(null));
+    waitUntil(() -> written.size() == 7);
+    assertEquals("a", written.get(0));
+    assertEquals("d", written.get(3));
+    assertEquals("g", written.get(6));
+  }
+
+  @Test
+  public void testParkedLimitIgnoredWhenNotParked() {
+    Context context = vertx.getOrCreateContext();
+    // the parked limit is below the batch size, it must not apply while the socket accepts writes
+    bridge(context, new SockJSBridgeOptions()
+      .setCoalescingMaxMessages(3)
+      .setMaxParkedMessages(1));
+    publish(context, "a", "b", "c");
+    waitUntil(() -> written.size() == 3);
+    assertEquals("c", written.get(2));
+  }
+
+  @Test
+  public void testDroppedWhenQueueFull() throws Exception {
+    Context context = vertx.getOrCreateContext();
+    bridge(context, new SockJSBridgeOptions()
+      .setCoalescingMaxMessages(2)
+      .setBackPressurePolicy(BridgeBackPressurePolicy.DROP));
+    writeQueueFull.set(true);
+    publish(context, "a", "b", "c", "d");
+    Thread.sleep(100);
+    assertTrue(written.isEmpty());
+    assertNull(drainHandler.get());
+
+    writeQueueFull.set(false);
+    publish(context, "e", "f");
+    waitUntil(() -> written.size() == 2);
+    assertEquals("e", written.get(0));
+    assertEquals("f", written.get(1));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FrameEncoderTest {
+
+  private static String encode(String... messages) {
+    List<Buffer> buffers = new ArrayList<>();
+    int size = 0;
+    for (String message : messages) {
+      Buffer buffer = Buffer.buffer(message);
+      buffers.add(buffer);
+      size += buffer.length();
+    }
+    return FrameEncoder.encode(buffers, size).toString();
+  }
+
+  @Test
+  public void testSameAsJsonCodec() {
+    String[] messages = {
+      "hello",
+      "",
+      "quote \" backslash \\ slash /",
+      "\n\r\t\b\f\u0000\u001f\u007f",
+      "café € 中文",
+      "😀 emoji",
+      "nbsp\u00a0 bom\ufeff"
+    };
+    for (String message : messages) {
+      assertEquals("a" + JsonCodec.encode(new String[]{message}), encode(message));
+    }
+    assertEquals("a" + JsonCodec.encode(messages), encode(messages));
+  }
+
+  @Test
+  public void testDecodable() {
+    String message = "café \"😀\"\n";
+    assertEquals(Arrays.asList(message, "x"), JsonCodec.decodeValues(encode(message, "x").substring(1)));
+  }
+
+  @Test
+  public void testMalformed() {
+    Buffer message = Buffer.buffer(new byte[]{'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xE2, (byte) 0x82});
+    assertEquals("a[\"a\\ufffdb\\ufffd\\ufffd\"]", FrameEncoder.encode(Arrays.asList(message), message.length()).toString());
+  }
+
+  @Test
+  public void testAppendable() {
+    Buffer frame = FrameEncoder.encode(Arrays.asList(Buffer.buffer("x")), 1);
+    assertEquals("a[\"x\"]\n", frame.appendByte((byte) '\n').toString());
+  }
+}
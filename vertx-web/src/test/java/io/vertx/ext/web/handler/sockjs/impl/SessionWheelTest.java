@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.sockjs.impl;
+
+import io.vertx.core.Context;
+import io.vertx.test.core.VertxTestBase;
+import io.vertx.ext.web.handler.sockjs.SockJSHandler;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SessionWheelTest extends VertxTestBase {
+
+  @Test
+  public void testSharedByEventLoop() {
+    Context context = vertx.getOrCreateContext();
+    SessionWheel wheel = SessionWheel.get(vertx, context);
+    assertSame(wheel, SessionWheel.get(vertx, context));
+    int active = wheel.activeSessions();
+    wheel.sessionOpened();
+    assertEquals(active + 1, wheel.activeSessions());
+    assertEquals(active + 1, SockJSHandler.activeSessions(vertx, context));
+    wheel.sessionClosed();
+    assertEquals(active, wheel.activeSessions());
+  }
+
+  @Test
+  public void testTimeout() {
+    Context context = vertx.getOrCreateContext();
+    SessionWheel wheel = SessionWheel.get(vertx, context);
+    long start = System.currentTimeMillis();
+    wheel.timeout(context, 300, v -> {
+      assertSame(context, vertx.getOrCreateContext());
+      assertTrue(System.currentTimeMillis() - start >= 300);
+      testComplete();
+    });
+    await();
+  }
+
+  @Test
+  public void testCancelledTimeout() {
+    Context context = vertx.getOrCreateContext();
+    SessionWheel wheel = SessionWheel.get(vertx, context);
+    wheel.timeout(context, 100, v -> fail()).cancel();
+    wheel.timeout(context, 500, v -> testComplete());
+    await();
+  }
+
+  @Test
+  public void testHeartbeat() {
+    Context context = vertx.getOrCreateContext();
+    SessionWheel wheel = SessionWheel.get(vertx, context);
+    long heartbeats = wheel.heartbeats();
+    AtomicInteger count = new AtomicInteger();
+    SessionWheel.Timeout[] heartbeat = new SessionWheel.Timeout[1];
+    heartbeat[0] = wheel.heartbeat(context, 100, v -> {
+      if (count.incrementAndGet() == 3) {
+        heartbeat[0].cancel();
+        vertx.setTimer(500, id -> {
+          assertEquals(3, count.get());
+          // the heartbeats are counted by the sessions sending them
+          assertEquals(heartbeats, wheel.heartbeats());
+          testComplete();
+        });
+      }
+    });
+    await();
+  }
+}
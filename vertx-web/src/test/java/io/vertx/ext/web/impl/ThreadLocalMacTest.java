@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import org.junit.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ThreadLocalMacTest {
+
+  private static final byte[] KEY = "s3cr3t-key".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void testSameSignature() throws Exception {
+    Mac expected = Mac.getInstance("HmacSHA256");
+    expected.init(new SecretKeySpec(KEY, "HmacSHA256"));
+    byte[] data = "payload".getBytes(StandardCharsets.US_ASCII);
+
+    ThreadLocalMac mac = new ThreadLocalMac("HmacSHA256", KEY);
+    assertArrayEquals(expected.doFinal(data), mac.doFinal(data));
+    // the instance is reset after each signature
+    assertArrayEquals(expected.doFinal(data), mac.doFinal(data));
+    assertSame(mac.get(), mac.get());
+  }
+
+  @Test
+  public void testConcurrentSignatures() throws Exception {
+    ThreadLocalMac mac = new ThreadLocalMac("HmacSHA256", KEY);
+    byte[][] data = new byte[64][];
+    byte[][] expected = new byte[data.length][];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = ("payload-" + i).getBytes(StandardCharsets.US_ASCII);
+      expected[i] = mac.doFinal(data[i]);
+    }
+
+    AtomicInteger mismatches = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      Thread thread = new Thread(() -> {
+        for (int n = 0; n < 1000; n++) {
+          int i = n % data.length;
+          if (!Arrays.equals(expected[i], mac.doFinal(data[i]))) {
+            mismatches.incrementAndGet();
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(0, mismatches.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownAlgorithm() {
+    new ThreadLocalMac("HmacUnknown", KEY);
+  }
+}
@@ -25,11 +25,17 @@ import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.ProtocolUpgradeHandler;
 import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.handler.SessionHandlerTestBase;
+import io.vertx.ext.web.sstore.impl.SessionInternal;
 import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
 import io.vertx.test.core.TestUtils;
 import io.vertx.test.fakecluster.FakeClusterManager;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -181,6 +187,72 @@ public class ClusteredSessionHandlerTest extends SessionHandlerTestBase {
     assertEquals(session.id(), session2.id());
   }
 
+  @Test
+  public void testSessionDelta() {
+    SharedDataSessionImpl session = (SharedDataSessionImpl) store.createSession(123);
+    stuffSession(session);
+    // never stored, the changes are unknown
+    assertNull(session.modifiedKeys());
+    assertNull(session.removedKeys());
+
+    List<Buffer> entries = new ArrayList<>();
+    for (String key : session.data().keySet()) {
+      entries.add(session.writeEntryToBuffer(key));
+    }
+    SharedDataSessionImpl session2 = (SharedDataSessionImpl) store.createSession(0);
+    session2.readFromEntries(session.id(), session.timeout(), session.lastAccessed(), session.version(), entries);
+    checkSession(session2);
+    assertEquals(session.id(), session2.id());
+    assertEquals(123, session2.timeout());
+    assertTrue(session2.modifiedKeys().isEmpty());
+    assertTrue(session2.removedKeys().isEmpty());
+
+    session2.put("somestring", "wobble");
+    session2.put("newkey", "value");
+    session2.remove("somelong");
+    // modified in place
+    ((JsonObject) session2.get("someclusterserializable")).put("foo", "baz");
+    assertEquals(new HashSet<>(Arrays.asList("somestring", "newkey", "someclusterserializable")), session2.modifiedKeys());
+    assertEquals(Collections.singleton("somelong"), session2.removedKeys());
+
+    ((SessionInternal) session2).flushed(false);
+    assertTrue(session2.modifiedKeys().isEmpty());
+    assertTrue(session2.removedKeys().isEmpty());
+  }
+
+  @Test
+  public void testSessionDeltaBytesModifiedInPlace() {
+    SharedDataSessionImpl session = (SharedDataSessionImpl) store.createSession(123);
+    session.put("somebytes", new byte[]{1, 2, 3});
+    SharedDataSessionImpl session2 = (SharedDataSessionImpl) store.createSession(0);
+    session2.readFromEntries(session.id(), session.timeout(), session.lastAccessed(), session.version(),
+      Collections.singletonList(session.writeEntryToBuffer("somebytes")));
+    assertTrue(session2.modifiedKeys().isEmpty());
+
+    // same array, same identity hash code
+    ((byte[]) session2.get("somebytes"))[0] = 42;
+    assertEquals(Collections.singleton("somebytes"), session2.modifiedKeys());
+
+    ((SessionInternal) session2).flushed(false);
+    assertTrue(session2.modifiedKeys().isEmpty());
+  }
+
+  @Test
+  public void testSessionDeltaSameHashCode() {
+    SharedDataSessionImpl session = (SharedDataSessionImpl) store.createSession(123);
+    session.put("somestring", "Aa");
+    session.put("somejson", new JsonObject().put("key", "Aa"));
+    SharedDataSessionImpl session2 = (SharedDataSessionImpl) store.createSession(0);
+    session2.readFromEntries(session.id(), session.timeout(), session.lastAccessed(), session.version(),
+      Arrays.asList(session.writeEntryToBuffer("somestring"), session.writeEntryToBuffer("somejson")));
+    assertTrue(session2.modifiedKeys().isEmpty());
+
+    // "Aa" and "BB" have the same hash code
+    session2.put("somestring", "BB");
+    ((JsonObject) session2.get("somejson")).put("key", "BB");
+    assertEquals(new HashSet<>(Arrays.asList("somestring", "somejson")), session2.modifiedKeys());
+  }
+
   private void stuffSession(Session session) {
     session.put("somelong", 123456L);
     session.put("someint", 1234);
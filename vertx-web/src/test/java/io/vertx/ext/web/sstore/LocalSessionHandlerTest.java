@@ -17,8 +17,11 @@
 package io.vertx.ext.web.sstore;
 
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Session;
 import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.handler.SessionHandlerTestBase;
+import io.vertx.ext.web.sstore.impl.LocalSessionStoreImpl;
 import org.junit.Test;
 
 /**
@@ -37,6 +40,46 @@ public class LocalSessionHandlerTest extends SessionHandlerTestBase {
     assertTrue(doTestSessionRetryTimeout() < 3000);
   }
 
+  @Test
+  public void testReaper() throws Exception {
+    LocalSessionStoreImpl sessionStore = new LocalSessionStoreImpl();
+    sessionStore.init(vertx, new JsonObject()
+      .put("reaperInterval", 100)
+      .put("reaperBatchSize", 10)
+      .put("mapName", "reaper-test"));
+
+    for (int i = 0; i < 50; i++) {
+      sessionStore.put(sessionStore.createSession(1));
+    }
+    Session kept = sessionStore.createSession(60_000);
+    sessionStore.put(kept);
+    Session deleted = sessionStore.createSession(1);
+    sessionStore.put(deleted);
+    sessionStore.delete(deleted.id());
+
+    // several reaper runs are needed
+    waitUntil(() -> sessionStore.reapedCount() == 50);
+    waitUntil(() -> sessionStore.size().result() == 1);
+    assertNotNull(sessionStore.get(kept.id()).result());
+    sessionStore.close();
+  }
+
+  @Test
+  public void testReaperSharedMap() throws Exception {
+    // e.g. a store per verticle instance, the first one being undeployed
+    LocalSessionStore closed = LocalSessionStore.create(vertx, "shared-reaper-test", 60_000);
+    LocalSessionStore other = LocalSessionStore.create(vertx, "shared-reaper-test", 100);
+
+    for (int i = 0; i < 10; i++) {
+      closed.put(closed.createSession(1));
+    }
+    closed.close();
+
+    waitUntil(() -> other.reapedCount() == 10);
+    waitUntil(() -> other.size().result() == 0);
+    other.close();
+  }
+
   @Test
   public void test2123() throws Exception {
     SessionHandler sessionHandler = SessionHandler.create(LocalSessionStore.create(vertx))
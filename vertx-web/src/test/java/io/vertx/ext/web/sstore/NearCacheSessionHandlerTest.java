@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.web.sstore;
+
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.handler.SessionHandlerTestBase;
+import org.junit.Test;
+
+public class NearCacheSessionHandlerTest extends SessionHandlerTestBase {
+
+  private SessionStore remote;
+
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    remote = LocalSessionStore.create(vertx);
+    store = NearCacheSessionStore.create(vertx, remote, 100, 500);
+  }
+
+  @Test
+  public void testReadFromNode() {
+    Session session = store.createSession(10_000);
+    session.put("k", "v");
+
+    store.put(session)
+      // bypass the near cache, the node still has the session
+      .compose(v -> remote.delete(session.id()))
+      .compose(v -> store.get(session.id()))
+      .onComplete(onSuccess(cached -> {
+        assertNotNull(cached);
+        assertEquals("v", cached.get("k"));
+        // every read gets its own copy
+        assertNotSame(session, cached);
+        vertx.setTimer(1000, l -> store.get(session.id()).onComplete(onSuccess(stale -> {
+          // the copy is too old, the session is read again from the remote store
+          assertNull(stale);
+          testComplete();
+        })));
+      }));
+
+    await();
+  }
+
+  @Test
+  public void testOutdatedCopy() {
+    Session session = store.createSession(10_000);
+    session.put("k", "v");
+
+    store.put(session)
+      .compose(v -> store.get(session.id()))
+      .compose(copy -> remote.get(session.id())
+        .compose(other -> {
+          // another node updates the session
+          other.put("k", "other");
+          return remote.put(other);
+        })
+        .compose(v -> {
+          copy.put("k", "copy");
+          return store.put(copy);
+        }))
+      .onComplete(onFailure(err -> store.get(session.id()).onComplete(onSuccess(current -> {
+        // the failed write dropped the copy from the node
+        assertEquals("other", current.get("k"));
+        testComplete();
+      }))));
+
+    await();
+  }
+
+  @Test
+  public void testNoStaleness() {
+    NearCacheSessionStore store = NearCacheSessionStore.create(vertx, remote, 100, 0);
+    Session session = store.createSession(10_000);
+    session.put("k", "v");
+
+    store.put(session)
+      .compose(v -> remote.delete(session.id()))
+      .compose(v -> store.get(session.id()))
+      .onComplete(onSuccess(current -> {
+        // always read from the remote store
+        assertNull(current);
+        testComplete();
+      }));
+
+    await();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeStaleness() {
+    NearCacheSessionStore.create(vertx, remote, 100, -1);
+  }
+
+  @Test
+  public void testDelete() {
+    Session session = store.createSession(10_000);
+
+    store.put(session)
+      .compose(v -> store.get(session.id()))
+      .compose(v -> store.delete(session.id()))
+      .compose(v -> store.get(session.id()))
+      .onComplete(onSuccess(deleted -> {
+        assertNull(deleted);
+        testComplete();
+      }));
+
+    await();
+  }
+}
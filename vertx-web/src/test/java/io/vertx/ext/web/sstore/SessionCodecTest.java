@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.web.sstore;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.VertxContextPRNG;
+import io.vertx.ext.web.sstore.impl.DefaultSessionCodec;
+import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SessionCodecTest {
+
+  @Test
+  public void testRoundTrip() {
+    Map<String, Object> data = new HashMap<>();
+    data.put("long", Long.MIN_VALUE);
+    data.put("negativeint", -1);
+    data.put("int", 300);
+    data.put("short", (short) 123);
+    data.put("byte", (byte) 12);
+    data.put("double", 123.456d);
+    data.put("float", 123.456f);
+    data.put("char", 'X');
+    data.put("boolean", true);
+    data.put("string", "wibble");
+    data.put("bytes", new byte[] {1, 2, 3});
+    data.put("buffer", Buffer.buffer("buffer"));
+    data.put("json", new JsonObject().put("foo", "bar"));
+    data.put("array", new JsonArray().add(1));
+
+    DefaultSessionCodec codec = new DefaultSessionCodec();
+    Buffer buffer = Buffer.buffer("prefix");
+    codec.encode(data, buffer);
+    buffer.appendString("suffix");
+
+    Map<String, Object> decoded = new HashMap<>();
+    int pos = codec.decode(buffer, 6, decoded);
+    assertEquals("suffix", buffer.getString(pos, buffer.length()));
+
+    assertArrayEquals((byte[]) data.remove("bytes"), (byte[]) decoded.remove("bytes"));
+    assertEquals(data, decoded);
+  }
+
+  @Test
+  public void testCompression() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("cart item ").append(i).append(',');
+    }
+    Map<String, Object> data = Collections.singletonMap("cart", sb.toString());
+
+    Buffer compressed = Buffer.buffer();
+    new DefaultSessionCodec().encode(data, compressed);
+    Buffer uncompressed = Buffer.buffer();
+    new DefaultSessionCodec(-1, Collections.emptyList()).encode(data, uncompressed);
+    assertTrue(compressed.length() < uncompressed.length() / 2);
+
+    Map<String, Object> decoded = new HashMap<>();
+    assertEquals(compressed.length(), new DefaultSessionCodec().decode(compressed, 0, decoded));
+    assertEquals(data, decoded);
+
+    // single entries are compressed too
+    Buffer entry = Buffer.buffer();
+    new DefaultSessionCodec().encodeEntry("cart", sb.toString(), entry);
+    decoded.clear();
+    assertEquals(entry.length(), new DefaultSessionCodec().decodeEntry(entry, 0, decoded));
+    assertEquals(data, decoded);
+  }
+
+  @Test
+  public void testSmallerThanLegacyFormat() {
+    SharedDataSessionImpl session = new SharedDataSessionImpl(VertxContextPRNG.current(), 30_000, 16);
+    session.put("counter", 1);
+    session.put("user", new JsonObject().put("name", "paulo"));
+    Buffer buffer = Buffer.buffer();
+    session.writeToBuffer(buffer);
+    // the legacy format needs 4 bytes for each length, the counter and the class name of the json object
+    assertTrue(buffer.length() < legacy(session).length());
+  }
+
+  @Test
+  public void testReadLegacyFormat() {
+    SharedDataSessionImpl session = new SharedDataSessionImpl(VertxContextPRNG.current(), 30_000, 16);
+    session.put("key", "value");
+
+    SharedDataSessionImpl read = new SharedDataSessionImpl();
+    read.readFromBuffer(0, legacy(session));
+    assertEquals("value", read.get("key"));
+    assertEquals(session.id(), read.id());
+    assertEquals(session.timeout(), read.timeout());
+    assertEquals(session.lastAccessed(), read.lastAccessed());
+
+    // legacy entries stored individually
+    Buffer entry = Buffer.buffer();
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+    entry.appendInt(key.length).appendBytes(key).appendByte((byte) 9).appendInt(value.length).appendBytes(value);
+    read = new SharedDataSessionImpl();
+    read.readFromEntries("id", 1000, 0, 1, Collections.singletonList(entry));
+    assertEquals("value", read.get("key"));
+  }
+
+  /**
+   * The session serialized with the format used before codecs, only strings, ints and json objects.
+   */
+  private static Buffer legacy(SharedDataSessionImpl session) {
+    Buffer buffer = Buffer.buffer();
+    byte[] id = session.id().getBytes(StandardCharsets.UTF_8);
+    buffer.appendInt(id.length).appendBytes(id);
+    buffer.appendLong(session.timeout());
+    buffer.appendLong(session.lastAccessed());
+    buffer.appendInt(session.version());
+    buffer.appendInt(session.data().size());
+    for (Map.Entry<String, Object> entry : session.data().entrySet()) {
+      byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      buffer.appendInt(key.length).appendBytes(key);
+      Object val = entry.getValue();
+      if (val instanceof Integer) {
+        buffer.appendByte((byte) 2).appendInt((int) val);
+      } else if (val instanceof String) {
+        byte[] bytes = ((String) val).getBytes(StandardCharsets.UTF_8);
+        buffer.appendByte((byte) 9).appendInt(bytes.length).appendBytes(bytes);
+      } else {
+        byte[] className = val.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        buffer.appendByte((byte) 13).appendInt(className.length).appendBytes(className);
+        ((JsonObject) val).writeToBuffer(buffer);
+      }
+    }
+    return buffer;
+  }
+}
@@ -22,6 +22,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.common.template.TemplateEngine;
@@ -158,6 +159,32 @@ public class TemplateTest extends WebTestBase {
     await();
   }
 
+  @Test
+  public void testTemplateHandlerContentLength() throws Exception {
+    router.route().handler(TemplateHandler.create(new TestEngine(false), "somedir", "text/html"));
+    testRequest(HttpMethod.GET, "/test-template.html", null, resp -> {
+      assertNotNull(resp.getHeader(HttpHeaders.CONTENT_LENGTH));
+      assertNull(resp.getHeader(HttpHeaders.TRANSFER_ENCODING));
+    }, 200, "OK", null);
+  }
+
+  @Test
+  public void testTemplateHandlerStreaming() throws Exception {
+    TemplateEngine engine = new TestEngine(false) {
+      @Override
+      public Future<Void> render(Map<String, Object> context, String templateFileName, WriteStream<Buffer> stream) {
+        stream.write(Buffer.buffer("<html>"));
+        stream.write(Buffer.buffer("streamed"));
+        return stream.end(Buffer.buffer("</html>"));
+      }
+    };
+    router.route().handler(TemplateHandler.create(engine, "somedir", "text/html"));
+    testRequest(HttpMethod.GET, "/test-template.html", null, resp -> {
+      assertEquals("text/html", resp.getHeader(HttpHeaders.CONTENT_TYPE));
+      assertEquals("chunked", resp.getHeader(HttpHeaders.TRANSFER_ENCODING));
+    }, 200, "OK", "<html>streamed</html>");
+  }
+
   // Just for testing - not for actual use
   class TestEngine implements TemplateEngine {
 